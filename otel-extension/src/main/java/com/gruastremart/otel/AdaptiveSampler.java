@@ -0,0 +1,77 @@
+package com.gruastremart.otel;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.trace.data.LinkData;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import io.opentelemetry.sdk.trace.samplers.SamplingDecision;
+import io.opentelemetry.sdk.trace.samplers.SamplingResult;
+
+import java.util.List;
+
+/**
+ * Muestreo de cabecera por ruta. Las trazas raíz se muestrean según la primera regla cuya ruta coincide
+ * (o la regla por defecto); los spans hijos heredan la decisión del padre.
+ * Si keepErrorsAndSlow está activo, las trazas descartadas se graban sin exportar (RECORD_ONLY) para que
+ * {@link ErrorAndSlowTraceProcessor} pueda rescatar las que terminan con error o superan el umbral de lentitud.
+ */
+final class AdaptiveSampler implements Sampler {
+
+    static final AttributeKey<String> URL_PATH = AttributeKey.stringKey("url.path");
+    static final AttributeKey<String> HTTP_REQUEST_METHOD = AttributeKey.stringKey("http.request.method");
+
+    private static final SamplingResult SAMPLE = SamplingResult.recordAndSample();
+    private static final SamplingResult RECORD_ONLY = SamplingResult.create(SamplingDecision.RECORD_ONLY);
+    private static final SamplingResult DROP = SamplingResult.drop();
+
+    private final List<RouteSamplingRule> routeRules;
+    private final RateLimitedRatioSampler defaultSampler;
+    private final SamplingResult notSampled;
+
+    AdaptiveSampler(List<RouteSamplingRule> routeRules, RateLimitedRatioSampler defaultSampler, boolean keepErrorsAndSlow) {
+        this.routeRules = List.copyOf(routeRules);
+        this.defaultSampler = defaultSampler;
+        this.notSampled = keepErrorsAndSlow ? RECORD_ONLY : DROP;
+    }
+
+    @Override
+    public SamplingResult shouldSample(Context parentContext, String traceId, String name, SpanKind spanKind,
+                                       Attributes attributes, List<LinkData> parentLinks) {
+        var parent = Span.fromContext(parentContext);
+        var parentContextData = parent.getSpanContext();
+        if (parentContextData.isValid()) {
+            if (parentContextData.isSampled()) {
+                return SAMPLE;
+            }
+            // Padre local grabado pero no muestreado: el hijo también se graba por si la traza acaba rescatada
+            return !parentContextData.isRemote() && parent.isRecording() ? RECORD_ONLY : DROP;
+        }
+
+        var sampler = samplerFor(spanKind, attributes);
+        if (sampler.isDisabled()) {
+            return DROP;
+        }
+        return sampler.shouldSample() ? SAMPLE : notSampled;
+    }
+
+    private RateLimitedRatioSampler samplerFor(SpanKind spanKind, Attributes attributes) {
+        if (spanKind == SpanKind.SERVER) {
+            var path = attributes.get(URL_PATH);
+            var method = attributes.get(HTTP_REQUEST_METHOD);
+            for (RouteSamplingRule rule : routeRules) {
+                if (rule.matches(method, path)) {
+                    return rule.sampler;
+                }
+            }
+        }
+        return defaultSampler;
+    }
+
+    @Override
+    public String getDescription() {
+        return "AdaptiveSampler{routes=" + routeRules + "}";
+    }
+}
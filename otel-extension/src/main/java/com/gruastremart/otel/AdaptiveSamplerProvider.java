@@ -0,0 +1,40 @@
+package com.gruastremart.otel;
+
+import io.opentelemetry.sdk.autoconfigure.spi.ConfigProperties;
+import io.opentelemetry.sdk.autoconfigure.spi.traces.ConfigurableSamplerProvider;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+
+/**
+ * Se activa con otel.traces.sampler=gruastremart_adaptive. Propiedades (o variables OTEL_TRACES_SAMPLER_ADAPTIVE_*):
+ * <ul>
+ *     <li>otel.traces.sampler.adaptive.ratio: ratio por defecto de las trazas raíz (1.0)</li>
+ *     <li>otel.traces.sampler.adaptive.max-per-second: máximo de trazas por segundo por regla (50)</li>
+ *     <li>otel.traces.sampler.adaptive.routes: reglas por ruta, ver {@link RouteSamplingRule}</li>
+ *     <li>otel.traces.sampler.adaptive.keep-errors-and-slow: rescatar trazas con error o lentas (true)</li>
+ *     <li>otel.traces.sampler.adaptive.slow-threshold: umbral de lentitud (1s)</li>
+ * </ul>
+ */
+public final class AdaptiveSamplerProvider implements ConfigurableSamplerProvider {
+
+    static final String NAME = "gruastremart_adaptive";
+    static final String PREFIX = "otel.traces.sampler.adaptive.";
+
+    @Override
+    public Sampler createSampler(ConfigProperties config) {
+        double maxPerSecond = config.getDouble(PREFIX + "max-per-second", 50.0);
+        var defaultSampler = new RateLimitedRatioSampler(config.getDouble(PREFIX + "ratio", 1.0), maxPerSecond);
+        var routes = RouteSamplingRule.parseAll(config.getString(PREFIX + "routes", ""), maxPerSecond);
+
+        return new AdaptiveSampler(routes, defaultSampler, keepErrorsAndSlow(config));
+    }
+
+    static boolean keepErrorsAndSlow(ConfigProperties config) {
+        return NAME.equals(config.getString("otel.traces.sampler"))
+                && config.getBoolean(PREFIX + "keep-errors-and-slow", true);
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+}
@@ -0,0 +1,38 @@
+package com.gruastremart.otel;
+
+import io.opentelemetry.sdk.autoconfigure.spi.AutoConfigurationCustomizer;
+import io.opentelemetry.sdk.autoconfigure.spi.AutoConfigurationCustomizerProvider;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Registra {@link ErrorAndSlowTraceProcessor} reutilizando el exportador configurado en el agente
+ * cuando el muestreador adaptativo está activo y el rescate de trazas con error o lentas habilitado.
+ * El exportador se envuelve en {@link SharedSpanExporter} para que ambos procesadores no lo llamen a la vez.
+ */
+public final class AdaptiveSamplingCustomizer implements AutoConfigurationCustomizerProvider {
+
+    @Override
+    public void customize(AutoConfigurationCustomizer customizer) {
+        var exporter = new AtomicReference<SharedSpanExporter>();
+
+        customizer.addSpanExporterCustomizer((configured, config) -> {
+            if (!AdaptiveSamplerProvider.keepErrorsAndSlow(config)) {
+                return configured;
+            }
+            var shared = new SharedSpanExporter(configured);
+            exporter.set(shared);
+            return shared;
+        });
+
+        customizer.addTracerProviderCustomizer((builder, config) -> {
+            var shared = exporter.get();
+            if (AdaptiveSamplerProvider.keepErrorsAndSlow(config) && shared != null) {
+                var threshold = config.getDuration(AdaptiveSamplerProvider.PREFIX + "slow-threshold", Duration.ofSeconds(1));
+                builder.addSpanProcessor(new ErrorAndSlowTraceProcessor(shared.withoutShutdown(), threshold.toNanos()));
+            }
+            return builder;
+        });
+    }
+}
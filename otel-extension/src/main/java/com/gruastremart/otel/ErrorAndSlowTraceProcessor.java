@@ -0,0 +1,239 @@
+package com.gruastremart.otel;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.TraceFlags;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.common.InstrumentationLibraryInfo;
+import io.opentelemetry.sdk.common.InstrumentationScopeInfo;
+import io.opentelemetry.sdk.trace.ReadWriteSpan;
+import io.opentelemetry.sdk.trace.ReadableSpan;
+import io.opentelemetry.sdk.trace.SpanProcessor;
+import io.opentelemetry.sdk.trace.data.DelegatingSpanData;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.BatchSpanProcessor;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Rescata las trazas no muestreadas (RECORD_ONLY) que terminan con error o son lentas.
+ * Los spans hijos se guardan en memoria hasta que termina el span raíz local; entonces se exporta
+ * la traza completa si procede o se descarta. La memoria está acotada en trazas y en spans por traza,
+ * y las trazas pendientes más antiguas que PENDING_TRACE_TTL (raíces que no terminan, hijos que terminan
+ * después de su raíz) se eliminan periódicamente.
+ * Las trazas rescatadas se exportan con un BatchSpanProcessor propio, fuera de los hilos de las peticiones.
+ */
+final class ErrorAndSlowTraceProcessor implements SpanProcessor {
+
+    static final int MAX_PENDING_TRACES = 2_000;
+    static final long PENDING_TRACE_TTL_NANOS = TimeUnit.MINUTES.toNanos(2);
+    private static final int MAX_SPANS_PER_TRACE = 256;
+    private static final long SWEEP_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(5);
+
+    private final SpanProcessor rescuedSpanProcessor;
+    private final long slowThresholdNanos;
+    private final LongSupplier nanoClock;
+    private final Map<String, PendingTrace> pendingTraces = new ConcurrentHashMap<>();
+    private final AtomicLong nextSweepNanos;
+
+    ErrorAndSlowTraceProcessor(SpanExporter exporter, long slowThresholdNanos) {
+        this(BatchSpanProcessor.builder(exporter).build(), slowThresholdNanos, System::nanoTime);
+    }
+
+    ErrorAndSlowTraceProcessor(SpanProcessor rescuedSpanProcessor, long slowThresholdNanos, LongSupplier nanoClock) {
+        this.rescuedSpanProcessor = rescuedSpanProcessor;
+        this.slowThresholdNanos = slowThresholdNanos;
+        this.nanoClock = nanoClock;
+        this.nextSweepNanos = new AtomicLong(nanoClock.getAsLong() + SWEEP_INTERVAL_NANOS);
+    }
+
+    @Override
+    public void onStart(Context parentContext, ReadWriteSpan span) {
+    }
+
+    @Override
+    public boolean isStartRequired() {
+        return false;
+    }
+
+    @Override
+    public void onEnd(ReadableSpan span) {
+        var spanContext = span.getSpanContext();
+        if (spanContext.isSampled()) {
+            return;
+        }
+
+        var now = nanoClock.getAsLong();
+        sweepIfDue(now);
+
+        var traceId = spanContext.getTraceId();
+        var parent = span.getParentSpanContext();
+        if (parent.isValid() && !parent.isRemote()) {
+            if (pendingTraces.size() >= MAX_PENDING_TRACES && !pendingTraces.containsKey(traceId)) {
+                sweep(now);
+            }
+            if (pendingTraces.size() < MAX_PENDING_TRACES || pendingTraces.containsKey(traceId)) {
+                pendingTraces.computeIfAbsent(traceId, id -> new PendingTrace(now)).add(span.toSpanData());
+            }
+            return;
+        }
+
+        // Span raíz local: se decide la traza completa
+        var pending = pendingTraces.remove(traceId);
+        var children = pending != null ? pending.snapshot() : List.<SpanData>of();
+        var root = span.toSpanData();
+        if (!isErrorOrSlow(root, children)) {
+            return;
+        }
+
+        rescuedSpanProcessor.onEnd(new RescuedSpan(asSampled(root)));
+        children.forEach(child -> rescuedSpanProcessor.onEnd(new RescuedSpan(asSampled(child))));
+    }
+
+    @Override
+    public boolean isEndRequired() {
+        return true;
+    }
+
+    @Override
+    public CompletableResultCode forceFlush() {
+        return rescuedSpanProcessor.forceFlush();
+    }
+
+    @Override
+    public CompletableResultCode shutdown() {
+        pendingTraces.clear();
+        return rescuedSpanProcessor.shutdown();
+    }
+
+    int pendingTraces() {
+        return pendingTraces.size();
+    }
+
+    private void sweepIfDue(long now) {
+        var due = nextSweepNanos.get();
+        if (now - due >= 0 && nextSweepNanos.compareAndSet(due, now + SWEEP_INTERVAL_NANOS)) {
+            sweep(now);
+        }
+    }
+
+    private void sweep(long now) {
+        pendingTraces.values().removeIf(trace -> now - trace.createdNanos > PENDING_TRACE_TTL_NANOS);
+    }
+
+    private boolean isErrorOrSlow(SpanData root, List<SpanData> children) {
+        if (root.getStatus().getStatusCode() == StatusCode.ERROR
+                || root.getEndEpochNanos() - root.getStartEpochNanos() >= slowThresholdNanos) {
+            return true;
+        }
+        return children.stream().anyMatch(child -> child.getStatus().getStatusCode() == StatusCode.ERROR);
+    }
+
+    private static SpanData asSampled(SpanData span) {
+        var original = span.getSpanContext();
+        var sampledContext = SpanContext.create(original.getTraceId(), original.getSpanId(), TraceFlags.getSampled(), original.getTraceState());
+        return new DelegatingSpanData(span) {
+            @Override
+            public SpanContext getSpanContext() {
+                return sampledContext;
+            }
+        };
+    }
+
+    private static final class PendingTrace {
+        private final long createdNanos;
+        private final List<SpanData> spans = new ArrayList<>();
+
+        private PendingTrace(long createdNanos) {
+            this.createdNanos = createdNanos;
+        }
+
+        private synchronized void add(SpanData span) {
+            if (spans.size() < MAX_SPANS_PER_TRACE) {
+                spans.add(span);
+            }
+        }
+
+        private synchronized List<SpanData> snapshot() {
+            return List.copyOf(spans);
+        }
+    }
+
+    /**
+     * Span ya terminado y marcado como muestreado, para entregarlo al BatchSpanProcessor de rescate
+     */
+    private static final class RescuedSpan implements ReadableSpan {
+        private final SpanData data;
+
+        private RescuedSpan(SpanData data) {
+            this.data = data;
+        }
+
+        @Override
+        public SpanContext getSpanContext() {
+            return data.getSpanContext();
+        }
+
+        @Override
+        public SpanContext getParentSpanContext() {
+            return data.getParentSpanContext();
+        }
+
+        @Override
+        public String getName() {
+            return data.getName();
+        }
+
+        @Override
+        public SpanData toSpanData() {
+            return data;
+        }
+
+        @Override
+        @SuppressWarnings("deprecation")
+        public InstrumentationLibraryInfo getInstrumentationLibraryInfo() {
+            return data.getInstrumentationLibraryInfo();
+        }
+
+        @Override
+        public InstrumentationScopeInfo getInstrumentationScopeInfo() {
+            return data.getInstrumentationScopeInfo();
+        }
+
+        @Override
+        public boolean hasEnded() {
+            return true;
+        }
+
+        @Override
+        public long getLatencyNanos() {
+            return data.getEndEpochNanos() - data.getStartEpochNanos();
+        }
+
+        @Override
+        public SpanKind getKind() {
+            return data.getKind();
+        }
+
+        @Override
+        public <T> T getAttribute(AttributeKey<T> key) {
+            return data.getAttributes().get(key);
+        }
+
+        @Override
+        public Attributes getAttributes() {
+            return data.getAttributes();
+        }
+    }
+}
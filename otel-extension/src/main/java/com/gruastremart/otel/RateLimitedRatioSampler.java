@@ -0,0 +1,60 @@
+package com.gruastremart.otel;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.LongSupplier;
+
+/**
+ * Decide si se muestrea una traza raíz: primero por probabilidad (ratio) y después
+ * con un cubo de tokens que limita las trazas por segundo de la regla.
+ * El cubo se rellena a maxPerSecond tokens por segundo y admite al menos un token,
+ * para que un límite inferior a 1 (p. ej. 0.5) deje pasar una traza cada 1/maxPerSecond segundos.
+ */
+final class RateLimitedRatioSampler {
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final double ratio;
+    private final double maxPerSecond;
+    private final double capacity;
+    private final LongSupplier nanoClock;
+    private double tokens;
+    private long lastRefillNanos;
+
+    RateLimitedRatioSampler(double ratio, double maxPerSecond) {
+        this(ratio, maxPerSecond, System::nanoTime);
+    }
+
+    RateLimitedRatioSampler(double ratio, double maxPerSecond, LongSupplier nanoClock) {
+        this.ratio = Math.max(0.0, Math.min(1.0, ratio));
+        this.maxPerSecond = maxPerSecond;
+        this.nanoClock = nanoClock;
+        this.capacity = Math.max(1.0, maxPerSecond);
+        this.tokens = capacity;
+        this.lastRefillNanos = nanoClock.getAsLong();
+    }
+
+    /**
+     * Ratio 0: la ruta nunca se traza, ni siquiera para rescatar errores o peticiones lentas
+     */
+    boolean isDisabled() {
+        return ratio <= 0.0;
+    }
+
+    boolean shouldSample() {
+        if (ratio <= 0.0 || (ratio < 1.0 && ThreadLocalRandom.current().nextDouble() >= ratio)) {
+            return false;
+        }
+        return maxPerSecond <= 0 || tryAcquire();
+    }
+
+    private synchronized boolean tryAcquire() {
+        long now = nanoClock.getAsLong();
+        tokens = Math.min(capacity, tokens + (now - lastRefillNanos) * maxPerSecond / NANOS_PER_SECOND);
+        lastRefillNanos = now;
+        if (tokens < 1.0) {
+            return false;
+        }
+        tokens -= 1.0;
+        return true;
+    }
+}
@@ -0,0 +1,92 @@
+package com.gruastremart.otel;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Regla de muestreo para una ruta HTTP: "[MÉTODO ]patrón=ratio[:máximo por segundo]".
+ * En el patrón, "*" equivale a un segmento de la ruta y "**" a cualquier número de segmentos,
+ * p. ej. "PUT **&#47;operators/*&#47;location=0.01:1". Con ratio 0 la ruta no se traza nunca.
+ */
+final class RouteSamplingRule {
+
+    private final String method;
+    private final Pattern pathPattern;
+    private final String description;
+    final RateLimitedRatioSampler sampler;
+
+    private RouteSamplingRule(String method, Pattern pathPattern, String description, RateLimitedRatioSampler sampler) {
+        this.method = method;
+        this.pathPattern = pathPattern;
+        this.description = description;
+        this.sampler = sampler;
+    }
+
+    boolean matches(String requestMethod, String path) {
+        if (method != null && !method.equalsIgnoreCase(requestMethod)) {
+            return false;
+        }
+        return path != null && pathPattern.matcher(path).matches();
+    }
+
+    /**
+     * Reglas separadas por ";". Se evalúan en orden y gana la primera que coincide
+     */
+    static List<RouteSamplingRule> parseAll(String value, double defaultMaxPerSecond) {
+        var rules = new ArrayList<RouteSamplingRule>();
+        if (value == null || value.isBlank()) {
+            return rules;
+        }
+        for (String rule : value.split(";")) {
+            if (!rule.isBlank()) {
+                rules.add(parse(rule.trim(), defaultMaxPerSecond));
+            }
+        }
+        return rules;
+    }
+
+    static RouteSamplingRule parse(String rule, double defaultMaxPerSecond) {
+        int equals = rule.lastIndexOf('=');
+        if (equals < 0) {
+            throw new IllegalArgumentException("Regla de muestreo sin '=': " + rule);
+        }
+
+        var route = rule.substring(0, equals).trim();
+        var limits = rule.substring(equals + 1).trim().split(":");
+        double ratio = Double.parseDouble(limits[0]);
+        double maxPerSecond = limits.length > 1 ? Double.parseDouble(limits[1]) : defaultMaxPerSecond;
+
+        String method = null;
+        var path = route;
+        int space = route.indexOf(' ');
+        if (space > 0) {
+            method = route.substring(0, space).toUpperCase(Locale.ROOT);
+            path = route.substring(space + 1).trim();
+        }
+
+        return new RouteSamplingRule(method, toRegex(path), rule, new RateLimitedRatioSampler(ratio, maxPerSecond));
+    }
+
+    private static Pattern toRegex(String glob) {
+        var regex = new StringBuilder();
+        for (int i = 0; i < glob.length(); i++) {
+            char c = glob.charAt(i);
+            if (c == '*' && i + 1 < glob.length() && glob.charAt(i + 1) == '*') {
+                regex.append(".*");
+                i++;
+            } else if (c == '*') {
+                regex.append("[^/]*");
+            } else {
+                regex.append(Pattern.quote(String.valueOf(c)));
+            }
+        }
+        return Pattern.compile(regex.toString());
+    }
+
+    @Override
+    public String toString() {
+        return description;
+    }
+}
@@ -0,0 +1,57 @@
+package com.gruastremart.otel;
+
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+
+import java.util.Collection;
+
+/**
+ * Exportador configurado en el agente, compartido entre su BatchSpanProcessor y el de {@link ErrorAndSlowTraceProcessor}.
+ * El contrato de SpanExporter no admite llamadas concurrentes a export(), así que se serializan aquí.
+ */
+final class SharedSpanExporter implements SpanExporter {
+
+    private final SpanExporter delegate;
+
+    SharedSpanExporter(SpanExporter delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public synchronized CompletableResultCode export(Collection<SpanData> spans) {
+        return delegate.export(spans);
+    }
+
+    @Override
+    public CompletableResultCode flush() {
+        return delegate.flush();
+    }
+
+    @Override
+    public CompletableResultCode shutdown() {
+        return delegate.shutdown();
+    }
+
+    /**
+     * Vista para el procesador de rescate: al cerrarse no cierra el exportador, que pertenece al agente
+     */
+    SpanExporter withoutShutdown() {
+        return new SpanExporter() {
+            @Override
+            public CompletableResultCode export(Collection<SpanData> spans) {
+                return SharedSpanExporter.this.export(spans);
+            }
+
+            @Override
+            public CompletableResultCode flush() {
+                return SharedSpanExporter.this.flush();
+            }
+
+            @Override
+            public CompletableResultCode shutdown() {
+                return CompletableResultCode.ofSuccess();
+            }
+        };
+    }
+}
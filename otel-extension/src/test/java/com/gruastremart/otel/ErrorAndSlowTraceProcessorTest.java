@@ -0,0 +1,112 @@
+package com.gruastremart.otel;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.LinkData;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import io.opentelemetry.sdk.trace.samplers.SamplingDecision;
+import io.opentelemetry.sdk.trace.samplers.SamplingResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Trazas grabadas sin muestrear (RECORD_ONLY), como las que deja AdaptiveSampler, exportadas a memoria
+ */
+class ErrorAndSlowTraceProcessorTest {
+
+    private static final Sampler RECORD_ONLY = new Sampler() {
+        @Override
+        public SamplingResult shouldSample(Context parentContext, String traceId, String name, SpanKind spanKind,
+                                           Attributes attributes, List<LinkData> parentLinks) {
+            return SamplingResult.create(SamplingDecision.RECORD_ONLY);
+        }
+
+        @Override
+        public String getDescription() {
+            return "recordOnly";
+        }
+    };
+
+    private final InMemorySpanExporter exporter = InMemorySpanExporter.create();
+    private final long[] now = {0};
+    private ErrorAndSlowTraceProcessor processor;
+    private SdkTracerProvider tracerProvider;
+
+    @AfterEach
+    void tearDown() {
+        tracerProvider.shutdown();
+    }
+
+    private Tracer tracer(long slowThresholdNanos) {
+        processor = new ErrorAndSlowTraceProcessor(SimpleSpanProcessor.create(exporter), slowThresholdNanos, () -> now[0]);
+        tracerProvider = SdkTracerProvider.builder().setSampler(RECORD_ONLY).addSpanProcessor(processor).build();
+        return tracerProvider.get("test");
+    }
+
+    private static Span child(Tracer tracer, Span root) {
+        return tracer.spanBuilder("child").setParent(Context.current().with(root)).startSpan();
+    }
+
+    @Test
+    void testTraceWithErrorIsExportedCompleteAndSampled() {
+        // Arrange
+        var tracer = tracer(TimeUnit.SECONDS.toNanos(1));
+        var root = tracer.spanBuilder("root").startSpan();
+        child(tracer, root).setStatus(StatusCode.ERROR).end();
+
+        // Act
+        root.end();
+
+        // Assert
+        var exported = exporter.getFinishedSpanItems();
+        assertEquals(2, exported.size());
+        assertTrue(exported.stream().allMatch(span -> span.getSpanContext().isSampled()));
+        assertEquals(0, processor.pendingTraces());
+    }
+
+    @Test
+    void testSlowTraceIsExportedAndFastOneDropped() {
+        // Arrange
+        var tracer = tracer(TimeUnit.SECONDS.toNanos(1));
+        var slow = tracer.spanBuilder("slow").setStartTimestamp(0, TimeUnit.SECONDS).startSpan();
+        var fast = tracer.spanBuilder("fast").setStartTimestamp(0, TimeUnit.SECONDS).startSpan();
+
+        // Act
+        slow.end(2, TimeUnit.SECONDS);
+        fast.end(100, TimeUnit.MILLISECONDS);
+
+        // Assert
+        assertEquals(List.of("slow"), exporter.getFinishedSpanItems().stream().map(SpanData::getName).toList());
+    }
+
+    @Test
+    void testPendingTraceWhoseRootNeverEndsIsEvicted() {
+        // Arrange
+        var tracer = tracer(TimeUnit.SECONDS.toNanos(1));
+        var abandonedRoot = tracer.spanBuilder("abandoned").startSpan();
+        child(tracer, abandonedRoot).end();
+        assertEquals(1, processor.pendingTraces());
+
+        // Act
+        now[0] += ErrorAndSlowTraceProcessor.PENDING_TRACE_TTL_NANOS + TimeUnit.SECONDS.toNanos(10);
+        tracer.spanBuilder("other").startSpan().end();
+
+        // Assert
+        assertEquals(0, processor.pendingTraces());
+        assertTrue(exporter.getFinishedSpanItems().isEmpty());
+    }
+}
@@ -0,0 +1,68 @@
+package com.gruastremart.otel;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RateLimitedRatioSamplerTest {
+
+    private final long[] now = {0};
+
+    @Test
+    void testTokenBucketLimitsTracesPerSecondAndRefills() {
+        // Arrange
+        var sampler = new RateLimitedRatioSampler(1.0, 2, () -> now[0]);
+
+        // Act & Assert
+        assertTrue(sampler.shouldSample());
+        assertTrue(sampler.shouldSample());
+        assertFalse(sampler.shouldSample());
+
+        now[0] += TimeUnit.MILLISECONDS.toNanos(500);
+        assertTrue(sampler.shouldSample());
+        assertFalse(sampler.shouldSample());
+
+        now[0] += TimeUnit.SECONDS.toNanos(10);
+        assertTrue(sampler.shouldSample());
+        assertTrue(sampler.shouldSample());
+        assertFalse(sampler.shouldSample());
+    }
+
+    @Test
+    void testFractionalMaxPerSecondStillSamplesOncePerPeriod() {
+        // Arrange
+        var sampler = new RateLimitedRatioSampler(1.0, 0.5, () -> now[0]);
+
+        // Act & Assert
+        assertTrue(sampler.shouldSample());
+        assertFalse(sampler.shouldSample());
+
+        now[0] += TimeUnit.SECONDS.toNanos(1);
+        assertFalse(sampler.shouldSample());
+
+        now[0] += TimeUnit.SECONDS.toNanos(1);
+        assertTrue(sampler.shouldSample());
+        assertFalse(sampler.shouldSample());
+
+        now[0] += TimeUnit.SECONDS.toNanos(60);
+        assertTrue(sampler.shouldSample());
+        assertFalse(sampler.shouldSample());
+    }
+
+    @Test
+    void testZeroRatioIsDisabledAndZeroMaxPerSecondIsUnlimited() {
+        // Arrange
+        var disabled = new RateLimitedRatioSampler(0.0, 10, () -> now[0]);
+        var unlimited = new RateLimitedRatioSampler(1.0, 0, () -> now[0]);
+
+        // Act & Assert
+        assertTrue(disabled.isDisabled());
+        assertFalse(disabled.shouldSample());
+        for (int i = 0; i < 1_000; i++) {
+            assertTrue(unlimited.shouldSample());
+        }
+    }
+}
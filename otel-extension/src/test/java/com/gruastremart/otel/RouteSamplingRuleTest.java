@@ -0,0 +1,67 @@
+package com.gruastremart.otel;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RouteSamplingRuleTest {
+
+    @Test
+    void testSingleStarMatchesExactlyOneSegment() {
+        // Arrange
+        var rule = RouteSamplingRule.parse("PUT **/operators/*/location=0.01:1", 50);
+
+        // Act & Assert
+        assertTrue(rule.matches("PUT", "/gruastremart-core-api/v1/operators/op-1/location"));
+        assertFalse(rule.matches("PUT", "/gruastremart-core-api/v1/operators/op-1/extra/location"));
+        assertFalse(rule.matches("PUT", "/gruastremart-core-api/v1/operators/op-1/location/batch"));
+    }
+
+    @Test
+    void testDoubleStarMatchesAnyNumberOfSegments() {
+        // Arrange
+        var rule = RouteSamplingRule.parse("**/health/**=0", 50);
+
+        // Act & Assert
+        assertTrue(rule.matches("GET", "/app/actuator/health/liveness"));
+        assertTrue(rule.matches("GET", "/a/b/c/health/x/y"));
+        assertFalse(rule.matches("GET", "/app/actuator/info"));
+    }
+
+    @Test
+    void testMethodIsMatchedCaseInsensitivelyAndOptional() {
+        // Arrange
+        var withMethod = RouteSamplingRule.parse("post /v1/payments=0.5", 50);
+        var anyMethod = RouteSamplingRule.parse("/v1/payments=0.5", 50);
+
+        // Act & Assert
+        assertTrue(withMethod.matches("POST", "/v1/payments"));
+        assertFalse(withMethod.matches("GET", "/v1/payments"));
+        assertTrue(anyMethod.matches("GET", "/v1/payments"));
+        assertFalse(anyMethod.matches("GET", null));
+    }
+
+    @Test
+    void testLiteralCharactersAreNotRegex() {
+        // Arrange
+        var rule = RouteSamplingRule.parse("/v1/file.csv=1", 50);
+
+        // Act & Assert
+        assertTrue(rule.matches("GET", "/v1/file.csv"));
+        assertFalse(rule.matches("GET", "/v1/fileXcsv"));
+    }
+
+    @Test
+    void testParseAllSkipsBlankRulesAndRejectsRuleWithoutRatio() {
+        // Act
+        var rules = RouteSamplingRule.parseAll(" GET /a=1 ; ; /b=0.1:5 ", 50);
+
+        // Assert
+        assertEquals(2, rules.size());
+        assertTrue(RouteSamplingRule.parseAll(null, 50).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> RouteSamplingRule.parse("/no-ratio", 50));
+    }
+}
@@ -0,0 +1,93 @@
+package com.gruastremart.api.benchmark;
+
+import com.gruastremart.api.config.security.SecurityProperties;
+import com.gruastremart.api.config.security.jwt.JwtAuthenticationCache;
+import com.gruastremart.api.config.security.jwt.JwtTokenProvider;
+import com.gruastremart.api.persistance.entity.User;
+import com.gruastremart.api.persistance.repository.UserRepository;
+import com.gruastremart.api.utils.enums.Role;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.Authentication;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+/**
+ * JwtTokenProvider.getAuthentication con el token ya en cache y verificando la firma en cada llamada.
+ * El usuario se obtiene de un repositorio simulado, así que no incluye la consulta a Mongo
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthenticationBenchmark {
+
+    private static final String SECRET = "benchmark-secret-benchmark-secret-benchmark-secret-0123456789";
+    private static final String EMAIL = "operator@gruastremart.com";
+
+    private JwtTokenProvider cachedProvider;
+    private JwtTokenProvider uncachedProvider;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        var key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        token = Jwts.builder()
+                .claim("email", EMAIL)
+                .subject("66b1f0c2a3e4b5c6d7e8f901")
+                .expiration(new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1)))
+                .signWith(key)
+                .compact();
+
+        var userRepository = Mockito.mock(UserRepository.class);
+        when(userRepository.findByEmail(anyString())).thenReturn(Optional.of(User.builder().email(EMAIL).role(Role.OPERATOR).build()));
+
+        var uncachedCache = Mockito.mock(JwtAuthenticationCache.class);
+        when(uncachedCache.get(anyString())).thenReturn(Optional.empty());
+
+        cachedProvider = provider(userRepository, new JwtAuthenticationCache());
+        uncachedProvider = provider(userRepository, uncachedCache);
+    }
+
+    private static JwtTokenProvider provider(UserRepository userRepository, JwtAuthenticationCache cache) {
+        var securityProperties = new SecurityProperties();
+        securityProperties.setSupabaseSecret(SECRET);
+
+        var provider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(provider, "userRepository", userRepository);
+        ReflectionTestUtils.setField(provider, "securityProperties", securityProperties);
+        ReflectionTestUtils.setField(provider, "jwtAuthenticationCache", cache);
+        provider.init();
+        return provider;
+    }
+
+    @Benchmark
+    public Authentication cachedToken() {
+        return cachedProvider.getAuthentication(token);
+    }
+
+    @Benchmark
+    public Authentication parseAndVerifyToken() {
+        return uncachedProvider.getAuthentication(token);
+    }
+}
@@ -0,0 +1,103 @@
+package com.gruastremart.api.benchmark;
+
+import com.gruastremart.api.dto.CraneDemandCreateRequestDto;
+import com.gruastremart.api.dto.CraneDemandResponseDto;
+import com.gruastremart.api.dto.LocationDto;
+import com.gruastremart.api.dto.PaymentResponseDto;
+import com.gruastremart.api.mapper.CraneDemandMapper;
+import com.gruastremart.api.mapper.PaymentMapper;
+import com.gruastremart.api.persistance.entity.CraneDemand;
+import com.gruastremart.api.persistance.entity.Payment;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coste de los mappers MapStruct usados en cada respuesta de demandas y pagos
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MappingBenchmark {
+
+    private final PaymentMapper paymentMapper = Mappers.getMapper(PaymentMapper.class);
+
+    private CraneDemand craneDemand;
+    private CraneDemandCreateRequestDto createRequest;
+    private Payment payment;
+
+    @Setup
+    public void setUp() {
+        craneDemand = CraneDemand.builder()
+                .id("66b1f0c2a3e4b5c6d7e8f901")
+                .description("Vehículo no arranca")
+                .createdAt(new Date())
+                .state("ACTIVE")
+                .createdByUserId("66b1f0c2a3e4b5c6d7e8f902")
+                .origin("Caracas")
+                .carType("SEDAN")
+                .vehicleBrand("Toyota")
+                .vehicleModel("Corolla")
+                .vehicleYear(2018)
+                .vehiclePlate("AB123CD")
+                .customerName("Cliente")
+                .customerPhone("+584141234567")
+                .currentLocation(new GeoJsonPoint(-66.90, 10.50))
+                .currentLocationName("Origen")
+                .destinationLocation(new GeoJsonPoint(-66.85, 10.48))
+                .destinationLocationName("Destino")
+                .build();
+
+        createRequest = CraneDemandCreateRequestDto.builder()
+                .description("Vehículo no arranca")
+                .origin("Caracas")
+                .carType("SEDAN")
+                .customerName("Cliente")
+                .customerPhone("+584141234567")
+                .currentLocation(LocationDto.builder().latitude(10.50).longitude(-66.90).name("Origen").build())
+                .destinationLocation(LocationDto.builder().latitude(10.48).longitude(-66.85).name("Destino").build())
+                .build();
+
+        payment = Payment.builder()
+                .id("66b1f0c2a3e4b5c6d7e8f903")
+                .demandId(craneDemand.getId())
+                .userId(craneDemand.getCreatedByUserId())
+                .paymentType("POST_SERVICE")
+                .status("PENDING")
+                .mobilePaymentReference("0102-123456")
+                .amount(45.0)
+                .createdAt(new Date())
+                .updatedAt(new Date())
+                .build();
+    }
+
+    @Benchmark
+    public CraneDemandResponseDto craneDemandToDto() {
+        return CraneDemandMapper.MAPPER.mapToDto(craneDemand);
+    }
+
+    @Benchmark
+    public CraneDemand craneDemandCreateRequestToEntity() {
+        return CraneDemandMapper.MAPPER.mapToEntity(createRequest);
+    }
+
+    @Benchmark
+    public PaymentResponseDto paymentToDto() {
+        return paymentMapper.toResponseDto(payment);
+    }
+}
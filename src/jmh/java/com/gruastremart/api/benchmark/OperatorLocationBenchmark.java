@@ -0,0 +1,75 @@
+package com.gruastremart.api.benchmark;
+
+import com.gruastremart.api.dto.OperatorLocationDto;
+import com.gruastremart.api.dto.OperatorLocationRequestDto;
+import com.gruastremart.api.service.OperatorService;
+import com.gruastremart.api.service.location.OperatorLocationIndex;
+import com.gruastremart.api.service.location.OperatorLocationStreamService;
+import com.gruastremart.api.service.location.OperatorTrackBuffer;
+import com.gruastremart.api.service.realtime.RealtimeEventPublisher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Escrituras concurrentes de ubicación (índice geoespacial y difusión SSE) desde 8 hilos.
+ * La publicación STOMP va a un canal que descarta los mensajes.
+ * Se invoca OperatorService directamente, sin el proxy de Spring, por lo que no incluye el @CachePut
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class OperatorLocationBenchmark {
+
+    @Param({"100", "5000"})
+    public int operators;
+
+    private OperatorService operatorService;
+    private OperatorLocationStreamService streamService;
+    private String[] operatorIds;
+
+    @Setup
+    public void setUp() {
+        streamService = new OperatorLocationStreamService();
+        var realtimeEventPublisher = new RealtimeEventPublisher(new SimpMessagingTemplate((message, timeout) -> true));
+        operatorService = new OperatorService(null, null, new OperatorLocationIndex(), streamService, realtimeEventPublisher, new OperatorTrackBuffer());
+        operatorIds = new String[operators];
+        for (int i = 0; i < operators; i++) {
+            operatorIds[i] = "operator-" + i;
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        streamService.shutdown();
+    }
+
+    @Benchmark
+    public OperatorLocationDto saveOperatorLocation() {
+        var random = ThreadLocalRandom.current();
+        var request = OperatorLocationRequestDto.builder()
+                .latitude(10.40 + random.nextDouble(0.3))
+                .longitude(-67.00 + random.nextDouble(0.3))
+                .status("ONLINE")
+                .build();
+        return operatorService.saveOperatorLocation(operatorIds[random.nextInt(operators)], request);
+    }
+}
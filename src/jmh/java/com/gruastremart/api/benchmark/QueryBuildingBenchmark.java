@@ -0,0 +1,65 @@
+package com.gruastremart.api.benchmark;
+
+import com.gruastremart.api.persistance.repository.custom.CraneDemandCustomRepository;
+import org.bson.Document;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Construcción de la consulta de búsqueda de demandas a partir de los parámetros de la petición.
+ * Solo se construye la consulta (sin MongoTemplate), incluyendo su conversión a Document
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class QueryBuildingBenchmark {
+
+    @Param({"EMPTY", "STATE_AND_DATES", "GEO_AND_OPERATOR"})
+    public String filters;
+
+    private final CraneDemandCustomRepository repository = new CraneDemandCustomRepository(null, null);
+    private MultiValueMap<String, String> params;
+
+    @Setup
+    public void setUp() {
+        params = new LinkedMultiValueMap<>();
+        params.add("page", "0");
+        params.add("size", "10");
+        switch (filters) {
+            case "STATE_AND_DATES" -> {
+                params.add("state", "ACTIVE");
+                params.add("startDate", "2024-01-01");
+                params.add("endDate", "2024-01-31");
+            }
+            case "GEO_AND_OPERATOR" -> {
+                params.add("lat", "10.50");
+                params.add("lng", "-66.90");
+                params.add("radio", "10");
+                params.add("assignedOperatorId", "66b1f0c2a3e4b5c6d7e8f901");
+            }
+            default -> {
+            }
+        }
+    }
+
+    @Benchmark
+    public Document buildFilterQuery() {
+        return repository.buildFilterQuery(params).getQueryObject();
+    }
+}
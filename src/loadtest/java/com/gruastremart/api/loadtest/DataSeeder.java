@@ -0,0 +1,186 @@
+package com.gruastremart.api.loadtest;
+
+import com.gruastremart.api.persistance.entity.CraneDemand;
+import com.gruastremart.api.persistance.entity.Operator;
+import com.gruastremart.api.persistance.entity.Payment;
+import com.gruastremart.api.persistance.entity.User;
+import com.gruastremart.api.utils.enums.CraneDemandStateEnum;
+import com.gruastremart.api.utils.enums.PaymentStatusEnum;
+import com.gruastremart.api.utils.enums.PaymentTypeEnum;
+import com.gruastremart.api.utils.enums.Role;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Carga volúmenes realistas con inserciones masivas: usuarios (20% operadores), demandas repartidas
+ * en los últimos 90 días alrededor de Caracas con la mayoría completadas, y pagos de demandas completadas
+ */
+@Slf4j
+final class DataSeeder {
+
+    private static final int BATCH_SIZE = 5_000;
+    private static final double OPERATOR_SHARE = 0.2;
+    private static final double CENTER_LATITUDE = 10.48;
+    private static final double CENTER_LONGITUDE = -66.90;
+    private static final double SPREAD_DEGREES = 0.25;
+
+    private final MongoTemplate mongoTemplate;
+    private final Random random = new Random(42);
+
+    DataSeeder(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    SeedData seed(int users, int demands, int payments) {
+        long start = System.nanoTime();
+        var clients = new ArrayList<User>();
+        var operators = new ArrayList<User>();
+
+        var userDocuments = new ArrayList<User>(users);
+        for (int i = 0; i < users; i++) {
+            boolean operator = i < users * OPERATOR_SHARE;
+            var user = User.builder()
+                    .id(new ObjectId().toHexString())
+                    .supabaseId("loadtest-" + i)
+                    .name("Usuario " + i)
+                    .lastName("Carga")
+                    .email("user" + i + "@loadtest.gruastremart.com")
+                    .phone("+58414" + String.format("%07d", i))
+                    .role(operator ? Role.OPERATOR : Role.CLIENT)
+                    .active(true)
+                    .build();
+            userDocuments.add(user);
+            (operator ? operators : clients).add(user);
+        }
+        insert(userDocuments, User.class);
+        insert(operators.stream().map(user -> Operator.builder().id(new ObjectId().toHexString()).userId(user.getId()).build()).toList(), Operator.class);
+
+        var activeDemandIds = new ArrayList<String>();
+        var completedDemands = new ArrayList<CraneDemand>();
+        var demandDocuments = new ArrayList<CraneDemand>(BATCH_SIZE);
+        int takenLimit = operators.size() / 2;
+        int taken = 0;
+        long now = System.currentTimeMillis();
+
+        for (int i = 0; i < demands; i++) {
+            var state = pickState(taken < takenLimit);
+            var createdAt = new Date(now - (long) (random.nextDouble() * TimeUnit.DAYS.toMillis(90)));
+            var demand = CraneDemand.builder()
+                    .id(new ObjectId().toHexString())
+                    .description("Demanda de carga " + i)
+                    .createdAt(createdAt)
+                    .updatedAt(createdAt)
+                    .state(state.name())
+                    .createdByUserId(clients.get(random.nextInt(clients.size())).getId())
+                    .origin("Caracas")
+                    .carType(random.nextBoolean() ? "SEDAN" : "SUV")
+                    .breakdown("No arranca")
+                    .customerName("Cliente " + i)
+                    .customerPhone("+58412" + String.format("%07d", i))
+                    .currentLocation(randomPoint())
+                    .currentLocationName("Origen " + i)
+                    .destinationLocation(randomPoint())
+                    .destinationLocationName("Destino " + i)
+                    .build();
+
+            switch (state) {
+                case ACTIVE -> activeDemandIds.add(demand.getId());
+                case TAKEN -> {
+                    // Un operador solo puede tener una demanda TAKEN (índice único parcial)
+                    demand.setAssignedOperatorId(operators.get(taken++).getId());
+                    demand.setTakenAt(new Date(createdAt.getTime() + TimeUnit.MINUTES.toMillis(5)));
+                }
+                case COMPLETED -> {
+                    demand.setAssignedOperatorId(operators.get(random.nextInt(operators.size())).getId());
+                    demand.setTakenAt(new Date(createdAt.getTime() + TimeUnit.MINUTES.toMillis(5)));
+                    demand.setCompletedAt(new Date(createdAt.getTime() + TimeUnit.MINUTES.toMillis(60)));
+                    completedDemands.add(demand);
+                }
+                default -> {
+                }
+            }
+
+            demandDocuments.add(demand);
+            if (demandDocuments.size() == BATCH_SIZE) {
+                insert(demandDocuments, CraneDemand.class);
+                demandDocuments.clear();
+            }
+        }
+        insert(demandDocuments, CraneDemand.class);
+
+        var paymentDocuments = new ArrayList<Payment>(BATCH_SIZE);
+        int paymentCount = Math.min(payments, completedDemands.size());
+        for (int i = 0; i < paymentCount; i++) {
+            var demand = completedDemands.get(i);
+            paymentDocuments.add(Payment.builder()
+                    .id(new ObjectId().toHexString())
+                    .demandId(demand.getId())
+                    .paymentType(PaymentTypeEnum.POST_SERVICE.name())
+                    .userId(demand.getCreatedByUserId())
+                    .mobilePaymentReference("REF-" + i)
+                    .paymentImageUrl("https://loadtest.gruastremart.com/" + i + ".png")
+                    .status(pickPaymentStatus().name())
+                    .createdAt(demand.getCompletedAt())
+                    .updatedAt(demand.getCompletedAt())
+                    .amount(20.0 + random.nextInt(180))
+                    .build());
+            if (paymentDocuments.size() == BATCH_SIZE) {
+                insert(paymentDocuments, Payment.class);
+                paymentDocuments.clear();
+            }
+        }
+        insert(paymentDocuments, Payment.class);
+
+        log.warn("Datos de carga insertados en {} s: {} usuarios, {} demandas, {} pagos",
+                TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start), users, demands, paymentCount);
+
+        return new SeedData(List.copyOf(clients), List.copyOf(operators), List.copyOf(activeDemandIds));
+    }
+
+    private CraneDemandStateEnum pickState(boolean takenAllowed) {
+        double value = random.nextDouble();
+        if (value < 0.15) {
+            return CraneDemandStateEnum.ACTIVE;
+        }
+        if (value < 0.20 && takenAllowed) {
+            return CraneDemandStateEnum.TAKEN;
+        }
+        if (value < 0.30) {
+            return CraneDemandStateEnum.CANCELLED;
+        }
+        return CraneDemandStateEnum.COMPLETED;
+    }
+
+    private PaymentStatusEnum pickPaymentStatus() {
+        double value = random.nextDouble();
+        if (value < 0.2) {
+            return PaymentStatusEnum.PENDING;
+        }
+        return value < 0.9 ? PaymentStatusEnum.VERIFIED : PaymentStatusEnum.REJECTED;
+    }
+
+    private GeoJsonPoint randomPoint() {
+        return new GeoJsonPoint(
+                CENTER_LONGITUDE + (random.nextDouble() - 0.5) * SPREAD_DEGREES,
+                CENTER_LATITUDE + (random.nextDouble() - 0.5) * SPREAD_DEGREES);
+    }
+
+    private <T> void insert(List<T> documents, Class<T> type) {
+        if (documents.isEmpty()) {
+            return;
+        }
+        mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, type).insert(documents).execute();
+    }
+
+    record SeedData(List<User> clients, List<User> operators, List<String> activeDemandIds) {
+    }
+}
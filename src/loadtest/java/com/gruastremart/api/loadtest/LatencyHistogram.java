@@ -0,0 +1,54 @@
+package com.gruastremart.api.loadtest;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histograma de latencias concurrente con cubetas logarítmicas (precisión ~1%) desde 1 µs.
+ * Memoria fija, sin guardar cada muestra
+ */
+final class LatencyHistogram {
+
+    private static final double GROWTH = Math.log(1.01);
+    private static final int BUCKETS = 2400; // 1.01^2400 µs: más de una hora
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+    void record(long nanos) {
+        long micros = Math.max(1, nanos / 1_000);
+        int bucket = (int) Math.min(BUCKETS - 1, Math.log(micros) / GROWTH);
+        counts.incrementAndGet(bucket);
+        count.increment();
+        maxNanos.accumulate(nanos);
+    }
+
+    long count() {
+        return count.sum();
+    }
+
+    double maxMillis() {
+        return maxNanos.get() / 1_000_000.0;
+    }
+
+    /**
+     * Percentil (0-1) en milisegundos, como límite superior de la cubeta que lo contiene
+     */
+    double percentileMillis(double percentile) {
+        long total = count();
+        if (total == 0) {
+            return 0.0;
+        }
+        long target = (long) Math.ceil(percentile * total);
+        long cumulative = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            cumulative += counts.get(i);
+            if (cumulative >= target) {
+                return Math.exp((i + 1) * GROWTH) / 1_000.0;
+            }
+        }
+        return maxMillis();
+    }
+}
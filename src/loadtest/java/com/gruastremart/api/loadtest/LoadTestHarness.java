@@ -0,0 +1,153 @@
+package com.gruastremart.api.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.gruastremart.api.Application;
+import de.flapdoodle.embed.mongo.distribution.Version;
+import de.flapdoodle.embed.mongo.transitions.Mongod;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static com.gruastremart.api.utils.constants.Constants.API_VERSION_PATH;
+
+/**
+ * Arranca la API completa contra un MongoDB embebido, carga datos con volúmenes realistas
+ * y la somete a la mezcla de tráfico de producción, informando latencias p50/p95/p99 por operación.
+ * <p>
+ * Uso: {@code mvn -P loadtest test-compile exec:exec -Dloadtest.args="users=10000 demands=100000 duration=60s"}
+ */
+@Slf4j
+public final class LoadTestHarness {
+
+    private static final String CONTEXT_PATH = "/gruastremart-core-api";
+    private static final Path REPORT_PATH = Path.of("target", "loadtest-report.json");
+
+    private static final Map<String, String> DEFAULTS = Map.of(
+            "users", "10000",
+            "demands", "100000",
+            "payments", "50000",
+            "concurrency", "64",
+            "warmup", "10s",
+            "duration", "60s");
+
+    private LoadTestHarness() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        var config = parseArgs(args);
+        var jwtSecret = UUID.randomUUID() + "-" + UUID.randomUUID();
+
+        try (var mongod = Mongod.instance().start(Version.Main.V6_0)) {
+            var address = mongod.current().getServerAddress();
+            var mongoUri = "mongodb://" + address.getHost() + ":" + address.getPort() + "/gruastremart-loadtest";
+
+            try (var context = new SpringApplicationBuilder(Application.class).run(applicationArgs(mongoUri, jwtSecret))) {
+                var seedData = new DataSeeder(context.getBean(MongoTemplate.class)).seed(
+                        Integer.parseInt(config.get("users")),
+                        Integer.parseInt(config.get("demands")),
+                        Integer.parseInt(config.get("payments")));
+
+                var port = context.getEnvironment().getRequiredProperty("local.server.port");
+                var driver = new TrafficDriver("http://localhost:" + port + CONTEXT_PATH + API_VERSION_PATH, jwtSecret, seedData);
+                var concurrency = Integer.parseInt(config.get("concurrency"));
+
+                log.warn("Calentamiento durante {}", config.get("warmup"));
+                driver.run(concurrency, parseDuration(config.get("warmup")));
+
+                var duration = parseDuration(config.get("duration"));
+                log.warn("Medición durante {} con {} usuarios virtuales", duration, concurrency);
+                var stats = driver.run(concurrency, duration);
+
+                report(stats, duration, config);
+            }
+        }
+    }
+
+    private static String[] applicationArgs(String mongoUri, String jwtSecret) {
+        // Como argumentos de línea de comandos para que prevalezcan sobre application.yml (incluido spring.profiles.active)
+        return List.of(
+                "--spring.profiles.active=loadtest",
+                "--spring.data.mongodb.uri=" + mongoUri,
+                "--server.port=0",
+                "--server.servlet.context-path=" + CONTEXT_PATH,
+                "--app.security.supabaseSecret=" + jwtSecret,
+                "--app.security.supabaseUrl=http://localhost:54321",
+                "--app.security.supabaseAnonKey=loadtest",
+                "--app.image.storage=local",
+                "--app.mongo.index-verification=log",
+                "--spring.mail.host=localhost",
+                "--spring.mail.port=2525",
+                "--mailer.from=loadtest@gruastremart.com",
+                "--mailer.to=loadtest@gruastremart.com",
+                "--mailer.contact-subject=Contacto",
+                "--mailer.demand-subject=Demanda",
+                "--redirect.forgot-password-url=http://localhost/reset-password",
+                "--management.tracing.enabled=false",
+                "--logging.level.root=WARN"
+        ).toArray(String[]::new);
+    }
+
+    private static void report(Map<TrafficDriver.Operation, TrafficDriver.OperationStats> stats, Duration duration, Map<String, String> config) throws Exception {
+        var operations = new LinkedHashMap<String, Object>();
+        var seconds = duration.toMillis() / 1_000.0;
+
+        System.out.printf("%n%-16s %10s %10s %8s %8s %10s %9s %9s %9s %9s%n",
+                "operación", "peticiones", "2xx", "4xx", "errores", "req/s", "p50 ms", "p95 ms", "p99 ms", "máx ms");
+        stats.forEach((operation, result) -> {
+            var latency = result.latency;
+            var row = new LinkedHashMap<String, Object>();
+            row.put("requests", latency.count());
+            row.put("ok", result.ok.sum());
+            row.put("rejected", result.rejected.sum());
+            row.put("errors", result.errors.sum());
+            row.put("throughputPerSecond", latency.count() / seconds);
+            row.put("p50Millis", latency.percentileMillis(0.50));
+            row.put("p95Millis", latency.percentileMillis(0.95));
+            row.put("p99Millis", latency.percentileMillis(0.99));
+            row.put("maxMillis", latency.maxMillis());
+            operations.put(operation.name(), row);
+
+            System.out.printf("%-16s %10d %10d %8d %8d %10.1f %9.2f %9.2f %9.2f %9.2f%n",
+                    operation.name(), latency.count(), result.ok.sum(), result.rejected.sum(), result.errors.sum(),
+                    latency.count() / seconds, latency.percentileMillis(0.50), latency.percentileMillis(0.95),
+                    latency.percentileMillis(0.99), latency.maxMillis());
+        });
+
+        var report = new LinkedHashMap<String, Object>();
+        report.put("config", config);
+        report.put("operations", operations);
+
+        Files.createDirectories(REPORT_PATH.getParent());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(REPORT_PATH.toFile(), report);
+        System.out.println("\nInforme escrito en " + REPORT_PATH.toAbsolutePath());
+    }
+
+    private static Map<String, String> parseArgs(String[] args) {
+        var config = new HashMap<>(DEFAULTS);
+        for (var arg : args) {
+            var parts = arg.split("=", 2);
+            if (parts.length != 2 || !DEFAULTS.containsKey(parts[0])) {
+                throw new IllegalArgumentException("Argumento no válido: " + arg + ". Claves admitidas: " + DEFAULTS.keySet());
+            }
+            config.put(parts[0], parts[1]);
+        }
+        return config;
+    }
+
+    private static Duration parseDuration(String value) {
+        if (value.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        return Duration.ofSeconds(Long.parseLong(value.endsWith("s") ? value.substring(0, value.length() - 1) : value));
+    }
+}
@@ -0,0 +1,199 @@
+package com.gruastremart.api.loadtest;
+
+import com.gruastremart.api.persistance.entity.User;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+
+import javax.crypto.SecretKey;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Genera tráfico en bucle cerrado: cada usuario virtual (hilo virtual) envía una petición,
+ * espera la respuesta y envía la siguiente, con la mezcla de operaciones de producción
+ */
+final class TrafficDriver {
+
+    private static final Duration TOKEN_TTL = Duration.ofHours(2);
+    private static final String JSON = "application/json";
+
+    /**
+     * Operaciones de la mezcla con su peso relativo
+     */
+    enum Operation {
+        LOCATION_UPDATE(50),
+        DEMAND_SEARCH(25),
+        PAYMENT_LISTING(15),
+        DEMAND_ASSIGN(10);
+
+        private final int weight;
+
+        Operation(int weight) {
+            this.weight = weight;
+        }
+
+        static Operation pick(int roll) {
+            int cumulative = 0;
+            for (var operation : values()) {
+                cumulative += operation.weight;
+                if (roll < cumulative) {
+                    return operation;
+                }
+            }
+            return LOCATION_UPDATE;
+        }
+    }
+
+    /**
+     * Resultados de una operación: latencias, respuestas 2xx, rechazos 4xx esperados y errores (5xx o de red)
+     */
+    static final class OperationStats {
+        final LatencyHistogram latency = new LatencyHistogram();
+        final LongAdder ok = new LongAdder();
+        final LongAdder rejected = new LongAdder();
+        final LongAdder errors = new LongAdder();
+    }
+
+    private final HttpClient httpClient;
+    private final String baseUrl;
+    private final List<User> operators;
+    private final List<String> activeDemandIds;
+    private final AtomicInteger nextActiveDemand = new AtomicInteger();
+    private final Map<String, String> tokens = new ConcurrentHashMap<>();
+    private final SecretKey signingKey;
+
+    TrafficDriver(String baseUrl, String jwtSecret, DataSeeder.SeedData seedData) {
+        this.baseUrl = baseUrl;
+        this.operators = seedData.operators();
+        this.activeDemandIds = seedData.activeDemandIds();
+        this.signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        this.httpClient = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    /**
+     * Ejecuta la mezcla con {@code concurrency} usuarios virtuales durante {@code duration}
+     */
+    Map<Operation, OperationStats> run(int concurrency, Duration duration) throws InterruptedException {
+        var stats = new EnumMap<Operation, OperationStats>(Operation.class);
+        for (var operation : Operation.values()) {
+            stats.put(operation, new OperationStats());
+        }
+
+        long deadline = System.nanoTime() + duration.toNanos();
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                executor.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        var operation = Operation.pick(ThreadLocalRandom.current().nextInt(100));
+                        execute(operation, stats.get(operation));
+                    }
+                });
+            }
+            executor.shutdown();
+            executor.awaitTermination(duration.toMillis() + TimeUnit.MINUTES.toMillis(1), TimeUnit.MILLISECONDS);
+        }
+        return stats;
+    }
+
+    private void execute(Operation operation, OperationStats stats) {
+        var request = buildRequest(operation);
+        long start = System.nanoTime();
+        try {
+            var response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+            stats.latency.record(System.nanoTime() - start);
+            int status = response.statusCode();
+            if (status < 300) {
+                stats.ok.increment();
+            } else if (status < 500) {
+                // 400/409 al asignar una demanda ya tomada es el comportamiento esperado bajo contención
+                stats.rejected.increment();
+            } else {
+                stats.errors.increment();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            stats.errors.increment();
+        } catch (Exception e) {
+            stats.latency.record(System.nanoTime() - start);
+            stats.errors.increment();
+        }
+    }
+
+    private HttpRequest buildRequest(Operation operation) {
+        var random = ThreadLocalRandom.current();
+        var operator = operators.get(random.nextInt(operators.size()));
+
+        return switch (operation) {
+            case LOCATION_UPDATE -> authorized("/operators/" + operator.getId() + "/location", operator)
+                    .PUT(json("{\"latitude\":%f,\"longitude\":%f,\"status\":\"ONLINE\"}", latitude(), longitude()))
+                    .build();
+            case DEMAND_SEARCH -> authorized(random.nextBoolean()
+                    ? "/crane-demands?page=0&size=10&state=ACTIVE&count=NONE"
+                    : "/crane-demands?size=10&state=ACTIVE&cursor=", operator) // cursor vacío: primera página por cursor
+                    .GET()
+                    .build();
+            case PAYMENT_LISTING -> authorized("/payments/operator/" + operator.getId() + "?page=0&size=10", operator)
+                    .GET()
+                    .build();
+            case DEMAND_ASSIGN -> authorized("/crane-demands/" + nextActiveDemandId() + "/assign", operator)
+                    .method("PATCH", json("{\"userId\":\"%s\",\"weightCategory\":\"PESO_1\",\"latitude\":%f,\"longitude\":%f}",
+                            operator.getId(), latitude(), longitude()))
+                    .build();
+        };
+    }
+
+    private String nextActiveDemandId() {
+        return activeDemandIds.get(Math.floorMod(nextActiveDemand.getAndIncrement(), activeDemandIds.size()));
+    }
+
+    private HttpRequest.Builder authorized(String path, User user) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Authorization", "Bearer " + tokens.computeIfAbsent(user.getEmail(), this::signToken))
+                .header("Content-Type", JSON)
+                .header("Accept", JSON);
+    }
+
+    private static HttpRequest.BodyPublisher json(String template, Object... args) {
+        // Locale.ROOT para que los decimales usen punto sea cual sea la configuración regional
+        return HttpRequest.BodyPublishers.ofString(String.format(Locale.ROOT, template, args));
+    }
+
+    private String signToken(String email) {
+        var now = new Date();
+        return Jwts.builder()
+                .subject(email)
+                .claim("email", email)
+                .issuedAt(now)
+                .expiration(new Date(now.getTime() + TOKEN_TTL.toMillis()))
+                .signWith(signingKey)
+                .compact();
+    }
+
+    private static double latitude() {
+        return 10.48 + (ThreadLocalRandom.current().nextDouble() - 0.5) * 0.25;
+    }
+
+    private static double longitude() {
+        return -66.90 + (ThreadLocalRandom.current().nextDouble() - 0.5) * 0.25;
+    }
+}
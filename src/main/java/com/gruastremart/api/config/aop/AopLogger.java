@@ -3,8 +3,11 @@ package com.gruastremart.api.config.aop;
 import com.gruastremart.api.dto.CraneDemandAssignRequestDto;
 import com.gruastremart.api.dto.CraneDemandCreateRequestDto;
 import com.gruastremart.api.dto.RequestMetadataDto;
+import com.gruastremart.api.persistance.entity.AuditLog;
+import com.gruastremart.api.service.audit.AuditLogSink;
 import com.gruastremart.api.utils.tools.RequestMetadataExtractorUtil;
 import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Before;
@@ -15,7 +18,13 @@ import org.springframework.web.context.request.ServletRequestAttributes;
 @Slf4j
 @Aspect
 @Component
+@RequiredArgsConstructor
 public class AopLogger {
+    private static final String CREATE_CRANE_DEMAND_ACTION = "CREATE_CRANE_DEMAND";
+    private static final String UPDATE_CRANE_DEMAND_ACTION = "UPDATE_CRANE_DEMAND";
+
+    private final AuditLogSink auditLogSink;
+
     @Pointcut("execution(* com.gruastremart.api.controller.CraneDemandController.createCraneDemand(..))")
     public void createCraneDemandPointcut() {
     }
@@ -24,11 +33,22 @@ public class AopLogger {
     public void updateCraneDemandPointcut() {
     }
 
-    private void logAuditInfo(RequestMetadataDto meta, String currentLocation, String destinationLocation) {
-        log.info("AUDITORÍA - Fecha: {}, Usuario: {}, Rol: {}, Email: {}, IP: {}, User-Agent: {}, Ubicación actual: {}, Destino: {}",
-                meta.getTimestamp(), meta.getUserId(), meta.getRole(), meta.getEmail(),
-                meta.getIp(), meta.getUserAgent(),
-                currentLocation, destinationLocation);
+    /**
+     * Encola el evento de auditoría; el guardado se hace en segundo plano por lotes
+     */
+    private void logAuditInfo(RequestMetadataDto meta, String action, String currentLocation, String destinationLocation) {
+        auditLogSink.submit(AuditLog.builder()
+                .action(action)
+                .timestamp(meta.getTimestamp())
+                .userId(meta.getUserId())
+                .email(meta.getEmail())
+                .role(meta.getRole())
+                .ip(meta.getIp())
+                .userAgent(meta.getUserAgent())
+                .currentLocation(currentLocation)
+                .destinationLocation(destinationLocation)
+                .build());
+        log.debug("AUDITORÍA - Acción: {}, Usuario: {}", action, meta.getUserId());
     }
 
     @Before("createCraneDemandPointcut()")
@@ -36,7 +56,7 @@ public class AopLogger {
         HttpServletRequest request = (HttpServletRequest) joinPoint.getArgs()[1];
         RequestMetadataDto meta = RequestMetadataExtractorUtil.extract(request);
         CraneDemandCreateRequestDto craneDemandRequest = (CraneDemandCreateRequestDto) joinPoint.getArgs()[0];
-        logAuditInfo(meta, craneDemandRequest.getCurrentLocation().getName(), craneDemandRequest.getDestinationLocation().getName());
+        logAuditInfo(meta, CREATE_CRANE_DEMAND_ACTION, craneDemandRequest.getCurrentLocation().getName(), craneDemandRequest.getDestinationLocation().getName());
     }
 
     @Before("updateCraneDemandPointcut()")
@@ -44,6 +64,6 @@ public class AopLogger {
         HttpServletRequest request = (HttpServletRequest) joinPoint.getArgs()[1];
         RequestMetadataDto meta = RequestMetadataExtractorUtil.extract(request);
         CraneDemandAssignRequestDto craneDemandRequest = (CraneDemandAssignRequestDto) joinPoint.getArgs()[1];
-        logAuditInfo(meta, "N/A", "N/A");
+        logAuditInfo(meta, UPDATE_CRANE_DEMAND_ACTION, "N/A", "N/A");
     }
 }
@@ -0,0 +1,94 @@
+package com.gruastremart.api.config.aop;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Temporizadores de Micrometer para los métodos públicos de los servicios principales
+ * y para cada consulta de los repositorios de Mongo (Spring Data y personalizados).
+ * Los percentiles (p99) se publican como histograma desde application-observability.yml.
+ */
+@Slf4j
+@Aspect
+@Component
+public class AopMetrics {
+    public static final String SERVICE_METHOD_METRIC = "service.method";
+    public static final String REPOSITORY_QUERY_METRIC = "mongo.repository.query";
+    private static final String REPOSITORY_PACKAGE = "com.gruastremart.api.persistance.repository";
+
+    private final Map<Class<?>, String> repositoryNames = new ConcurrentHashMap<>();
+
+    @Pointcut("execution(public * com.gruastremart.api.service.CraneDemandService.*(..))"
+            + " || execution(public * com.gruastremart.api.service.PaymentService.*(..))"
+            + " || execution(public * com.gruastremart.api.service.OperatorService.*(..))"
+            + " || execution(public * com.gruastremart.api.service.CranePricingService.*(..))")
+    public void servicePublicMethodsPointcut() {
+    }
+
+    /**
+     * Solo los métodos que lanzan consultas: en los repositorios personalizados se excluyen
+     * los que construyen un Query o devuelven un Stream perezoso, y PagedQueryExecutor
+     * (un @Component auxiliar) ya queda medido dentro del método del repositorio que lo invoca
+     */
+    @Pointcut("target(org.springframework.data.repository.Repository)"
+            + " || (execution(public * com.gruastremart.api.persistance.repository.custom..*.*(..))"
+            + " && @within(org.springframework.stereotype.Repository)"
+            + " && !execution(org.springframework.data.mongodb.core.query.Query *(..))"
+            + " && !execution(java.util.stream.Stream *(..)))")
+    public void repositoryMethodsPointcut() {
+    }
+
+    @Around("servicePublicMethodsPointcut()")
+    public Object timeServiceMethod(ProceedingJoinPoint joinPoint) throws Throwable {
+        var service = ClassUtils.getUserClass(joinPoint.getTarget()).getSimpleName();
+        return time(joinPoint, SERVICE_METHOD_METRIC, Tag.of("class", service));
+    }
+
+    @Around("repositoryMethodsPointcut()")
+    public Object timeRepositoryMethod(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, REPOSITORY_QUERY_METRIC, Tag.of("repository", repositoryName(joinPoint)));
+    }
+
+    private Object time(ProceedingJoinPoint joinPoint, String metric, Tag owner) throws Throwable {
+        var sample = Timer.start(Metrics.globalRegistry);
+        var exception = "none";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder(metric)
+                    .tags(Tags.of(owner, Tag.of("method", joinPoint.getSignature().getName()), Tag.of("exception", exception)))
+                    .register(Metrics.globalRegistry));
+        }
+    }
+
+    /**
+     * Los repositorios de Spring Data son proxies: se etiqueta con la interfaz del proyecto
+     * (p. ej. CraneDemandRepository) en lugar de SimpleMongoRepository
+     */
+    private String repositoryName(ProceedingJoinPoint joinPoint) {
+        var proxyClass = joinPoint.getThis().getClass();
+        return repositoryNames.computeIfAbsent(proxyClass, type -> {
+            for (Class<?> candidate : ClassUtils.getAllInterfacesForClassAsSet(type)) {
+                if (candidate.getName().startsWith(REPOSITORY_PACKAGE)) {
+                    return candidate.getSimpleName();
+                }
+            }
+            return ClassUtils.getUserClass(type).getSimpleName();
+        });
+    }
+}
@@ -11,8 +11,15 @@ import org.springframework.context.annotation.Primary;
 import java.util.concurrent.TimeUnit;
 
 import static com.gruastremart.api.utils.constants.Constants.OPERATOR_LOCATIONS_CACHE;
+import static com.gruastremart.api.utils.constants.Constants.OPERATOR_LOCATIONS_TTL_MINUTES;
 import static com.gruastremart.api.utils.constants.Constants.CRANE_PRICING_CACHE;
+import static com.gruastremart.api.utils.constants.Constants.QUERY_COUNT_CACHE;
+import static com.gruastremart.api.utils.constants.Constants.QUERY_COUNT_TTL_SECONDS;
 
+/**
+ * Todas las caches registran estadísticas (recordStats): Spring Boot Actuator las publica
+ * en Micrometer como cache.gets{result=hit|miss}, cache.puts y cache.evictions, etiquetadas con cache y cacheManager
+ */
 @Configuration
 @EnableCaching
 public class CacheConfig {
@@ -22,8 +29,9 @@ public class CacheConfig {
     public CacheManager operatorLocationsCacheManager() {
         CaffeineCacheManager cacheManager = new CaffeineCacheManager(OPERATOR_LOCATIONS_CACHE);
         cacheManager.setCaffeine(Caffeine.newBuilder()
-                .expireAfterWrite(5, TimeUnit.MINUTES) // Las localizaciones expiran en 5 minutos
-                .maximumSize(1000)); // Máximo 1000 operadores
+                .expireAfterWrite(OPERATOR_LOCATIONS_TTL_MINUTES, TimeUnit.MINUTES) // Las localizaciones expiran en 5 minutos
+                .maximumSize(1000) // Máximo 1000 operadores
+                .recordStats());
         return cacheManager;
     }
 
@@ -32,7 +40,18 @@ public class CacheConfig {
         CaffeineCacheManager cacheManager = new CaffeineCacheManager(CRANE_PRICING_CACHE);
         cacheManager.setCaffeine(Caffeine.newBuilder()
                 .expireAfterWrite(6, TimeUnit.HOURS) // Los precios expiran en 6 horas
-                .maximumSize(100)); // Máximo 100 configuraciones de precios
+                .maximumSize(100) // Máximo 100 configuraciones de precios
+                .recordStats());
+        return cacheManager;
+    }
+
+    @Bean(name = "queryCountCacheManager")
+    public CacheManager queryCountCacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(QUERY_COUNT_CACHE);
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+                .expireAfterWrite(QUERY_COUNT_TTL_SECONDS, TimeUnit.SECONDS) // Totales aproximados durante 30 segundos
+                .maximumSize(1000) // Máximo 1000 combinaciones de filtros
+                .recordStats());
         return cacheManager;
     }
 }
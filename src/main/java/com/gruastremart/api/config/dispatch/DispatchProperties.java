@@ -0,0 +1,20 @@
+package com.gruastremart.api.config.dispatch;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.dispatch")
+public class DispatchProperties {
+
+    // Si está desactivado las demandas solo se asignan con PATCH /crane-demands/{id}/assign
+    private boolean enabled = true;
+    // Tiempo que tiene cada operador para aceptar la oferta antes de pasar al siguiente candidato
+    private Duration offerTimeout = Duration.ofSeconds(30);
+    private int maxCandidates = 5;
+    private double radiusKm = 10.0;
+}
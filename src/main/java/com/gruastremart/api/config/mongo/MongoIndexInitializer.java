@@ -0,0 +1,73 @@
+package com.gruastremart.api.config.mongo;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mapping.context.MappingContext;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentProperty;
+import org.springframework.data.mongodb.core.mapping.TimeSeries;
+import org.springframework.stereotype.Component;
+
+/**
+ * Crea al arrancar los índices declarados en las entidades (@Indexed, @CompoundIndex),
+ * ya que la creación automática de índices de Spring Data está desactivada.
+ * Los índices geoespaciales y de texto se gestionan directamente en la base de datos y se omiten.
+ * Las colecciones time-series (@TimeSeries) deben crearse explícitamente antes del primer insert, así que se crean aquí si no existen.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MongoIndexInitializer {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureIndexes() {
+        MappingContext<? extends MongoPersistentEntity<?>, MongoPersistentProperty> mappingContext = mongoTemplate.getConverter().getMappingContext();
+        var resolver = new MongoPersistentEntityIndexResolver(mappingContext);
+
+        mappingContext.getPersistentEntities().stream()
+                .filter(entity -> entity.isAnnotationPresent(Document.class) && entity.isAnnotationPresent(TimeSeries.class))
+                .forEach(this::ensureTimeSeriesCollection);
+
+        mappingContext.getPersistentEntities().stream()
+                .filter(entity -> entity.isAnnotationPresent(Document.class))
+                .forEach(entity -> resolver.resolveIndexFor(entity.getTypeInformation())
+                        .forEach(index -> ensureIndex(entity.getCollection(), index)));
+    }
+
+    private void ensureTimeSeriesCollection(MongoPersistentEntity<?> entity) {
+        if (mongoTemplate.collectionExists(entity.getCollection())) {
+            return;
+        }
+
+        try {
+            mongoTemplate.createCollection(entity.getType());
+            log.info("Colección time-series creada: {}", entity.getCollection());
+        } catch (Exception e) {
+            log.error("No se pudo crear la colección time-series {}: {}", entity.getCollection(), e.getMessage());
+        }
+    }
+
+    private void ensureIndex(String collection, IndexDefinition index) {
+        if (index.getIndexKeys().values().stream().anyMatch(String.class::isInstance)) {
+            return;
+        }
+
+        try {
+            var name = mongoTemplate.indexOps(collection).ensureIndex(index);
+            log.info("Índice asegurado en {}: {}", collection, name);
+        } catch (Exception e) {
+            log.error("No se pudo crear el índice {} en {}: {}", index.getIndexKeys(), collection, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.gruastremart.api.config.mongo;
+
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static com.gruastremart.api.utils.constants.Constants.CRANE_DEMANDS_COLLECTION;
+import static com.gruastremart.api.utils.constants.Constants.EMAIL_OUTBOX_COLLECTION;
+import static com.gruastremart.api.utils.constants.Constants.OPERATORS_COLLECTION;
+import static com.gruastremart.api.utils.constants.Constants.PAYMENTS_COLLECTION;
+import static com.gruastremart.api.utils.constants.Constants.USERS_COLLECTION;
+
+/**
+ * Tras crear los índices, ejecuta explain() sobre las consultas habituales de los repositorios
+ * y avisa si alguna acaba en COLLSCAN. Con app.mongo.index-verification=fail el arranque se detiene.
+ */
+@Slf4j
+@Component
+public class MongoQueryPlanVerifier {
+
+    private static final String COLLECTION_SCAN_STAGE = "COLLSCAN";
+    private static final String PROBE_VALUE = "index-verification";
+
+    private final MongoTemplate mongoTemplate;
+    private final String verificationMode;
+
+    public MongoQueryPlanVerifier(MongoTemplate mongoTemplate,
+                                  @Value("${app.mongo.index-verification:log}") String verificationMode) {
+        this.mongoTemplate = mongoTemplate;
+        this.verificationMode = verificationMode;
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @EventListener(ApplicationReadyEvent.class)
+    public void verifyQueryPlans() {
+        if ("off".equalsIgnoreCase(verificationMode)) {
+            return;
+        }
+
+        List<String> collectionScans = new ArrayList<>();
+        for (QueryShape shape : hotQueryShapes()) {
+            try {
+                if (usesCollectionScan(shape)) {
+                    collectionScans.add(shape.description());
+                }
+            } catch (Exception e) {
+                log.warn("No se pudo verificar el plan de la consulta {}: {}", shape.description(), e.getMessage());
+            }
+        }
+
+        if (collectionScans.isEmpty()) {
+            log.info("Verificación de índices: todas las consultas habituales usan índice");
+            return;
+        }
+
+        var message = "Consultas sin índice (COLLSCAN): " + collectionScans;
+        if ("fail".equalsIgnoreCase(verificationMode)) {
+            throw new IllegalStateException(message);
+        }
+        log.warn(message);
+    }
+
+    /**
+     * Una consulta representativa por cada forma de consulta de los repositorios
+     */
+    private List<QueryShape> hotQueryShapes() {
+        var states = List.of("ACTIVE", "TAKEN");
+        return List.of(
+                new QueryShape("users.email", USERS_COLLECTION, new Document("email", PROBE_VALUE), null),
+                new QueryShape("users.supabaseId", USERS_COLLECTION, new Document("supabaseId", PROBE_VALUE), null),
+                new QueryShape("operators.userId", OPERATORS_COLLECTION, new Document("userId", PROBE_VALUE), null),
+                new QueryShape("payments.userId+status", PAYMENTS_COLLECTION,
+                        new Document("userId", PROBE_VALUE).append("status", "PENDING"), null),
+                new QueryShape("payments.userId+status+paymentType", PAYMENTS_COLLECTION,
+                        new Document("userId", PROBE_VALUE).append("status", "PENDING").append("paymentType", "PRE_SERVICE"), null),
+                new QueryShape("payments.demandId", PAYMENTS_COLLECTION,
+                        new Document("demandId", new Document("$in", List.of(PROBE_VALUE))), null),
+                new QueryShape("payments.status+paymentType", PAYMENTS_COLLECTION,
+                        new Document("status", "PENDING").append("paymentType", "PRE_SERVICE"), null),
+                new QueryShape("crane_demands.createdByUserId+state", CRANE_DEMANDS_COLLECTION,
+                        new Document("createdByUserId", PROBE_VALUE).append("state", new Document("$in", states)), null),
+                new QueryShape("crane_demands.assignedOperatorId+state", CRANE_DEMANDS_COLLECTION,
+                        new Document("assignedOperatorId", PROBE_VALUE).append("state", "COMPLETED"), null),
+                new QueryShape("crane_demands.state sort createdAt", CRANE_DEMANDS_COLLECTION,
+                        new Document("state", "ACTIVE"), new Document("createdAt", -1)),
+                new QueryShape("crane_demands sort createdAt,_id", CRANE_DEMANDS_COLLECTION,
+                        new Document(), new Document("createdAt", -1).append("_id", -1)),
+                new QueryShape("email_outbox.status+nextAttemptAt", EMAIL_OUTBOX_COLLECTION,
+                        new Document("status", "PENDING").append("nextAttemptAt", new Document("$lte", new Date())), null)
+        );
+    }
+
+    private boolean usesCollectionScan(QueryShape shape) {
+        var find = new Document("find", shape.collection()).append("filter", shape.filter());
+        if (shape.sort() != null) {
+            find.append("sort", shape.sort());
+        }
+        var explain = mongoTemplate.getDb().runCommand(new Document("explain", find).append("verbosity", "queryPlanner"));
+        var queryPlanner = explain.get("queryPlanner", Document.class);
+        return queryPlanner != null && containsStage(queryPlanner.get("winningPlan"), COLLECTION_SCAN_STAGE);
+    }
+
+    /**
+     * Recorre el plan (stage, inputStage, inputStages, queryPlan...) buscando la etapa indicada
+     */
+    private static boolean containsStage(Object plan, String stage) {
+        if (plan instanceof Document document) {
+            if (stage.equals(document.get("stage"))) {
+                return true;
+            }
+            return document.values().stream().anyMatch(value -> containsStage(value, stage));
+        }
+        if (plan instanceof List<?> list) {
+            return list.stream().anyMatch(value -> containsStage(value, stage));
+        }
+        return false;
+    }
+
+    private record QueryShape(String description, String collection, Document filter, Document sort) {
+    }
+}
@@ -0,0 +1,112 @@
+package com.gruastremart.api.config.security.jwt;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Date;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static com.gruastremart.api.utils.constants.Constants.JWT_AUTHENTICATION_CACHE_MAX_SIZE;
+import static com.gruastremart.api.utils.constants.Constants.JWT_AUTHENTICATION_CACHE_MAX_TTL_MINUTES;
+
+/**
+ * Cache acotada de autenticaciones JWT ya verificadas, indexada por el hash SHA-256 del token.
+ * Cada entrada caduca con el claim exp del token (como máximo a los pocos minutos), de modo que
+ * un token repetido no vuelve a verificar la firma ni a consultar el usuario en Mongo.
+ */
+@Slf4j
+@Component
+public class JwtAuthenticationCache {
+
+    private static final String CACHE_NAME = "jwtAuthentications";
+    private static final long MAX_TTL_NANOS = TimeUnit.MINUTES.toNanos(JWT_AUTHENTICATION_CACHE_MAX_TTL_MINUTES);
+
+    private final Cache<String, CachedAuthentication> cache = Caffeine.newBuilder()
+            .maximumSize(JWT_AUTHENTICATION_CACHE_MAX_SIZE)
+            .expireAfter(new Expiry<String, CachedAuthentication>() {
+                @Override
+                public long expireAfterCreate(String key, CachedAuthentication value, long currentTime) {
+                    return remainingNanos(value);
+                }
+
+                @Override
+                public long expireAfterUpdate(String key, CachedAuthentication value, long currentTime, long currentDuration) {
+                    return remainingNanos(value);
+                }
+
+                @Override
+                public long expireAfterRead(String key, CachedAuthentication value, long currentTime, long currentDuration) {
+                    return currentDuration;
+                }
+            })
+            .recordStats()
+            .build();
+
+    public JwtAuthenticationCache() {
+        // Aciertos y fallos de la cache expuestos como cache.gets{cache="jwtAuthentications"}
+        CaffeineCacheMetrics.monitor(Metrics.globalRegistry, cache, CACHE_NAME);
+    }
+
+    public Optional<CachedAuthentication> get(String token) {
+        return Optional.ofNullable(cache.getIfPresent(hash(token)));
+    }
+
+    public void put(String token, CachedAuthentication authentication) {
+        if (authentication.expiresAtMillis() <= System.currentTimeMillis()) {
+            return;
+        }
+        cache.put(hash(token), authentication);
+    }
+
+    /**
+     * Descarta las autenticaciones de un usuario, p. ej. cuando cambian su rol o su estado
+     */
+    public void invalidateUser(String email) {
+        if (email == null) {
+            return;
+        }
+        cache.asMap().values().removeIf(entry -> email.equals(entry.email()));
+        log.info("Autenticaciones en cache invalidadas para el usuario: {}", email);
+    }
+
+    public long size() {
+        cache.cleanUp();
+        return cache.estimatedSize();
+    }
+
+    private static long remainingNanos(CachedAuthentication value) {
+        long remaining = TimeUnit.MILLISECONDS.toNanos(value.expiresAtMillis() - System.currentTimeMillis());
+        return Math.max(0, Math.min(remaining, MAX_TTL_NANOS));
+    }
+
+    private static String hash(String token) {
+        try {
+            var digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+
+    public record CachedAuthentication(String email, List<GrantedAuthority> authorities, Claims claims, long expiresAtMillis) {
+
+        public static CachedAuthentication of(String email, List<? extends GrantedAuthority> authorities, Claims claims) {
+            Date expiration = claims.getExpiration();
+            long expiresAt = expiration != null ? expiration.getTime() : System.currentTimeMillis() + TimeUnit.NANOSECONDS.toMillis(MAX_TTL_NANOS);
+            return new CachedAuthentication(email, List.copyOf(authorities), claims, expiresAt);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.gruastremart.api.config.security.jwt;
+
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.Metrics;
+import jakarta.servlet.ServletRequest;
+
+import java.util.Optional;
+
+/**
+ * Guarda en la request los claims ya verificados por {@link JwtSecurityFilter}
+ * para que el resto de la petición (aspectos, controladores) no vuelva a verificar el token.
+ */
+public class JwtClaimsHolder {
+
+    public static final String CLAIMS_ATTRIBUTE = JwtClaimsHolder.class.getName() + ".claims";
+    public static final String AVOIDED_VERIFICATIONS_METRIC = "jwt.verifications.avoided";
+
+    private JwtClaimsHolder() {
+    }
+
+    public static void set(ServletRequest request, Claims claims) {
+        request.setAttribute(CLAIMS_ATTRIBUTE, claims);
+    }
+
+    public static Optional<Claims> get(ServletRequest request) {
+        return request.getAttribute(CLAIMS_ATTRIBUTE) instanceof Claims claims ? Optional.of(claims) : Optional.empty();
+    }
+
+    /**
+     * Cuenta una verificación de firma evitada gracias a los claims compartidos
+     */
+    public static void recordAvoidedVerification(String source) {
+        Metrics.counter(AVOIDED_VERIFICATIONS_METRIC, "source", source).increment();
+    }
+}
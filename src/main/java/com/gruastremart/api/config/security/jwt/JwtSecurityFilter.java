@@ -1,5 +1,6 @@
 package com.gruastremart.api.config.security.jwt;
 
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -39,10 +40,18 @@ public class JwtSecurityFilter extends GenericFilterBean {
                 return;
             }
 
-            String token = authorizationHeader.substring(7);
-            Authentication authToken = jwtTokenProvider.getAuthentication(token);
-
-            SecurityContextHolder.getContext().setAuthentication(authToken);
+            // El filtro está registrado como bean y en la cadena de seguridad: la segunda pasada reutiliza los claims
+            if (JwtClaimsHolder.get(httpRequest).isPresent() && SecurityContextHolder.getContext().getAuthentication() != null) {
+                JwtClaimsHolder.recordAvoidedVerification("filter");
+            } else {
+                String token = authorizationHeader.substring(7);
+                Authentication authToken = jwtTokenProvider.getAuthentication(token);
+
+                SecurityContextHolder.getContext().setAuthentication(authToken);
+                if (authToken.getDetails() instanceof Claims claims) {
+                    JwtClaimsHolder.set(httpRequest, claims);
+                }
+            }
         } catch (JwtException e) {
             logger.error("Error al verificar el token JWT de Supabase con JJWT", e);
         } catch (Exception ex) {
@@ -1,17 +1,17 @@
 package com.gruastremart.api.config.security.jwt;
 
 import com.gruastremart.api.config.security.SecurityProperties;
+import com.gruastremart.api.config.security.jwt.JwtAuthenticationCache.CachedAuthentication;
 import com.gruastremart.api.exception.ServiceException;
 import com.gruastremart.api.persistance.repository.UserRepository;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
-import org.springframework.security.core.userdetails.User;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import java.security.Key;
@@ -27,8 +27,24 @@ public class JwtTokenProvider {
     @Autowired
     private SecurityProperties securityProperties;
 
+    @Autowired
+    private JwtAuthenticationCache jwtAuthenticationCache;
+
+    private Key signingKey;
+
+    @PostConstruct
+    public void init() {
+        signingKey = Keys.hmacShaKeyFor(securityProperties.getSupabaseSecret().getBytes());//Here get the supabase secret from yaml file
+    }
+
+    /**
+     * Devuelve la autenticación del token con los claims verificados en "details"
+     */
     public Authentication getAuthentication(String token) {
-        Key signingKey = Keys.hmacShaKeyFor(securityProperties.getSupabaseSecret().getBytes());//Here get the supabase secret from yaml file
+        var cached = jwtAuthenticationCache.get(token);
+        if (cached.isPresent()) {
+            return buildAuthentication(cached.get(), token);
+        }
 
         Claims claims = Jwts.parser()
                 .setSigningKey(signingKey)
@@ -44,16 +60,16 @@ public class JwtTokenProvider {
                 .map(role -> new SimpleGrantedAuthority("ROLE_" + role.toUpperCase()))
                 .collect(Collectors.toList());
 
-        UserDetails userDetails = User.withUsername(email)
-                .password("") // No hay password porque es un JWT
-                .authorities(authorities)
-                .build();
+        var authentication = CachedAuthentication.of(email, authorities, claims);
+        jwtAuthenticationCache.put(token, authentication);
 
-        UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                userDetails, null, authorities);
+        return buildAuthentication(authentication, token);
+    }
 
-        authToken.setDetails(claims); // Guardamos los claims en "details"
-        return new UsernamePasswordAuthenticationToken(email, token, authorities);
+    private Authentication buildAuthentication(CachedAuthentication cached, String token) {
+        var authToken = new UsernamePasswordAuthenticationToken(cached.email(), token, cached.authorities());
+        authToken.setDetails(cached.claims()); // Guardamos los claims en "details"
+        return authToken;
     }
 }
 
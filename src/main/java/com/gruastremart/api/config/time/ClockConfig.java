@@ -0,0 +1,18 @@
+package com.gruastremart.api.config.time;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+
+/**
+ * Reloj inyectable para que la lógica dependiente del tiempo se pueda probar con un reloj simulado
+ */
+@Configuration
+public class ClockConfig {
+
+    @Bean
+    public Clock clock() {
+        return Clock.systemUTC();
+    }
+}
@@ -0,0 +1,115 @@
+package com.gruastremart.api.config.websocket;
+
+import com.gruastremart.api.config.security.jwt.JwtTokenProvider;
+import com.gruastremart.api.persistance.entity.User;
+import com.gruastremart.api.persistance.repository.CraneDemandRepository;
+import com.gruastremart.api.persistance.repository.UserRepository;
+import com.gruastremart.api.utils.enums.CraneDemandStateEnum;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+import static com.gruastremart.api.utils.constants.Constants.CRANE_DEMAND_TOPIC;
+import static com.gruastremart.api.utils.constants.Constants.OPERATOR_TOPIC;
+
+/**
+ * El handshake HTTP de /ws es público (los navegadores no pueden enviar cabeceras en él),
+ * así que el JWT se valida en el frame CONNECT con la cabecera nativa "Authorization: Bearer ...".
+ * La autenticación queda asociada a la sesión y los SUBSCRIBE posteriores solo se aceptan
+ * para sesiones autenticadas y destinos concretos (sin comodines, que el broker interpreta como patrones).
+ * Los canales de un operador solo puede suscribirlos el propio operador; el de ubicación, además,
+ * el cliente que creó la demanda TAKEN asignada a ese operador.
+ * No hay destinos de aplicación (@MessageMapping), así que cualquier SEND se rechaza: de lo contrario
+ * iría directo al broker y los clientes podrían publicar eventos falsos en los topics
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StompAuthChannelInterceptor implements ChannelInterceptor {
+
+    private static final String AUTHORIZATION_HEADER = "Authorization";
+    private static final String BEARER_PREFIX = "Bearer ";
+    private static final String DESTINATION_PATTERN_CHARS = "*?{";
+    private static final String LOCATION_CHANNEL = "location";
+
+    private final JwtTokenProvider jwtTokenProvider;
+    private final UserRepository userRepository;
+    private final CraneDemandRepository craneDemandRepository;
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        var accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || accessor.getCommand() == null) {
+            return message;
+        }
+
+        if (StompCommand.CONNECT.equals(accessor.getCommand())) {
+            accessor.setUser(authenticate(accessor.getFirstNativeHeader(AUTHORIZATION_HEADER)));
+        } else if (StompCommand.SUBSCRIBE.equals(accessor.getCommand())) {
+            validateSubscription(accessor);
+        } else if (StompCommand.SEND.equals(accessor.getCommand())) {
+            throw new AccessDeniedException("Clients cannot send messages");
+        }
+        return message;
+    }
+
+    private Authentication authenticate(String authorization) {
+        if (authorization == null || !authorization.startsWith(BEARER_PREFIX)) {
+            throw new AccessDeniedException("Missing bearer token");
+        }
+
+        try {
+            return jwtTokenProvider.getAuthentication(authorization.substring(BEARER_PREFIX.length()));
+        } catch (Exception e) {
+            log.debug("CONNECT rechazado: {}", e.getMessage());
+            throw new AccessDeniedException("Invalid token");
+        }
+    }
+
+    private void validateSubscription(StompHeaderAccessor accessor) {
+        if (accessor.getUser() == null) {
+            throw new AccessDeniedException("Not authenticated");
+        }
+
+        var destination = accessor.getDestination();
+        if (destination == null || destination.chars().anyMatch(c -> DESTINATION_PATTERN_CHARS.indexOf(c) >= 0)) {
+            throw new AccessDeniedException("Invalid destination: " + destination);
+        }
+
+        if (destination.startsWith(OPERATOR_TOPIC)) {
+            validateOperatorTopic(accessor.getUser().getName(), destination);
+        } else if (!destination.startsWith(CRANE_DEMAND_TOPIC)) {
+            throw new AccessDeniedException("Unknown destination: " + destination);
+        }
+    }
+
+    /**
+     * /topic/operators/{id}/... solo para el usuario {id}: incluye ofertas y demandas con datos de contacto del cliente.
+     * /topic/operators/{id}/location también para el cliente cuya demanda TAKEN tiene asignado al operador {id}
+     */
+    private void validateOperatorTopic(String email, String destination) {
+        var parts = destination.substring(OPERATOR_TOPIC.length()).split("/", 2);
+        var operatorId = parts[0];
+        var userId = userRepository.findByEmail(email)
+                .map(User::getId)
+                .orElseThrow(() -> new AccessDeniedException("Unknown user"));
+        if (userId.equals(operatorId)) {
+            return;
+        }
+
+        var isLocationChannel = parts.length > 1 && LOCATION_CHANNEL.equals(parts[1]);
+        if (isLocationChannel && craneDemandRepository.existsByCreatedByUserIdAndAssignedOperatorIdAndState(
+                userId, operatorId, CraneDemandStateEnum.TAKEN.name())) {
+            return;
+        }
+        throw new AccessDeniedException("Cannot subscribe to another operator's channel");
+    }
+}
@@ -0,0 +1,54 @@
+package com.gruastremart.api.config.websocket;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.simp.config.ChannelRegistration;
+import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
+import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
+import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+
+import static com.gruastremart.api.utils.constants.Constants.WEBSOCKET_APP_PREFIX;
+import static com.gruastremart.api.utils.constants.Constants.WEBSOCKET_ENDPOINT;
+import static com.gruastremart.api.utils.constants.Constants.WEBSOCKET_HEARTBEAT_MILLIS;
+import static com.gruastremart.api.utils.constants.Constants.WEBSOCKET_TOPIC_PREFIX;
+
+/**
+ * Broker STOMP en memoria sobre /ws (SockJS; los clientes nativos usan /ws/websocket).
+ * Canales: /topic/crane-demands/{id} (cambios de estado) y /topic/operators/{id}/location (posiciones).
+ * La autenticación se hace en el frame CONNECT, ver {@link StompAuthChannelInterceptor}
+ */
+@Configuration
+@EnableWebSocketMessageBroker
+@RequiredArgsConstructor
+public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
+
+    private final StompAuthChannelInterceptor stompAuthChannelInterceptor;
+
+    @Override
+    public void registerStompEndpoints(StompEndpointRegistry registry) {
+        registry.addEndpoint(WEBSOCKET_ENDPOINT)
+                .setAllowedOriginPatterns("*")
+                .withSockJS();
+    }
+
+    @Override
+    public void configureMessageBroker(MessageBrokerRegistry registry) {
+        // Heartbeats para detectar conexiones móviles muertas sin esperar al timeout TCP
+        var heartbeatScheduler = new ThreadPoolTaskScheduler();
+        heartbeatScheduler.setPoolSize(1);
+        heartbeatScheduler.setThreadNamePrefix("ws-heartbeat-");
+        heartbeatScheduler.initialize();
+
+        registry.enableSimpleBroker(WEBSOCKET_TOPIC_PREFIX)
+                .setHeartbeatValue(new long[]{WEBSOCKET_HEARTBEAT_MILLIS, WEBSOCKET_HEARTBEAT_MILLIS})
+                .setTaskScheduler(heartbeatScheduler);
+        registry.setApplicationDestinationPrefixes(WEBSOCKET_APP_PREFIX);
+    }
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        registration.interceptors(stompAuthChannelInterceptor);
+    }
+}
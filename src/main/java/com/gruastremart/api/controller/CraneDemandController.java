@@ -3,8 +3,12 @@ package com.gruastremart.api.controller;
 import com.gruastremart.api.dto.AssignCraneDemandDto;
 import com.gruastremart.api.dto.CraneDemandCreateRequestDto;
 import com.gruastremart.api.dto.CraneDemandResponseDto;
+import com.gruastremart.api.dto.CraneDemandRouteDto;
+import com.gruastremart.api.dto.CursorPageDto;
 import com.gruastremart.api.dto.HttpErrorInfoDto;
 import com.gruastremart.api.service.CraneDemandService;
+import com.gruastremart.api.service.export.CraneDemandExportService;
+import com.gruastremart.api.utils.enums.ExportFormatEnum;
 import com.gruastremart.api.utils.tools.RequestMetadataExtractorUtil;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -17,7 +21,10 @@ import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.util.MultiValueMap;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -28,6 +35,8 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import static com.gruastremart.api.utils.constants.Constants.API_VERSION_PATH;
 
@@ -39,6 +48,7 @@ import static com.gruastremart.api.utils.constants.Constants.API_VERSION_PATH;
 public class CraneDemandController {
 
     private final CraneDemandService craneDemandService;
+    private final CraneDemandExportService craneDemandExportService;
 
     @Operation(summary = "Crane Demand Search", description = "Search crane demands by filters")
     @ApiResponse(responseCode = "200", description = "OK", content = @Content(mediaType = "application/json", schema = @Schema(implementation = CraneDemandResponseDto.class)))
@@ -51,6 +61,11 @@ public class CraneDemandController {
     @Parameters({
             @Parameter(name = "page", description = "Número de página", required = true),
             @Parameter(name = "size", description = "Tamaño de la página", required = true),
+            @Parameter(
+                    name = "count",
+                    description = "Modo de cálculo del total: EXACT (por defecto), ESTIMATED (aproximado) o NONE (solo indica si hay página siguiente)",
+                    schema = @Schema(allowableValues = {"EXACT", "ESTIMATED", "NONE"})
+            ),
             @Parameter(name = "lat", description = "Latitud"),
             @Parameter(name = "lng", description = "Longitud"),
             @Parameter(name = "radio", description = "Radio de búsqueda"),
@@ -78,6 +93,71 @@ public class CraneDemandController {
         return new ResponseEntity<>(users, HttpStatus.OK);
     }
 
+    @Operation(summary = "Crane Demand Cursor Search", description = "Search crane demands by filters using keyset (cursor) pagination. Send an empty cursor for the first page and the returned nextCursor for the following ones")
+    @ApiResponse(responseCode = "200", description = "OK", content = @Content(mediaType = "application/json", schema = @Schema(implementation = CursorPageDto.class)))
+    @ApiResponse(responseCode = "400", description = "BAD REQUEST", content = @Content(mediaType = "application/json", schema = @Schema(implementation = HttpErrorInfoDto.class)))
+    @ApiResponse(responseCode = "401", description = "UNAUTHORIZED", content = @Content(mediaType = "application/json", schema = @Schema(implementation = HttpErrorInfoDto.class)))
+    @ApiResponse(responseCode = "403", description = "FORBIDDEN", content = @Content(mediaType = "application/json", schema = @Schema(implementation = HttpErrorInfoDto.class)))
+    @ApiResponse(responseCode = "500", description = "INTERNAL SERVER ERROR", content = @Content(mediaType = "application/json", schema = @Schema(implementation = HttpErrorInfoDto.class)))
+    @GetMapping(params = "cursor")
+    @Parameters({
+            @Parameter(name = "cursor", description = "Cursor opaco devuelto en nextCursor (vacío para la primera página)", required = true),
+            @Parameter(name = "size", description = "Tamaño de la página", required = true),
+            @Parameter(name = "lat", description = "Latitud"),
+            @Parameter(name = "lng", description = "Longitud"),
+            @Parameter(name = "radio", description = "Radio de búsqueda"),
+            @Parameter(
+                    name = "state",
+                    description = "Filtrar por estado de la demanda",
+                    schema = @Schema(allowableValues = {"ACTIVE", "INACTIVE", "TAKEN", "COMPLETED", "CANCELLED"})
+            ),
+            @Parameter(name = "createdByUserId", description = "ID del usuario que creó la demanda"),
+            @Parameter(name = "startDate", description = "Fecha de inicio (formato: yyyy-MM-dd)", schema = @Schema(type = "string", format = "date")),
+            @Parameter(name = "endDate", description = "Fecha de fin (formato: yyyy-MM-dd)", schema = @Schema(type = "string", format = "date")),
+            @Parameter(name = "assignedOperatorId", description = "ID del operador asignado a la demanda")
+    })
+    public ResponseEntity<CursorPageDto<CraneDemandResponseDto>> findWithFiltersByCursor(@Parameter(description = "Query parameters for filtering crane demands") @RequestParam MultiValueMap<String, String> params) {
+        var demands = craneDemandService.findWithFiltersByCursor(params);
+        return new ResponseEntity<>(demands, HttpStatus.OK);
+    }
+
+    @Operation(summary = "Crane Demand Export", description = "Export every crane demand matching the filters as CSV or NDJSON. Rows are streamed from a database cursor, so the response is not paginated")
+    @ApiResponse(responseCode = "200", description = "OK", content = {@Content(mediaType = "text/csv"), @Content(mediaType = "application/x-ndjson")})
+    @ApiResponse(responseCode = "400", description = "BAD REQUEST", content = @Content(mediaType = "application/json", schema = @Schema(implementation = HttpErrorInfoDto.class)))
+    @ApiResponse(responseCode = "401", description = "UNAUTHORIZED", content = @Content(mediaType = "application/json", schema = @Schema(implementation = HttpErrorInfoDto.class)))
+    @ApiResponse(responseCode = "403", description = "FORBIDDEN", content = @Content(mediaType = "application/json", schema = @Schema(implementation = HttpErrorInfoDto.class)))
+    @ApiResponse(responseCode = "500", description = "INTERNAL SERVER ERROR", content = @Content(mediaType = "application/json", schema = @Schema(implementation = HttpErrorInfoDto.class)))
+    @GetMapping("/export")
+    @Parameters({
+            @Parameter(
+                    name = "format",
+                    description = "Formato de exportación: CSV (por defecto) o NDJSON (un objeto JSON por línea)",
+                    schema = @Schema(allowableValues = {"CSV", "NDJSON"})
+            ),
+            @Parameter(name = "lat", description = "Latitud"),
+            @Parameter(name = "lng", description = "Longitud"),
+            @Parameter(name = "radio", description = "Radio de búsqueda"),
+            @Parameter(
+                    name = "state",
+                    description = "Filtrar por estado de la demanda",
+                    schema = @Schema(allowableValues = {"ACTIVE", "INACTIVE", "TAKEN", "COMPLETED", "CANCELLED"})
+            ),
+            @Parameter(name = "createdByUserId", description = "ID del usuario que creó la demanda"),
+            @Parameter(name = "startDate", description = "Fecha de inicio (formato: yyyy-MM-dd)", schema = @Schema(type = "string", format = "date")),
+            @Parameter(name = "endDate", description = "Fecha de fin (formato: yyyy-MM-dd)", schema = @Schema(type = "string", format = "date")),
+            @Parameter(name = "assignedOperatorId", description = "ID del operador asignado a la demanda")
+    })
+    public ResponseEntity<StreamingResponseBody> exportWithFilters(@Parameter(description = "Query parameters for filtering crane demands") @RequestParam(required = false) MultiValueMap<String, String> params) {
+        var format = ExportFormatEnum.fromParam(params.getFirst("format"));
+        var body = craneDemandExportService.export(params, format);
+        var disposition = ContentDisposition.attachment().filename("crane-demands." + format.getExtension()).build();
+
+        return ResponseEntity.ok()
+                .contentType(format.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, disposition.toString())
+                .body(body);
+    }
+
     @Operation(summary = "Get Crane Demand by ID", description = "Retrieve a specific crane demand by its unique identifier")
     @ApiResponse(responseCode = "200", description = "OK", content = @Content(mediaType = "application/json", schema = @Schema(implementation = CraneDemandResponseDto.class)))
     @ApiResponse(responseCode = "400", description = "BAD REQUEST", content = @Content(mediaType = "application/json", schema = @Schema(implementation = HttpErrorInfoDto.class)))
@@ -91,6 +171,32 @@ public class CraneDemandController {
         return new ResponseEntity<>(demand, HttpStatus.OK);
     }
 
+    @Operation(summary = "Stream Assigned Operator Location", description = "Subscribe with Server-Sent Events to the location updates of the operator assigned to a crane demand. Only the customer who created the demand can subscribe, while it is TAKEN")
+    @ApiResponse(responseCode = "200", description = "OK", content = @Content(mediaType = "text/event-stream"))
+    @ApiResponse(responseCode = "400", description = "BAD REQUEST", content = @Content(mediaType = "application/json", schema = @Schema(implementation = HttpErrorInfoDto.class)))
+    @ApiResponse(responseCode = "401", description = "UNAUTHORIZED", content = @Content(mediaType = "application/json", schema = @Schema(implementation = HttpErrorInfoDto.class)))
+    @ApiResponse(responseCode = "403", description = "FORBIDDEN", content = @Content(mediaType = "application/json", schema = @Schema(implementation = HttpErrorInfoDto.class)))
+    @ApiResponse(responseCode = "404", description = "NOT FOUND", content = @Content(mediaType = "application/json", schema = @Schema(implementation = HttpErrorInfoDto.class)))
+    @ApiResponse(responseCode = "500", description = "INTERNAL SERVER ERROR", content = @Content(mediaType = "application/json", schema = @Schema(implementation = HttpErrorInfoDto.class)))
+    @GetMapping(value = "/{id}/operator-location/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamAssignedOperatorLocation(@Parameter(description = "Unique identifier of the crane demand", required = true) @PathVariable String id,
+                                                     HttpServletRequest request) {
+        var meta = RequestMetadataExtractorUtil.extract(request);
+        return craneDemandService.streamAssignedOperatorLocation(id, meta.getEmail());
+    }
+
+    @Operation(summary = "Crane Demand Route", description = "Get the GPS route driven by the assigned operator between the moment the demand was taken and its completion (or now if still in progress)")
+    @ApiResponse(responseCode = "200", description = "OK", content = @Content(mediaType = "application/json", schema = @Schema(implementation = CraneDemandRouteDto.class)))
+    @ApiResponse(responseCode = "400", description = "BAD REQUEST", content = @Content(mediaType = "application/json", schema = @Schema(implementation = HttpErrorInfoDto.class)))
+    @ApiResponse(responseCode = "401", description = "UNAUTHORIZED", content = @Content(mediaType = "application/json", schema = @Schema(implementation = HttpErrorInfoDto.class)))
+    @ApiResponse(responseCode = "403", description = "FORBIDDEN", content = @Content(mediaType = "application/json", schema = @Schema(implementation = HttpErrorInfoDto.class)))
+    @ApiResponse(responseCode = "404", description = "NOT FOUND", content = @Content(mediaType = "application/json", schema = @Schema(implementation = HttpErrorInfoDto.class)))
+    @ApiResponse(responseCode = "500", description = "INTERNAL SERVER ERROR", content = @Content(mediaType = "application/json", schema = @Schema(implementation = HttpErrorInfoDto.class)))
+    @GetMapping("/{id}/route")
+    public ResponseEntity<CraneDemandRouteDto> getRoute(@Parameter(description = "Unique identifier of the crane demand", required = true) @PathVariable String id) {
+        return new ResponseEntity<>(craneDemandService.getCraneDemandRoute(id), HttpStatus.OK);
+    }
+
     @Operation(summary = "Create Crane Demand", description = "Create a new crane demand request")
     @ApiResponse(responseCode = "201", description = "CREATED", content = @Content(mediaType = "application/json", schema = @Schema(implementation = CraneDemandResponseDto.class)))
     @ApiResponse(responseCode = "400", description = "BAD REQUEST", content = @Content(mediaType = "application/json", schema = @Schema(implementation = HttpErrorInfoDto.class)))
@@ -113,6 +219,7 @@ public class CraneDemandController {
     @ApiResponse(responseCode = "401", description = "UNAUTHORIZED", content = @Content(mediaType = "application/json", schema = @Schema(implementation = HttpErrorInfoDto.class)))
     @ApiResponse(responseCode = "403", description = "FORBIDDEN", content = @Content(mediaType = "application/json", schema = @Schema(implementation = HttpErrorInfoDto.class)))
     @ApiResponse(responseCode = "404", description = "NOT FOUND", content = @Content(mediaType = "application/json", schema = @Schema(implementation = HttpErrorInfoDto.class)))
+    @ApiResponse(responseCode = "409", description = "CONFLICT", content = @Content(mediaType = "application/json", schema = @Schema(implementation = HttpErrorInfoDto.class)))
     @ApiResponse(responseCode = "500", description = "INTERNAL SERVER ERROR", content = @Content(mediaType = "application/json", schema = @Schema(implementation = HttpErrorInfoDto.class)))
     @PatchMapping("/{craneDemandId}/assign")
     public ResponseEntity<CraneDemandResponseDto> assignCraneDemand(
@@ -125,12 +232,46 @@ public class CraneDemandController {
                 .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND));
     }
 
+    @Operation(summary = "Accept Dispatch Offer", description = "Accept the pending automatic dispatch offer of a crane demand within its accept window")
+    @ApiResponse(responseCode = "200", description = "OK", content = @Content(mediaType = "application/json", schema = @Schema(implementation = CraneDemandResponseDto.class)))
+    @ApiResponse(responseCode = "400", description = "BAD REQUEST", content = @Content(mediaType = "application/json", schema = @Schema(implementation = HttpErrorInfoDto.class)))
+    @ApiResponse(responseCode = "401", description = "UNAUTHORIZED", content = @Content(mediaType = "application/json", schema = @Schema(implementation = HttpErrorInfoDto.class)))
+    @ApiResponse(responseCode = "403", description = "FORBIDDEN", content = @Content(mediaType = "application/json", schema = @Schema(implementation = HttpErrorInfoDto.class)))
+    @ApiResponse(responseCode = "404", description = "NOT FOUND", content = @Content(mediaType = "application/json", schema = @Schema(implementation = HttpErrorInfoDto.class)))
+    @ApiResponse(responseCode = "409", description = "CONFLICT", content = @Content(mediaType = "application/json", schema = @Schema(implementation = HttpErrorInfoDto.class)))
+    @ApiResponse(responseCode = "500", description = "INTERNAL SERVER ERROR", content = @Content(mediaType = "application/json", schema = @Schema(implementation = HttpErrorInfoDto.class)))
+    @PatchMapping("/{craneDemandId}/dispatch/accept")
+    public ResponseEntity<CraneDemandResponseDto> acceptDispatchOffer(
+            @Parameter(description = "Unique identifier of the offered crane demand", required = true)
+            @PathVariable String craneDemandId,
+            @RequestBody AssignCraneDemandDto assignCraneDemandDto) {
+        var updated = craneDemandService.acceptDispatchOffer(craneDemandId, assignCraneDemandDto);
+
+        return updated.map(value -> new ResponseEntity<>(value, HttpStatus.OK))
+                .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND));
+    }
+
+    @Operation(summary = "Reject Dispatch Offer", description = "Reject the pending automatic dispatch offer so it moves to the next candidate operator")
+    @ApiResponse(responseCode = "204", description = "NO CONTENT")
+    @ApiResponse(responseCode = "401", description = "UNAUTHORIZED", content = @Content(mediaType = "application/json", schema = @Schema(implementation = HttpErrorInfoDto.class)))
+    @ApiResponse(responseCode = "403", description = "FORBIDDEN", content = @Content(mediaType = "application/json", schema = @Schema(implementation = HttpErrorInfoDto.class)))
+    @ApiResponse(responseCode = "409", description = "CONFLICT", content = @Content(mediaType = "application/json", schema = @Schema(implementation = HttpErrorInfoDto.class)))
+    @ApiResponse(responseCode = "500", description = "INTERNAL SERVER ERROR", content = @Content(mediaType = "application/json", schema = @Schema(implementation = HttpErrorInfoDto.class)))
+    @PatchMapping("/{craneDemandId}/dispatch/reject")
+    public ResponseEntity<Void> rejectDispatchOffer(
+            @Parameter(description = "Unique identifier of the offered crane demand", required = true) @PathVariable String craneDemandId,
+            @Parameter(description = "User id of the operator rejecting the offer", required = true) @RequestParam String operatorId) {
+        craneDemandService.rejectDispatchOffer(craneDemandId, operatorId);
+        return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+    }
+
     @Operation(summary = "Cancel Crane Demand", description = "Cancel an existing crane demand")
     @ApiResponse(responseCode = "204", description = "NO CONTENT")
     @ApiResponse(responseCode = "400", description = "BAD REQUEST", content = @Content(mediaType = "application/json", schema = @Schema(implementation = HttpErrorInfoDto.class)))
     @ApiResponse(responseCode = "401", description = "UNAUTHORIZED", content = @Content(mediaType = "application/json", schema = @Schema(implementation = HttpErrorInfoDto.class)))
     @ApiResponse(responseCode = "403", description = "FORBIDDEN", content = @Content(mediaType = "application/json", schema = @Schema(implementation = HttpErrorInfoDto.class)))
     @ApiResponse(responseCode = "404", description = "NOT FOUND", content = @Content(mediaType = "application/json", schema = @Schema(implementation = HttpErrorInfoDto.class)))
+    @ApiResponse(responseCode = "409", description = "CONFLICT", content = @Content(mediaType = "application/json", schema = @Schema(implementation = HttpErrorInfoDto.class)))
     @ApiResponse(responseCode = "500", description = "INTERNAL SERVER ERROR", content = @Content(mediaType = "application/json", schema = @Schema(implementation = HttpErrorInfoDto.class)))
     @PatchMapping("/{id}/cancel")
     public ResponseEntity<Void> cancelCraneDemand(@Parameter(description = "Unique identifier of the crane demand to cancel", required = true) @PathVariable String id) {
@@ -144,6 +285,7 @@ public class CraneDemandController {
     @ApiResponse(responseCode = "401", description = "UNAUTHORIZED", content = @Content(mediaType = "application/json", schema = @Schema(implementation = HttpErrorInfoDto.class)))
     @ApiResponse(responseCode = "403", description = "FORBIDDEN", content = @Content(mediaType = "application/json", schema = @Schema(implementation = HttpErrorInfoDto.class)))
     @ApiResponse(responseCode = "404", description = "NOT FOUND", content = @Content(mediaType = "application/json", schema = @Schema(implementation = HttpErrorInfoDto.class)))
+    @ApiResponse(responseCode = "409", description = "CONFLICT", content = @Content(mediaType = "application/json", schema = @Schema(implementation = HttpErrorInfoDto.class)))
     @ApiResponse(responseCode = "500", description = "INTERNAL SERVER ERROR", content = @Content(mediaType = "application/json", schema = @Schema(implementation = HttpErrorInfoDto.class)))
     @PatchMapping("/{id}/complete")
     public ResponseEntity<Void> completeCraneDemand(@Parameter(description = "Unique identifier of the crane demand to cancel", required = true) @PathVariable String id) {
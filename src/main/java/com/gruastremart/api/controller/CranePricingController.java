@@ -44,6 +44,11 @@ public class CranePricingController {
     @Parameters({
             @Parameter(name = "page", description = "Número de página", required = true),
             @Parameter(name = "size", description = "Tamaño de la página", required = true),
+            @Parameter(
+                    name = "count",
+                    description = "Modo de cálculo del total: EXACT (por defecto), ESTIMATED (aproximado) o NONE (solo indica si hay página siguiente)",
+                    schema = @Schema(allowableValues = {"EXACT", "ESTIMATED", "NONE"})
+            ),
             @Parameter(
                     name = "active",
                     description = "Filtrar por estado activo/inactivo",
@@ -1,7 +1,9 @@
 package com.gruastremart.api.controller;
 
 import com.gruastremart.api.dto.HttpErrorInfoDto;
+import com.gruastremart.api.dto.NearbyOperatorDto;
 import com.gruastremart.api.dto.OperatorDto;
+import com.gruastremart.api.dto.OperatorLocationBatchRequestDto;
 import com.gruastremart.api.dto.OperatorLocationDto;
 import com.gruastremart.api.dto.OperatorLocationRequestDto;
 import com.gruastremart.api.exception.ServiceException;
@@ -20,12 +22,14 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.List;
 import java.util.Optional;
 
 import static com.gruastremart.api.utils.constants.Constants.API_VERSION_PATH;
@@ -51,6 +55,23 @@ public class OperatorController {
         return operatorService.findByUserId(userId);
     }
 
+    @Operation(summary = "Find Nearest Online Operators", description = "Retrieve the N nearest online operators within a radius, served from the in-memory location index")
+    @ApiResponse(responseCode = "200", description = "OK", content = @Content(mediaType = "application/json", schema = @Schema(implementation = NearbyOperatorDto.class)))
+    @ApiResponse(responseCode = "400", description = "BAD REQUEST", content = @Content(mediaType = "application/json", schema = @Schema(implementation = HttpErrorInfoDto.class)))
+    @ApiResponse(responseCode = "401", description = "UNAUTHORIZED", content = @Content(mediaType = "application/json", schema = @Schema(implementation = HttpErrorInfoDto.class)))
+    @ApiResponse(responseCode = "403", description = "FORBIDDEN", content = @Content(mediaType = "application/json", schema = @Schema(implementation = HttpErrorInfoDto.class)))
+    @ApiResponse(responseCode = "500", description = "INTERNAL SERVER ERROR", content = @Content(mediaType = "application/json", schema = @Schema(implementation = HttpErrorInfoDto.class)))
+    @GetMapping("/nearby")
+    public ResponseEntity<List<NearbyOperatorDto>> findNearestOperators(
+            @Parameter(description = "Latitud", required = true) @RequestParam double lat,
+            @Parameter(description = "Longitud", required = true) @RequestParam double lng,
+            @Parameter(description = "Radio de búsqueda en km") @RequestParam(defaultValue = "5") double radio,
+            @Parameter(description = "Número máximo de operadores") @RequestParam(defaultValue = "10") int limit) {
+
+        var operators = operatorService.findNearestOnlineOperators(lat, lng, radio, limit);
+        return new ResponseEntity<>(operators, HttpStatus.OK);
+    }
+
     @Operation(summary = "Update Operator Location", description = "Save or update the location coordinates of an operator in cache")
     @ApiResponse(responseCode = "200", description = "OK", content = @Content(mediaType = "application/json", schema = @Schema(implementation = OperatorLocationDto.class)))
     @ApiResponse(responseCode = "400", description = "BAD REQUEST", content = @Content(mediaType = "application/json", schema = @Schema(implementation = HttpErrorInfoDto.class)))
@@ -67,6 +88,31 @@ public class OperatorController {
         return new ResponseEntity<>(location, HttpStatus.OK);
     }
 
+    @Operation(summary = "Update Operator Location Batch", description = "Save an ordered batch of timestamped points buffered by the operator app. The newest point becomes the live location, every point is kept in the track history")
+    @ApiResponse(responseCode = "200", description = "OK", content = @Content(mediaType = "application/json", schema = @Schema(implementation = OperatorLocationDto.class)))
+    @ApiResponse(responseCode = "400", description = "BAD REQUEST", content = @Content(mediaType = "application/json", schema = @Schema(implementation = HttpErrorInfoDto.class)))
+    @ApiResponse(responseCode = "401", description = "UNAUTHORIZED", content = @Content(mediaType = "application/json", schema = @Schema(implementation = HttpErrorInfoDto.class)))
+    @ApiResponse(responseCode = "403", description = "FORBIDDEN", content = @Content(mediaType = "application/json", schema = @Schema(implementation = HttpErrorInfoDto.class)))
+    @ApiResponse(responseCode = "500", description = "INTERNAL SERVER ERROR", content = @Content(mediaType = "application/json", schema = @Schema(implementation = HttpErrorInfoDto.class)))
+    @PostMapping("/{operatorId}/location/batch")
+    public ResponseEntity<OperatorLocationDto> updateOperatorLocationBatch(
+            @Parameter(description = "Unique identifier of the operator", required = true) @PathVariable String operatorId,
+            @Parameter(description = "Buffered points, oldest first", required = true) @Valid @RequestBody OperatorLocationBatchRequestDto request) {
+
+        OperatorLocationDto location = operatorService.saveOperatorLocationBatch(operatorId, request);
+        return new ResponseEntity<>(location, HttpStatus.OK);
+    }
+
+    @Operation(summary = "Get Operator Track", description = "Retrieve the recent location history of an operator, oldest first")
+    @ApiResponse(responseCode = "200", description = "OK", content = @Content(mediaType = "application/json", schema = @Schema(implementation = OperatorLocationDto.class)))
+    @ApiResponse(responseCode = "401", description = "UNAUTHORIZED", content = @Content(mediaType = "application/json", schema = @Schema(implementation = HttpErrorInfoDto.class)))
+    @ApiResponse(responseCode = "403", description = "FORBIDDEN", content = @Content(mediaType = "application/json", schema = @Schema(implementation = HttpErrorInfoDto.class)))
+    @ApiResponse(responseCode = "500", description = "INTERNAL SERVER ERROR", content = @Content(mediaType = "application/json", schema = @Schema(implementation = HttpErrorInfoDto.class)))
+    @GetMapping("/{operatorId}/location/track")
+    public ResponseEntity<List<OperatorLocationDto>> getOperatorTrack(@Parameter(description = "Unique identifier of the operator", required = true) @PathVariable String operatorId) {
+        return new ResponseEntity<>(operatorService.getOperatorTrack(operatorId), HttpStatus.OK);
+    }
+
     @Operation(summary = "Get Operator Location", description = "Retrieve the location coordinates of an operator from cache")
     @ApiResponse(responseCode = "200", description = "OK", content = @Content(mediaType = "application/json", schema = @Schema(implementation = OperatorLocationDto.class)))
     @ApiResponse(responseCode = "400", description = "BAD REQUEST", content = @Content(mediaType = "application/json", schema = @Schema(implementation = HttpErrorInfoDto.class)))
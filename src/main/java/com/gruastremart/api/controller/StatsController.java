@@ -0,0 +1,45 @@
+package com.gruastremart.api.controller;
+
+import com.gruastremart.api.dto.HttpErrorInfoDto;
+import com.gruastremart.api.dto.OperationsStatsResponseDto;
+import com.gruastremart.api.service.stats.OperationsStatsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import static com.gruastremart.api.utils.constants.Constants.API_VERSION_PATH;
+
+@Slf4j
+@RestController
+@RequestMapping(value = API_VERSION_PATH + "/stats")
+@RequiredArgsConstructor
+@Tag(name = "Operations Stats", description = "API de estadísticas de operación pre-agregadas")
+public class StatsController {
+
+    private final OperationsStatsService operationsStatsService;
+
+    @Operation(summary = "Operations Stats", description = "Daily pre-aggregated counters of crane demands per state, average ACTIVE→TAKEN and TAKEN→COMPLETED times, completions per operator and payments per status, with totals for the range")
+    @ApiResponse(responseCode = "200", description = "OK", content = @Content(mediaType = "application/json", schema = @Schema(implementation = OperationsStatsResponseDto.class)))
+    @ApiResponse(responseCode = "400", description = "BAD REQUEST", content = @Content(mediaType = "application/json", schema = @Schema(implementation = HttpErrorInfoDto.class)))
+    @ApiResponse(responseCode = "401", description = "UNAUTHORIZED", content = @Content(mediaType = "application/json", schema = @Schema(implementation = HttpErrorInfoDto.class)))
+    @ApiResponse(responseCode = "403", description = "FORBIDDEN", content = @Content(mediaType = "application/json", schema = @Schema(implementation = HttpErrorInfoDto.class)))
+    @ApiResponse(responseCode = "500", description = "INTERNAL SERVER ERROR", content = @Content(mediaType = "application/json", schema = @Schema(implementation = HttpErrorInfoDto.class)))
+    @GetMapping("/operations")
+    public ResponseEntity<OperationsStatsResponseDto> getOperationsStats(
+            @Parameter(description = "Primer día del rango (yyyy-MM-dd, UTC). Por defecto, 29 días antes de 'to'") @RequestParam(required = false) String from,
+            @Parameter(description = "Último día del rango (yyyy-MM-dd, UTC). Por defecto, hoy") @RequestParam(required = false) String to) {
+        var stats = operationsStatsService.getStats(from, to);
+        return new ResponseEntity<>(stats, HttpStatus.OK);
+    }
+}
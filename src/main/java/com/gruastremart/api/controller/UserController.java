@@ -47,6 +47,11 @@ public class UserController {
     @Parameters({
             @Parameter(name = "page", description = "Número de página", required = true),
             @Parameter(name = "size", description = "Tamaño de la página", required = true),
+            @Parameter(
+                    name = "count",
+                    description = "Modo de cálculo del total: EXACT (por defecto), ESTIMATED (aproximado) o NONE (solo indica si hay página siguiente)",
+                    schema = @Schema(allowableValues = {"EXACT", "ESTIMATED", "NONE"})
+            ),
             @Parameter(name = "email", description = "Filtrar por email"),
             @Parameter(name = "supabaseId", description = "Filtrar por supabaseId"),
             @Parameter(
@@ -44,6 +44,11 @@ public class GeneralControllerExceptionHandler {
                 log.error(Arrays.toString(serviceException.getStackTrace()));
                 return new ResponseEntity<>(httpErrorInfoDto, HttpStatus.NOT_FOUND);
             }
+            case 409 -> {
+                httpErrorInfoDto = FormatUtils.httpErrorInfoFormatted(HttpStatus.CONFLICT, request, serviceException);
+                log.error(httpErrorInfoDto.toString());
+                return new ResponseEntity<>(httpErrorInfoDto, HttpStatus.CONFLICT);
+            }
             default -> {
                 httpErrorInfoDto = FormatUtils.httpErrorInfoFormatted(HttpStatus.INTERNAL_SERVER_ERROR, request, serviceException);
                 log.error(httpErrorInfoDto.toString());
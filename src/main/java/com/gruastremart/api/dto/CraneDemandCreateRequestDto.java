@@ -34,6 +34,9 @@ public class CraneDemandCreateRequestDto {
     @Pattern(regexp = "^\\+?[0-9]{10,15}$", message = "Formato de teléfono inválido")
     private String customerPhone;
 
+    // Categoría de peso estimada por el cliente (peso_1, peso_2, peso_3), opcional; la usa el despacho automático
+    private String requestedWeightCategoryId;
+
     private LocationDto currentLocation;
     private LocationDto destinationLocation;
 }
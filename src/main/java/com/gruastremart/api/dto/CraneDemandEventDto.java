@@ -0,0 +1,22 @@
+package com.gruastremart.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Date;
+
+/**
+ * Cambio de estado de una demanda difundido por WebSocket en /topic/crane-demands/{id}
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CraneDemandEventDto {
+    private String craneDemandId;
+    private String state;
+    private String assignedOperatorId;
+    private Date updatedAt;
+}
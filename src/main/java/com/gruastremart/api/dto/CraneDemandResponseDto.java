@@ -36,6 +36,7 @@ public class CraneDemandResponseDto {
     private String customerPhone;
 
     // Pricing information
+    private String requestedWeightCategoryId;
     private String assignedWeightCategoryId;
     
     // Payment information
@@ -0,0 +1,26 @@
+package com.gruastremart.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Recorrido del operador asignado entre la toma de la demanda (takenAt) y su finalización
+ * (completedAt, o el momento actual si sigue en curso)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CraneDemandRouteDto {
+    private String craneDemandId;
+    private String operatorId;
+    private Date from;
+    private Date to;
+    private Double distanceKm;
+    private List<TrackPointDto> points;
+}
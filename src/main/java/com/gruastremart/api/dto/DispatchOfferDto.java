@@ -0,0 +1,23 @@
+package com.gruastremart.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Date;
+
+/**
+ * Oferta de una demanda a un operador concreto, enviada por WebSocket en /topic/operators/{id}/offers.
+ * El operador debe aceptarla o rechazarla antes de expiresAt
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DispatchOfferDto {
+    private String operatorId;
+    private CraneDemandResponseDto craneDemand;
+    private Double distanceKm;
+    private Date expiresAt;
+}
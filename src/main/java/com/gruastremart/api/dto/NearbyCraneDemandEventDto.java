@@ -0,0 +1,18 @@
+package com.gruastremart.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Nueva demanda ACTIVE enviada por WebSocket a un operador cercano en /topic/operators/{id}/demands
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NearbyCraneDemandEventDto {
+    private CraneDemandResponseDto craneDemand;
+    private Double distanceKm;
+}
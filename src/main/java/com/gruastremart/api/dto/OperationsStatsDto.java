@@ -0,0 +1,22 @@
+package com.gruastremart.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OperationsStatsDto {
+    private String day;
+    private Map<String, Long> demandsByState;
+    private Map<String, Long> completedByOperator;
+    private Double averageActiveToTakenMinutes;
+    private Double averageTakenToCompletedMinutes;
+    private Map<String, Long> paymentsByStatus;
+    private Map<String, Double> paymentAmountByStatus;
+}
@@ -0,0 +1,19 @@
+package com.gruastremart.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OperationsStatsResponseDto {
+    private String from;
+    private String to;
+    private OperationsStatsDto totals;
+    private List<OperationsStatsDto> days;
+}
@@ -13,4 +13,5 @@ public class OperatorDto {
     private String id;
     private String userId;
     private String operatorVehiculeType;
+    private String maxWeightCategory;
 }
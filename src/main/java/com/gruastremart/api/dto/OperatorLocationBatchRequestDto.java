@@ -0,0 +1,28 @@
+package com.gruastremart.api.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+import static com.gruastremart.api.utils.constants.Constants.MAX_LOCATION_BATCH_SIZE;
+
+/**
+ * Puntos acumulados por la app mientras no tenía conexión, ordenados del más antiguo al más reciente
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OperatorLocationBatchRequestDto {
+
+    @NotEmpty(message = "Debe enviar al menos un punto")
+    @Size(max = MAX_LOCATION_BATCH_SIZE, message = "No se pueden enviar más de " + MAX_LOCATION_BATCH_SIZE + " puntos por lote")
+    private List<@Valid @NotNull OperatorLocationPointDto> points;
+}
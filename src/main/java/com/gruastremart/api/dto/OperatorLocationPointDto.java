@@ -0,0 +1,37 @@
+package com.gruastremart.api.dto;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Punto de ubicación registrado por la app del operador en el momento indicado por timestamp.
+ * El timestamp debe incluir la zona horaria (ISO-8601 con offset, p. ej. 2026-01-01T10:00:00-04:00)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OperatorLocationPointDto {
+
+    @NotNull(message = "La latitud es requerida")
+    @DecimalMin(value = "-90.0", message = "La latitud debe estar entre -90 y 90")
+    @DecimalMax(value = "90.0", message = "La latitud debe estar entre -90 y 90")
+    private Double latitude;
+
+    @NotNull(message = "La longitud es requerida")
+    @DecimalMin(value = "-180.0", message = "La longitud debe estar entre -180 y 180")
+    @DecimalMax(value = "180.0", message = "La longitud debe estar entre -180 y 180")
+    private Double longitude;
+
+    @NotNull(message = "La fecha del punto es requerida")
+    private OffsetDateTime timestamp;
+
+    private String status; // ONLINE, OFFLINE, BUSY
+}
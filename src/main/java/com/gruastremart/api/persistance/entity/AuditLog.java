@@ -0,0 +1,35 @@
+package com.gruastremart.api.persistance.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+@Document(collection = "audit_logs")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AuditLog {
+    @Id
+    private String id;
+    private String action;
+    @Indexed
+    private LocalDateTime timestamp;
+
+    // Usuario que realiza la acción
+    private String userId;
+    private String email;
+    private String role;
+    private String ip;
+    private String userAgent;
+
+    // Datos de la demanda auditada
+    private String currentLocation;
+    private String destinationLocation;
+}
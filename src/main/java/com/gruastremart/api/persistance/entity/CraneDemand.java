@@ -7,12 +7,27 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.index.GeoSpatialIndexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.util.Date;
+import java.util.List;
 
 @Document(collection = "crane_demands")
+@CompoundIndexes({
+        // Un operador solo puede tener una demanda TAKEN a la vez
+        @CompoundIndex(name = "unique_taken_per_operator", def = "{ 'assignedOperatorId': 1 }", unique = true, partialFilter = "{ 'state': 'TAKEN' }"),
+        // Comprobación de demanda activa del usuario y demandas creadas por un usuario
+        @CompoundIndex(name = "createdByUserId_state", def = "{ 'createdByUserId': 1, 'state': 1 }"),
+        // Demandas de un operador por estado (pagos del operador, demanda TAKEN actual)
+        @CompoundIndex(name = "assignedOperatorId_state", def = "{ 'assignedOperatorId': 1, 'state': 1 }"),
+        // Búsqueda filtrada por estado ordenada por fecha
+        @CompoundIndex(name = "state_createdAt", def = "{ 'state': 1, 'createdAt': -1 }"),
+        // Búsqueda sin filtros y paginación por cursor (createdAt, _id)
+        @CompoundIndex(name = "createdAt_id", def = "{ 'createdAt': -1, '_id': -1 }")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -23,6 +38,8 @@ public class CraneDemand {
     private String description;
     private Date createdAt;
     private Date updatedAt;
+    private Date takenAt;
+    private Date completedAt;
     private String state;
     private String createdByUserId;
     private String editedByUserId;
@@ -45,6 +62,7 @@ public class CraneDemand {
     private String customerPhone;
 
     // Pricing information
+    private String requestedWeightCategoryId;
     private String assignedWeightCategoryId;
     
     // Payment information
@@ -59,6 +77,8 @@ public class CraneDemand {
     private String destinationLocationName;
     private Double destinationLocationAccuracy;
 
+    public static final List<String> ACTIVE_OR_TAKEN_STATES = List.of(CraneDemandStateEnum.ACTIVE.name(), CraneDemandStateEnum.TAKEN.name());
+
     public boolean isActiveOrTaken() {
         return this.getState().equals(CraneDemandStateEnum.ACTIVE.name()) || this.getState().equals(CraneDemandStateEnum.TAKEN.name());
     }
@@ -0,0 +1,41 @@
+package com.gruastremart.api.persistance.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.Date;
+
+@Document(collection = "email_outbox")
+@CompoundIndex(name = "status_nextAttemptAt", def = "{ 'status': 1, 'nextAttemptAt': 1 }")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EmailOutbox {
+    @Id
+    private String id;
+
+    // Clave de negocio que evita encolar dos veces el mismo correo
+    @Indexed(unique = true)
+    private String dedupeKey;
+
+    private String recipient;
+    private String subject;
+    private String body;
+
+    // Estado de entrega: PENDING, PROCESSING, SENT, FAILED
+    private String status;
+    private Integer attempts;
+    private Date nextAttemptAt;
+    private Date lockedAt;
+    private String lastError;
+
+    private Date createdAt;
+    private Date sentAt;
+}
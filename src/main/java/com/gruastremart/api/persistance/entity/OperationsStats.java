@@ -0,0 +1,44 @@
+package com.gruastremart.api.persistance.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.Date;
+import java.util.Map;
+
+/**
+ * Contadores diarios de operación, uno por día (UTC) con id yyyy-MM-dd.
+ * Se actualizan con $inc en cada transición de demandas y pagos, por lo que
+ * cada contador cuenta los eventos ocurridos ese día (p. ej. demandas que pasaron a COMPLETED)
+ */
+@Document(collection = "operations_stats")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OperationsStats {
+    @Id
+    private String id;
+    private Date day;
+    private Date updatedAt;
+
+    // Demandas que entraron en cada estado
+    private Map<String, Long> demandsByState;
+    // Demandas completadas por operador
+    private Map<String, Long> completedByOperator;
+
+    // Tiempos acumulados para calcular medias (suma en milisegundos y número de muestras)
+    private Long activeToTakenCount;
+    private Long activeToTakenMillis;
+    private Long takenToCompletedCount;
+    private Long takenToCompletedMillis;
+
+    // Saldo del día de pagos (y de sus montos) por estado: un cambio de estado resta del anterior y suma al nuevo,
+    // así que un día puede quedar en negativo; la suma de un rango da los pagos en cada estado
+    private Map<String, Long> paymentsByStatus;
+    private Map<String, Double> paymentAmountByStatus;
+}
@@ -1,11 +1,13 @@
 package com.gruastremart.api.persistance.entity;
 
 import com.gruastremart.api.utils.enums.OperatorVehiculeTypeEnum;
+import com.gruastremart.api.utils.enums.WeightCategoryEnum;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 @Document(collection = "operators")
@@ -16,6 +18,9 @@ import org.springframework.data.mongodb.core.mapping.Document;
 public class Operator {
     @Id
     private String id;
+    @Indexed
     private String userId;
     private OperatorVehiculeTypeEnum operatorVehiculeType;
+    // Categoría de peso máxima que puede remolcar la grúa; null si no se conoce
+    private WeightCategoryEnum maxWeightCategory;
 }
@@ -0,0 +1,39 @@
+package com.gruastremart.api.persistance.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.TimeSeries;
+import org.springframework.data.mongodb.core.timeseries.Granularity;
+
+import java.util.Date;
+
+import static com.gruastremart.api.utils.constants.Constants.OPERATOR_TRACKS_COLLECTION;
+
+/**
+ * Tramo del recorrido GPS de un operador dentro de una ventana de OPERATOR_TRACK_BUCKET_MINUTES minutos,
+ * en una colección time-series. El primer punto se guarda en absoluto (microgrados y bucketStart) y el resto
+ * como deltas con codificación zigzag + varint en {@code deltas}, ver {@link com.gruastremart.api.utils.tools.TrackCodec}
+ */
+@Document(collection = OPERATOR_TRACKS_COLLECTION)
+@TimeSeries(timeField = "bucketStart", metaField = "operatorId", granularity = Granularity.MINUTES)
+// Recorrido de un operador en un intervalo de tiempo
+@CompoundIndex(name = "operatorId_bucketStart", def = "{ 'operatorId': 1, 'bucketStart': 1 }")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OperatorTrack {
+    @Id
+    private String id;
+    private String operatorId;
+    private Date bucketStart;
+    private int pointCount;
+    private int firstLatitudeE6;
+    private int firstLongitudeE6;
+    private byte[] deltas;
+}
@@ -5,11 +5,20 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.util.Date;
 
 @Document(collection = "payments")
+@CompoundIndexes({
+        // Historial por usuario y comprobación de pago pre-servicio pendiente
+        @CompoundIndex(name = "userId_status_paymentType", def = "{ 'userId': 1, 'status': 1, 'paymentType': 1 }"),
+        // Listado de administración por estado (y tipo)
+        @CompoundIndex(name = "status_paymentType", def = "{ 'status': 1, 'paymentType': 1 }")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -19,6 +28,7 @@ public class Payment {
     private String id;
     
     // Relación con la demanda de grúa (nullable para pagos pre-servicio)
+    @Indexed
     private String demandId;
 
     // Tipo de pago: PRE_SERVICE o POST_SERVICE
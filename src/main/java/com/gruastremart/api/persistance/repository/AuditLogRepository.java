@@ -0,0 +1,9 @@
+package com.gruastremart.api.persistance.repository;
+
+import com.gruastremart.api.persistance.entity.AuditLog;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface AuditLogRepository extends MongoRepository<AuditLog, String> {
+}
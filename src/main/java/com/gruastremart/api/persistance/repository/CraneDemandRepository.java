@@ -1,24 +1,38 @@
 package com.gruastremart.api.persistance.repository;
 
 import com.gruastremart.api.persistance.entity.CraneDemand;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface CraneDemandRepository extends MongoRepository<CraneDemand, String> {
-    List<CraneDemand> findByCreatedByUserId(String id);
+    /**
+     * Comprueba si el usuario tiene alguna demanda en los estados indicados (índice createdByUserId + state)
+     */
+    boolean existsByCreatedByUserIdAndStateIn(String createdByUserId, Collection<String> states);
+
+    /**
+     * Comprueba si el usuario creó una demanda en el estado indicado asignada al operador
+     */
+    boolean existsByCreatedByUserIdAndAssignedOperatorIdAndState(String createdByUserId, String assignedOperatorId, String state);
 
     @Query("{ 'assignedOperatorId': ?0, 'state': 'TAKEN' }")
     Optional<CraneDemand> hasOperatorAssignedAndIsTaken(String operatorId);
 
     /**
-     * Busca demandas asignadas a un operador con un estado específico
+     * Demandas TAKEN de cualquiera de los operadores indicados, solo con assignedOperatorId
+     */
+    @Query(value = "{ 'assignedOperatorId': { $in: ?0 }, 'state': 'TAKEN' }", fields = "{ 'assignedOperatorId': 1 }")
+    List<CraneDemand> findTakenByAssignedOperatorIdIn(Collection<String> operatorIds);
+
+    /**
+     * Carga en una sola consulta el origen y el tipo de vehículo de varias demandas
      */
-    Page<CraneDemand> findByAssignedOperatorIdAndState(String operatorId, String state, Pageable pageable);
+    @Query(value = "{ '_id': { $in: ?0 } }", fields = "{ 'origin': 1, 'carType': 1 }")
+    List<CraneDemand> findOriginAndCarTypeByIdIn(Collection<String> ids);
 }
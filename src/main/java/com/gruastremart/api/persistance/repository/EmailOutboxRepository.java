@@ -0,0 +1,9 @@
+package com.gruastremart.api.persistance.repository;
+
+import com.gruastremart.api.persistance.entity.EmailOutbox;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface EmailOutboxRepository extends MongoRepository<EmailOutbox, String> {
+}
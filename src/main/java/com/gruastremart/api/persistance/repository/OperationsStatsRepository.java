@@ -0,0 +1,16 @@
+package com.gruastremart.api.persistance.repository;
+
+import com.gruastremart.api.persistance.entity.OperationsStats;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface OperationsStatsRepository extends MongoRepository<OperationsStats, String> {
+
+    // El id es la fecha yyyy-MM-dd, así que el orden lexicográfico coincide con el cronológico
+    @Query(value = "{ '_id': { $gte: ?0, $lte: ?1 } }", sort = "{ '_id': 1 }")
+    List<OperationsStats> findDaysBetween(String fromDay, String toDay);
+}
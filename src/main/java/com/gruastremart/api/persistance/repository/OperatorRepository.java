@@ -5,6 +5,8 @@ import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -12,4 +14,7 @@ public interface OperatorRepository extends MongoRepository<Operator, String> {
 
     @Query("{ 'userId' : ?0 }")
     Optional<Operator> findByUserId(String userId);
+
+    @Query(value = "{ 'userId' : { $in: ?0 } }", fields = "{ 'userId' : 1, 'maxWeightCategory' : 1 }")
+    List<Operator> findCapacitiesByUserIdIn(Collection<String> userIds);
 }
@@ -6,7 +6,6 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
-import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -37,11 +36,6 @@ public interface PaymentRepository extends MongoRepository<Payment, String> {
      */
     Page<Payment> findByUserIdAndStatus(String userId, String status, Pageable pageable);
 
-    /**
-     * Buscar pagos por lista de IDs de demanda
-     */
-    List<Payment> findByDemandIdIn(List<String> demandIds);
-
     /**
      * Verificar si existe un pago para una demanda
      */
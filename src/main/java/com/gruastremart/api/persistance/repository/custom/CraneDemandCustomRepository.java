@@ -1,26 +1,36 @@
 package com.gruastremart.api.persistance.repository.custom;
 
+import com.gruastremart.api.dto.CursorPageDto;
 import com.gruastremart.api.persistance.entity.CraneDemand;
+import com.gruastremart.api.utils.enums.CountModeEnum;
 import com.gruastremart.api.utils.enums.CraneDemandStateEnum;
+import com.gruastremart.api.utils.tools.CursorUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.geo.Distance;
 import org.springframework.data.geo.Metrics;
 import org.springframework.data.geo.Point;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Repository;
 import org.springframework.util.MultiValueMap;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.util.Date;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static com.gruastremart.api.persistance.repository.custom.PagedQueryExecutor.COUNT_PARAM;
 
 @RequiredArgsConstructor
 @Repository
@@ -31,16 +41,127 @@ public class CraneDemandCustomRepository {
     public static final double DEFAULT_LATITUDE_VALUE = 0.0;
     public static final double DEFAULT_LONGITUDE_VALUE = 0.0;
     public static final double DEFAULT_RADIO_VALUE_IN_KM = 5.0;
+    public static final int EXPORT_CURSOR_BATCH_SIZE = 500;
     private final MongoTemplate mongoTemplate;
+    private final PagedQueryExecutor pagedQueryExecutor;
 
     public Page<CraneDemand> getWithFilters(MultiValueMap<String, String> params) {
 
         var page = params.containsKey("page") ? Integer.parseInt(Objects.requireNonNull(params.getFirst("page"))) : DEFAULT_PAGE_VALUE;
         var size = params.containsKey("size") ? Integer.parseInt(Objects.requireNonNull(params.getFirst("size"))) : DEFAULT_SIZE_VALUE;
+        var pageable = Pageable.ofSize(size).withPage(page);
+
+        var query = buildFilterQuery(params);
+        query.with(Sort.by(Sort.Direction.DESC, "createdAt"));
+
+        return pagedQueryExecutor.find(query, pageable, CraneDemand.class, CountModeEnum.fromParam(params.getFirst(COUNT_PARAM)));
+    }
+
+    /**
+     * Paginación por cursor (keyset) ordenada por createdAt DESC, _id DESC.
+     * En lugar de saltar documentos, filtra a partir de la última demanda de la página anterior,
+     * por lo que el coste de cada página no depende de su profundidad.
+     */
+    public CursorPageDto<CraneDemand> getWithFiltersByCursor(MultiValueMap<String, String> params) {
+        var size = params.containsKey("size") ? Integer.parseInt(Objects.requireNonNull(params.getFirst("size"))) : DEFAULT_SIZE_VALUE;
+        var cursor = CursorUtil.decode(params.getFirst("cursor"));
+
+        var query = buildFilterQuery(params);
+        cursor.ifPresent(position -> query.addCriteria(afterCursor(position)));
+        query.with(Sort.by(Sort.Direction.DESC, "createdAt").and(Sort.by(Sort.Direction.DESC, "_id")));
+        query.limit(size + 1);
+
+        var demands = mongoTemplate.find(query, CraneDemand.class);
+        var hasNext = demands.size() > size;
+        var content = hasNext ? demands.subList(0, size) : demands;
+        var nextCursor = hasNext ? CursorUtil.encode(content.getLast().getCreatedAt(), content.getLast().getId()) : null;
+
+        return new CursorPageDto<>(content, size, hasNext, nextCursor);
+    }
+
+    /**
+     * Demandas posteriores al cursor en el orden createdAt DESC, _id DESC. Las demandas antiguas sin createdAt
+     * quedan al final de ese orden (null es menor que cualquier fecha), así que se recorren después de las fechadas
+     */
+    private static Criteria afterCursor(CursorUtil.Position position) {
+        if (position.createdAt() == null) {
+            return Criteria.where("createdAt").is(null).and("_id").lt(new ObjectId(position.id()));
+        }
+        return new Criteria().orOperator(
+                Criteria.where("createdAt").lt(position.createdAt()),
+                Criteria.where("createdAt").is(position.createdAt()).and("_id").lt(new ObjectId(position.id())),
+                Criteria.where("createdAt").is(null));
+    }
+
+    /**
+     * Consulta de exportación: mismos filtros que la búsqueda paginada, ordenada por createdAt DESC, _id DESC
+     */
+    public Query buildExportQuery(MultiValueMap<String, String> params) {
+        var query = buildFilterQuery(params);
+        query.with(Sort.by(Sort.Direction.DESC, "createdAt").and(Sort.by(Sort.Direction.DESC, "_id")));
+        query.cursorBatchSize(EXPORT_CURSOR_BATCH_SIZE);
+        return query;
+    }
+
+    /**
+     * Recorre el resultado con un cursor de Mongo sin cargarlo entero en memoria.
+     * El Stream mantiene el cursor abierto y debe cerrarse al terminar (try-with-resources)
+     */
+    public Stream<CraneDemand> stream(Query query) {
+        return mongoTemplate.stream(query, CraneDemand.class);
+    }
+
+    /**
+     * Asigna la demanda al operador solo si sigue ACTIVE, de forma atómica (compare-and-set).
+     * Devuelve vacío si otra petición la asignó antes o si no existe
+     */
+    public Optional<CraneDemand> assignIfActive(String craneDemandId, String operatorId, String weightCategoryId) {
+        var query = transitionQuery(craneDemandId, CraneDemandStateEnum.TAKEN);
+        var now = new Date();
+        var update = new Update()
+                .set("state", CraneDemandStateEnum.TAKEN.name())
+                .set("assignedOperatorId", operatorId)
+                .set("editedByUserId", operatorId)
+                .set("assignedWeightCategoryId", weightCategoryId)
+                .set("takenAt", now)
+                .set("updatedAt", now);
+
+        return Optional.ofNullable(mongoTemplate.findAndModify(query, update, FindAndModifyOptions.options().returnNew(true), CraneDemand.class));
+    }
+
+    /**
+     * Cambia el estado con un $set sobre state y updatedAt (y completedAt al completar), sin reescribir el documento.
+     * El filtro exige que el estado actual sea uno de los permitidos para el estado destino;
+     * devuelve vacío si la demanda no existe o no está en un estado de origen válido.
+     * Solo se devuelven los campos que necesitan las estadísticas de operación y el evento en tiempo real
+     */
+    public Optional<CraneDemand> transitionState(String craneDemandId, CraneDemandStateEnum target) {
+        var now = new Date();
+        var update = new Update()
+                .set("state", target.name())
+                .set("updatedAt", now);
+        if (target == CraneDemandStateEnum.COMPLETED) {
+            update.set("completedAt", now);
+        }
+
+        var query = transitionQuery(craneDemandId, target);
+        query.fields().include("state", "assignedOperatorId", "createdAt", "updatedAt", "takenAt", "completedAt");
+
+        return Optional.ofNullable(mongoTemplate.findAndModify(query, update, FindAndModifyOptions.options().returnNew(true), CraneDemand.class));
+    }
+
+    private Query transitionQuery(String craneDemandId, CraneDemandStateEnum target) {
+        var allowedSources = target.allowedSources().stream().map(Enum::name).toList();
+        return Query.query(Criteria.where("_id").is(craneDemandId).and("state").in(allowedSources));
+    }
+
+    /**
+     * Construye la consulta con los filtros de búsqueda, sin ordenación ni paginación
+     */
+    public Query buildFilterQuery(MultiValueMap<String, String> params) {
         var lat = params.containsKey("lat") ? Double.parseDouble(Objects.requireNonNull(params.getFirst("lat"))) : DEFAULT_LATITUDE_VALUE;
         var lng = params.containsKey("lng") ? Double.parseDouble(Objects.requireNonNull(params.getFirst("lng"))) : DEFAULT_LONGITUDE_VALUE;
         var radio = params.containsKey("radio") ? Double.parseDouble(Objects.requireNonNull(params.getFirst("radio"))) : DEFAULT_RADIO_VALUE_IN_KM;
-        var pageable = Pageable.ofSize(size).withPage(page);
 
         var query = new Query();
         if (params.containsKey("state")) {
@@ -92,13 +213,7 @@ public class CraneDemandCustomRepository {
             }
         }
 
-        query.with(Sort.by(Sort.Direction.DESC, "createdAt"));
-        query.with(pageable);
-
-        var demands = mongoTemplate.find(query, CraneDemand.class);
-        var count = mongoTemplate.count(query.skip(DEFAULT_PAGE_VALUE).limit(DEFAULT_PAGE_VALUE), CraneDemand.class);
-
-        return new PageImpl<>(demands, pageable, count);
+        return query;
     }
 }
 
@@ -2,13 +2,12 @@ package com.gruastremart.api.persistance.repository.custom;
 
 import com.gruastremart.api.exception.ServiceException;
 import com.gruastremart.api.persistance.entity.CranePricing;
+import com.gruastremart.api.utils.enums.CountModeEnum;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
-import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Repository;
@@ -16,6 +15,8 @@ import org.springframework.util.MultiValueMap;
 
 import java.util.Objects;
 
+import static com.gruastremart.api.persistance.repository.custom.PagedQueryExecutor.COUNT_PARAM;
+
 @RequiredArgsConstructor
 @Repository
 @Slf4j
@@ -23,7 +24,7 @@ public class CranePricingCustomRepository {
     public static final int DEFAULT_PAGE_VALUE = 0;
     public static final int DEFAULT_SIZE_VALUE = 10;
 
-    private final MongoTemplate mongoTemplate;
+    private final PagedQueryExecutor pagedQueryExecutor;
 
     public Page<CranePricing> getWithFilters(MultiValueMap<String, String> params) {
         var page = params.containsKey("page") ? Integer.parseInt(Objects.requireNonNull(params.getFirst("page"))) : DEFAULT_PAGE_VALUE;
@@ -40,12 +41,8 @@ public class CranePricingCustomRepository {
         applyExtraUrbanBasePriceFilter(query, params);
 
         query.with(Sort.by(Sort.Direction.DESC, "createdAt"));
-        query.with(pageable);
-
-        var pricingList = mongoTemplate.find(query, CranePricing.class);
-        var count = mongoTemplate.count(query.skip(DEFAULT_PAGE_VALUE).limit(DEFAULT_PAGE_VALUE), CranePricing.class);
 
-        return new PageImpl<>(pricingList, pageable, count);
+        return pagedQueryExecutor.find(query, pageable, CranePricing.class, CountModeEnum.fromParam(params.getFirst(COUNT_PARAM)));
     }
 
     private void applyActiveFilter(Query query, MultiValueMap<String, String> params) {
@@ -0,0 +1,32 @@
+package com.gruastremart.api.persistance.repository.custom;
+
+import com.gruastremart.api.persistance.entity.OperationsStats;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Date;
+
+@RequiredArgsConstructor
+@Repository
+public class OperationsStatsCustomRepository {
+
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * Aplica los $inc indicados sobre el documento del día, creándolo si no existe (upsert).
+     * Es una única operación atómica en el servidor, sin leer el documento
+     */
+    public void increment(LocalDate day, Update increments) {
+        increments
+                .setOnInsert("day", Date.from(day.atStartOfDay(ZoneOffset.UTC).toInstant()))
+                .set("updatedAt", new Date());
+
+        mongoTemplate.upsert(Query.query(Criteria.where("_id").is(day.toString())), increments, OperationsStats.class);
+    }
+}
@@ -0,0 +1,53 @@
+package com.gruastremart.api.persistance.repository.custom;
+
+import com.gruastremart.api.persistance.entity.OperatorTrack;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+
+import static com.gruastremart.api.utils.constants.Constants.OPERATOR_TRACK_BUCKET_MINUTES;
+
+@RequiredArgsConstructor
+@Repository
+public class OperatorTrackCustomRepository {
+
+    private static final Duration BUCKET_SPAN = Duration.ofMinutes(OPERATOR_TRACK_BUCKET_MINUTES);
+
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * Inserta los tramos en una sola operación no ordenada, así que un tramo rechazado no impide insertar el resto.
+     * Devuelve los tramos que no se pudieron insertar
+     */
+    public List<OperatorTrack> insertAll(List<OperatorTrack> tracks) {
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, OperatorTrack.class).insert(tracks).execute();
+            return List.of();
+        } catch (BulkOperationException e) {
+            return e.getErrors().stream()
+                    .map(error -> tracks.get(error.getIndex()))
+                    .toList();
+        }
+    }
+
+    /**
+     * Tramos del operador que pueden contener puntos en [from, to]. Un tramo nunca abarca más de
+     * OPERATOR_TRACK_BUCKET_MINUTES, así que basta con ampliar el inicio del rango en esa ventana
+     */
+    public List<OperatorTrack> findOverlapping(String operatorId, Instant from, Instant to) {
+        var query = Query.query(Criteria.where("operatorId").is(operatorId)
+                        .and("bucketStart").gte(Date.from(from.minus(BUCKET_SPAN))).lte(Date.from(to)))
+                .with(Sort.by(Sort.Direction.ASC, "bucketStart"));
+        return mongoTemplate.find(query, OperatorTrack.class);
+    }
+}
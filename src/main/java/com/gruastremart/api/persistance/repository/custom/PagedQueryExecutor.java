@@ -0,0 +1,81 @@
+package com.gruastremart.api.persistance.repository.custom;
+
+import com.gruastremart.api.utils.enums.CountModeEnum;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+
+import static com.gruastremart.api.utils.constants.Constants.QUERY_COUNT_CACHE;
+
+/**
+ * Ejecuta las consultas paginadas de los repositorios custom resolviendo el total
+ * según el {@link CountModeEnum} pedido, para no lanzar siempre un count() adicional.
+ */
+@Slf4j
+@Component
+public class PagedQueryExecutor {
+
+    public static final String COUNT_PARAM = "count";
+
+    private final MongoTemplate mongoTemplate;
+    private final Cache countCache;
+
+    public PagedQueryExecutor(MongoTemplate mongoTemplate,
+                              @Qualifier("queryCountCacheManager") CacheManager queryCountCacheManager) {
+        this.mongoTemplate = mongoTemplate;
+        this.countCache = Objects.requireNonNull(queryCountCacheManager.getCache(QUERY_COUNT_CACHE));
+    }
+
+    /**
+     * La consulta debe llegar con filtros y ordenación, pero sin paginación
+     */
+    public <T> Page<T> find(Query query, Pageable pageable, Class<T> type, CountModeEnum countMode) {
+        query.with(pageable);
+
+        if (countMode == CountModeEnum.NONE) {
+            return findWithoutCount(query, pageable, type);
+        }
+
+        var content = mongoTemplate.find(query, type);
+        var countQuery = query.skip(0).limit(0);
+        var total = countMode == CountModeEnum.ESTIMATED
+                ? estimatedCount(countQuery, type)
+                : mongoTemplate.count(countQuery, type);
+
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    /**
+     * Pide un elemento de más para saber si hay página siguiente; el total devuelto
+     * es el mínimo que permite al cliente seguir paginando
+     */
+    private <T> Page<T> findWithoutCount(Query query, Pageable pageable, Class<T> type) {
+        query.limit(pageable.getPageSize() + 1);
+
+        var rows = mongoTemplate.find(query, type);
+        var hasNext = rows.size() > pageable.getPageSize();
+        var content = hasNext ? rows.subList(0, pageable.getPageSize()) : rows;
+        var total = pageable.getOffset() + content.size() + (hasNext ? 1 : 0);
+
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    private long estimatedCount(Query countQuery, Class<?> type) {
+        if (countQuery.getQueryObject().isEmpty()) {
+            return mongoTemplate.estimatedCount(type);
+        }
+
+        var key = mongoTemplate.getCollectionName(type) + ":" + countQuery.getQueryObject();
+        Long count = countCache.get(key, () -> mongoTemplate.count(countQuery, type));
+        return count != null ? count : 0L;
+    }
+}
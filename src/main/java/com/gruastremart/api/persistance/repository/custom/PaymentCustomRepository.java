@@ -0,0 +1,73 @@
+package com.gruastremart.api.persistance.repository.custom;
+
+import com.gruastremart.api.persistance.entity.CraneDemand;
+import com.gruastremart.api.persistance.entity.Payment;
+import com.gruastremart.api.utils.enums.CraneDemandStateEnum;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.ConvertOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@RequiredArgsConstructor
+@Repository
+@Slf4j
+public class PaymentCustomRepository {
+    private static final String PAYMENT_FIELD = "payment";
+    private static final String CONTENT_FACET = "content";
+    private static final String TOTAL_FACET = "total";
+
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * Pagos de las demandas COMPLETED de un operador, filtrados y paginados en una sola agregación:
+     * demandas del operador → $lookup de pagos → filtro por estado → $facet con la página y el total
+     */
+    public Page<Payment> findOperatorPayments(String operatorId, String status, Pageable pageable) {
+        List<AggregationOperation> pipeline = new ArrayList<>();
+        pipeline.add(Aggregation.match(Criteria.where("assignedOperatorId").is(operatorId)
+                .and("state").is(CraneDemandStateEnum.COMPLETED.name())));
+        pipeline.add(Aggregation.project("_id"));
+        // Los pagos guardan el id de la demanda como String
+        pipeline.add(Aggregation.addFields()
+                .addField("demandId").withValue(ConvertOperators.valueOf("_id").convertToString())
+                .build());
+        pipeline.add(Aggregation.lookup(mongoTemplate.getCollectionName(Payment.class), "demandId", "demandId", PAYMENT_FIELD));
+        pipeline.add(Aggregation.unwind(PAYMENT_FIELD));
+        if (status != null && !status.isEmpty()) {
+            pipeline.add(Aggregation.match(Criteria.where(PAYMENT_FIELD + ".status").is(status)));
+        }
+        pipeline.add(Aggregation.sort(Sort.Direction.DESC, PAYMENT_FIELD + ".createdAt"));
+        pipeline.add(Aggregation.facet(
+                        Aggregation.skip(pageable.getOffset()),
+                        Aggregation.limit(pageable.getPageSize()),
+                        Aggregation.replaceRoot(PAYMENT_FIELD)).as(CONTENT_FACET)
+                .and(Aggregation.count().as(TOTAL_FACET)).as(TOTAL_FACET));
+
+        var result = mongoTemplate.aggregate(Aggregation.newAggregation(pipeline), mongoTemplate.getCollectionName(CraneDemand.class), Document.class)
+                .getUniqueMappedResult();
+
+        if (result == null) {
+            return new PageImpl<>(List.of(), pageable, 0);
+        }
+
+        var payments = result.getList(CONTENT_FACET, Document.class, List.of()).stream()
+                .map(document -> mongoTemplate.getConverter().read(Payment.class, document))
+                .toList();
+        var totals = result.getList(TOTAL_FACET, Document.class, List.of());
+        long total = totals.isEmpty() ? 0 : ((Number) totals.getFirst().get(TOTAL_FACET)).longValue();
+
+        return new PageImpl<>(payments, pageable, total);
+    }
+}
@@ -1,24 +1,24 @@
 package com.gruastremart.api.persistance.repository.custom;
 
 import com.gruastremart.api.persistance.entity.User;
+import com.gruastremart.api.utils.enums.CountModeEnum;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Repository;
 import org.springframework.util.MultiValueMap;
 
-import java.util.List;
 import java.util.Objects;
 import java.util.regex.Pattern;
 
+import static com.gruastremart.api.persistance.repository.custom.PagedQueryExecutor.COUNT_PARAM;
+
 @RequiredArgsConstructor
 @Repository
 public class UserCustomRepository {
-    private final MongoTemplate mongoTemplate;
+    private final PagedQueryExecutor pagedQueryExecutor;
 
     public Page<User> getWithFilters(MultiValueMap<String, String> params) {
 
@@ -43,11 +43,6 @@ public class UserCustomRepository {
             query.addCriteria(Criteria.where("active").is(active));
         }
 
-        query.with(pageable);
-
-        List<User> accounts = mongoTemplate.find(query, User.class);
-        long count = mongoTemplate.count(query.skip(0).limit(0), User.class);
-
-        return new PageImpl<>(accounts, pageable, count);
+        return pagedQueryExecutor.find(query, pageable, User.class, CountModeEnum.fromParam(params.getFirst(COUNT_PARAM)));
     }
 }
@@ -3,7 +3,10 @@ package com.gruastremart.api.service;
 import com.gruastremart.api.dto.AssignCraneDemandDto;
 import com.gruastremart.api.dto.CraneDemandCreateRequestDto;
 import com.gruastremart.api.dto.CraneDemandResponseDto;
+import com.gruastremart.api.dto.CraneDemandRouteDto;
+import com.gruastremart.api.dto.CursorPageDto;
 import com.gruastremart.api.dto.OperatorLocationRequestDto;
+import com.gruastremart.api.dto.TrackPointDto;
 import com.gruastremart.api.exception.ServiceException;
 import com.gruastremart.api.mapper.CraneDemandMapper;
 import com.gruastremart.api.persistance.entity.CraneDemand;
@@ -11,21 +14,34 @@ import com.gruastremart.api.persistance.entity.User;
 import com.gruastremart.api.persistance.repository.CraneDemandRepository;
 import com.gruastremart.api.persistance.repository.UserRepository;
 import com.gruastremart.api.persistance.repository.custom.CraneDemandCustomRepository;
+import com.gruastremart.api.service.dispatch.DispatchEngine;
+import com.gruastremart.api.service.email.EmailOutboxService;
+import com.gruastremart.api.service.location.OperatorTrackStore;
+import com.gruastremart.api.service.realtime.RealtimeEventPublisher;
+import com.gruastremart.api.service.stats.OperationsStatsService;
 import com.gruastremart.api.utils.enums.CraneDemandStateEnum;
+import com.gruastremart.api.utils.tools.GeoUtils;
 import com.gruastremart.api.utils.tools.PaginationUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.util.MultiValueMap;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.Instant;
 import java.util.Date;
 import java.util.Objects;
 import java.util.Optional;
 
+import static com.gruastremart.api.persistance.repository.custom.CraneDemandCustomRepository.DEFAULT_PAGE_VALUE;
+import static com.gruastremart.api.persistance.repository.custom.CraneDemandCustomRepository.DEFAULT_RADIO_VALUE_IN_KM;
+import static com.gruastremart.api.service.OperatorService.MAX_NEARBY_OPERATORS;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
@@ -34,8 +50,12 @@ public class CraneDemandService {
     private final CraneDemandRepository craneDemandRepository;
     private final CraneDemandCustomRepository craneDemandCustomRepository;
     private final UserRepository userRepository;
-    private final EmailService emailService;
+    private final EmailOutboxService emailOutboxService;
     private final OperatorService operatorService;
+    private final OperationsStatsService operationsStatsService;
+    private final RealtimeEventPublisher realtimeEventPublisher;
+    private final DispatchEngine dispatchEngine;
+    private final OperatorTrackStore operatorTrackStore;
 
     public Page<CraneDemandResponseDto> findWithFilters(MultiValueMap<String, String> params) {
         if (PaginationUtil.isValidPagination(params.getFirst("page"), params.getFirst("size"))) {
@@ -51,6 +71,24 @@ public class CraneDemandService {
         return new PageImpl<>(list.getContent().stream().map(CraneDemandMapper.MAPPER::mapToDto).toList(), pageable, list.getTotalElements());
     }
 
+    /**
+     * Búsqueda paginada por cursor: el cliente envía el nextCursor de la página anterior
+     * (vacío para la primera) y no necesita número de página
+     */
+    public CursorPageDto<CraneDemandResponseDto> findWithFiltersByCursor(MultiValueMap<String, String> params) {
+        if (PaginationUtil.isValidPagination(String.valueOf(DEFAULT_PAGE_VALUE), params.getFirst("size"))) {
+            throw new ServiceException("Invalid pagination parameters", HttpStatus.BAD_REQUEST.value());
+        }
+
+        var cursorPage = craneDemandCustomRepository.getWithFiltersByCursor(params);
+
+        return new CursorPageDto<>(
+                cursorPage.getContent().stream().map(CraneDemandMapper.MAPPER::mapToDto).toList(),
+                cursorPage.getSize(),
+                cursorPage.isHasNext(),
+                cursorPage.getNextCursor());
+    }
+
     public CraneDemandResponseDto getCraneDemandById(String craneDemandId) {
         var craneDemand = craneDemandRepository.findById(craneDemandId);
         if (craneDemand.isEmpty()) {
@@ -61,6 +99,62 @@ public class CraneDemandService {
         return CraneDemandMapper.MAPPER.mapToDto(craneDemand.get());
     }
 
+    /**
+     * Suscribe al cliente a la localización del operador asignado a la demanda.
+     * Solo el cliente que creó la demanda y mientras está TAKEN, igual que el topic /location por WebSocket
+     */
+    public SseEmitter streamAssignedOperatorLocation(String craneDemandId, String requestingUserEmail) {
+        var craneDemand = getCreaneDemandById(craneDemandId);
+        var requestingUser = userRepository.findByEmail(requestingUserEmail)
+                .orElseThrow(() -> new ServiceException("User not found", HttpStatus.NOT_FOUND.value()));
+        if (!requestingUser.getId().equals(craneDemand.getCreatedByUserId())) {
+            throw new ServiceException("Only the customer who created the crane demand can follow its operator", HttpStatus.FORBIDDEN.value());
+        }
+        if (craneDemand.getAssignedOperatorId() == null || !CraneDemandStateEnum.TAKEN.name().equals(craneDemand.getState())) {
+            throw new ServiceException("Crane demand has no assigned operator", HttpStatus.BAD_REQUEST.value());
+        }
+
+        return operatorService.streamOperatorLocation(craneDemand.getAssignedOperatorId());
+    }
+
+    /**
+     * Recorrido del operador asignado desde que tomó la demanda hasta que se completó (o hasta ahora si sigue en curso)
+     */
+    public CraneDemandRouteDto getCraneDemandRoute(String craneDemandId) {
+        var craneDemand = getCreaneDemandById(craneDemandId);
+        if (craneDemand.getAssignedOperatorId() == null || craneDemand.getTakenAt() == null) {
+            throw new ServiceException("Crane demand has no assigned operator", HttpStatus.BAD_REQUEST.value());
+        }
+
+        var from = craneDemand.getTakenAt().toInstant();
+        var to = craneDemand.getCompletedAt() != null ? craneDemand.getCompletedAt().toInstant() : Instant.now();
+        var track = operatorTrackStore.findTrack(craneDemand.getAssignedOperatorId(), from, to);
+
+        var distanceKm = 0.0;
+        for (int i = 1; i < track.size(); i++) {
+            var previous = track.get(i - 1);
+            var current = track.get(i);
+            distanceKm += GeoUtils.haversineKm(previous.latitude(), previous.longitude(), current.latitude(), current.longitude());
+        }
+
+        var points = track.stream()
+                .map(point -> TrackPointDto.builder()
+                        .latitude(point.latitude())
+                        .longitude(point.longitude())
+                        .timestamp(new Date(point.epochMillis()))
+                        .build())
+                .toList();
+
+        return CraneDemandRouteDto.builder()
+                .craneDemandId(craneDemandId)
+                .operatorId(craneDemand.getAssignedOperatorId())
+                .from(Date.from(from))
+                .to(Date.from(to))
+                .distanceKm(distanceKm)
+                .points(points)
+                .build();
+    }
+
     public CraneDemandResponseDto createCraneDemand(CraneDemandCreateRequestDto dto, String email) {
         var user = getUserByEmail(email);
 
@@ -68,6 +162,9 @@ public class CraneDemandService {
 
         var craneDemand = buildCraneDemandEntityForSave(dto, user.getId());
         var saved = craneDemandRepository.save(craneDemand);
+        operationsStatsService.recordDemandCreated();
+        notifyNearbyOperators(saved);
+        dispatchEngine.submit(saved);
 
         return CraneDemandMapper.MAPPER.mapToDto(saved);
     }
@@ -95,15 +192,45 @@ public class CraneDemandService {
 
         // Guardar en DB
         CraneDemand saved = craneDemandRepository.save(craneDemand);
+        operationsStatsService.recordDemandCreated();
+        notifyNearbyOperators(saved);
+        dispatchEngine.submit(saved);
 
         log.info("Demanda creada exitosamente desde pago: {} con ID: {}", paymentId, saved.getId());
 
         return saved;
     }
 
+    /**
+     * Envía la nueva demanda por WebSocket a los operadores en línea dentro del radio por defecto de búsqueda,
+     * calculados con el índice de localizaciones en memoria: una sola búsqueda por demanda en lugar de
+     * una consulta $nearSphere por operador en cada polling. Un fallo aquí no impide crear la demanda
+     */
+    private void notifyNearbyOperators(CraneDemand craneDemand) {
+        var location = craneDemand.getCurrentLocation();
+        if (location == null) {
+            return;
+        }
+
+        try {
+            var operators = operatorService.findNearestOnlineOperators(location.getY(), location.getX(), DEFAULT_RADIO_VALUE_IN_KM, MAX_NEARBY_OPERATORS);
+            if (!operators.isEmpty()) {
+                realtimeEventPublisher.publishNewDemandToOperators(CraneDemandMapper.MAPPER.mapToDto(craneDemand), operators);
+            }
+            log.debug("Demanda {} notificada a {} operadores cercanos", craneDemand.getId(), operators.size());
+        } catch (Exception e) {
+            log.warn("No se pudo notificar la demanda {} a los operadores cercanos: {}", craneDemand.getId(), e.getMessage());
+        }
+    }
+
+    private void validateOperatorHasNoTakenDemand(String operatorId) {
+        if (craneDemandRepository.hasOperatorAssignedAndIsTaken(operatorId).isPresent()) {
+            throw new ServiceException("User already has an active or taken crane demand", 400);
+        }
+    }
+
     private void validateUserHasNoActiveDemand(String userId) {
-        var demands = craneDemandRepository.findByCreatedByUserId(userId);
-        if (demands.stream().anyMatch(CraneDemand::isActiveOrTaken)) {
+        if (craneDemandRepository.existsByCreatedByUserIdAndStateIn(userId, CraneDemand.ACTIVE_OR_TAKEN_STATES)) {
             throw new ServiceException("User already has an active or taken crane demand", 400);
         }
     }
@@ -118,24 +245,54 @@ public class CraneDemandService {
 
     public Optional<CraneDemandResponseDto> assignCraneDemand(String craneDemandId, AssignCraneDemandDto assignCraneDemandDto) {
 
-        var craneDemandExistance = craneDemandRepository.hasOperatorAssignedAndIsTaken(assignCraneDemandDto.getUserId());
-        if (craneDemandExistance.isPresent()) {
-            throw new ServiceException("User already has an active or taken crane demand", 400);
-        }
+        validateOperatorHasNoTakenDemand(assignCraneDemandDto.getUserId());
 
-        var craneDemand = getCreaneDemandById(craneDemandId);
         var userThatTakeDemand = getUserById(assignCraneDemandDto.getUserId());
-        var userThatCreateDemand = getUserById(craneDemand.getCreatedByUserId());
-        var updated = updateCraneDemandWithOperatorInformation(craneDemand, userThatTakeDemand, assignCraneDemandDto);
+        var updated = takeCraneDemand(craneDemandId, userThatTakeDemand, assignCraneDemandDto);
+        dispatchEngine.cancel(craneDemandId);
+        operationsStatsService.recordDemandTaken(updated);
+        realtimeEventPublisher.publishDemandChanged(updated);
+        var userThatCreateDemand = getUserById(updated.getCreatedByUserId());
 
         initializeOperatorLocationInCache(userThatTakeDemand, assignCraneDemandDto);
-        sendEmailToUserThatCreateDemand(userThatCreateDemand);
+        sendEmailToUserThatCreateDemand(updated, userThatCreateDemand);
 
         return Optional.of(CraneDemandMapper.MAPPER.mapToDto(updated));
     }
 
-    private void sendEmailToUserThatCreateDemand(User userThatCreateDemand) {
-        emailService.sendResponseOfCraneDemandEmail(userThatCreateDemand.getName(), userThatCreateDemand.getEmail());
+    /**
+     * El operador acepta la oferta del despacho automático: se reserva la oferta y se asigna como una asignación manual.
+     * Si el operador está ocupado o la asignación falla, la oferta pasa al siguiente candidato en lugar de perderse.
+     * Solo se libera la reserva hecha por esta misma llamada: una aceptación duplicada no debe soltar la de otra petición
+     */
+    public Optional<CraneDemandResponseDto> acceptDispatchOffer(String craneDemandId, AssignCraneDemandDto assignCraneDemandDto) {
+        var operatorId = assignCraneDemandDto.getUserId();
+        try {
+            validateOperatorHasNoTakenDemand(operatorId);
+        } catch (ServiceException e) {
+            dispatchEngine.decline(craneDemandId, operatorId);
+            throw e;
+        }
+
+        dispatchEngine.claimOffer(craneDemandId, operatorId);
+        try {
+            return assignCraneDemand(craneDemandId, assignCraneDemandDto);
+        } catch (RuntimeException e) {
+            dispatchEngine.release(craneDemandId, operatorId);
+            throw e;
+        }
+    }
+
+    public void rejectDispatchOffer(String craneDemandId, String operatorId) {
+        dispatchEngine.reject(craneDemandId, operatorId);
+    }
+
+    /**
+     * El correo se entrega de forma asíncrona desde el outbox, fuera de la petición de asignación
+     */
+    private void sendEmailToUserThatCreateDemand(CraneDemand craneDemand, User userThatCreateDemand) {
+        emailOutboxService.enqueueCraneDemandAssignedEmail(craneDemand.getId(), craneDemand.getAssignedOperatorId(),
+                userThatCreateDemand.getName(), userThatCreateDemand.getEmail());
     }
 
     private CraneDemand getCreaneDemandById(String craneDemandId) {
@@ -164,14 +321,20 @@ public class CraneDemandService {
         return user.get();
     }
 
-    private CraneDemand updateCraneDemandWithOperatorInformation(CraneDemand craneDemand, User user, AssignCraneDemandDto assignCraneDemandDto) {
-        craneDemand.setEditedByUserId(user.getId());
-        craneDemand.setAssignedOperatorId(user.getId());
-        craneDemand.setAssignedWeightCategoryId(assignCraneDemandDto.getWeightCategory().getId());
-        craneDemand.setState(CraneDemandStateEnum.TAKEN.name());
-        craneDemand.setUpdatedAt(new Date());
-
-        return craneDemandRepository.save(craneDemand);
+    /**
+     * La asignación es un compare-and-set ACTIVE → TAKEN: si dos operadores compiten solo uno gana,
+     * y el índice único parcial impide que un operador tenga dos demandas TAKEN
+     */
+    private CraneDemand takeCraneDemand(String craneDemandId, User user, AssignCraneDemandDto assignCraneDemandDto) {
+        try {
+            return craneDemandCustomRepository
+                    .assignIfActive(craneDemandId, user.getId(), assignCraneDemandDto.getWeightCategory().getId())
+                    .orElseThrow(() -> craneDemandRepository.existsById(craneDemandId)
+                            ? new ServiceException("Crane demand is no longer available", HttpStatus.CONFLICT.value())
+                            : new ServiceException("Crane request not found", 404));
+        } catch (DuplicateKeyException e) {
+            throw new ServiceException("User already has an active or taken crane demand", 400);
+        }
     }
 
     private void initializeOperatorLocationInCache(User user, AssignCraneDemandDto assignCraneDemandDto) {
@@ -196,17 +359,29 @@ public class CraneDemandService {
     }
 
     public void cancelCraneDemand(String craneDemandId) {
-        var demand = craneDemandRepository.findById(craneDemandId).orElseThrow(() -> new ServiceException("Crane demand not found", 404));
-        demand.setState(CraneDemandStateEnum.CANCELLED.name());
-        demand.setUpdatedAt(new Date());
-        craneDemandRepository.save(demand);
+        changeState(craneDemandId, CraneDemandStateEnum.CANCELLED);
     }
 
     public void completeCraneDemand(String id) {
-        var demand = craneDemandRepository.findById(id).orElseThrow(() -> new ServiceException("Crane demand not found", 404));
-        demand.setState(CraneDemandStateEnum.COMPLETED.name());
-        demand.setUpdatedAt(new Date());
-        craneDemandRepository.save(demand);
+        changeState(id, CraneDemandStateEnum.COMPLETED);
+    }
+
+    /**
+     * Transición validada por la máquina de estados en el propio filtro de la actualización.
+     * Solo si no se actualiza nada se consulta la demanda para distinguir 404 de 409
+     */
+    private void changeState(String craneDemandId, CraneDemandStateEnum target) {
+        var changed = craneDemandCustomRepository.transitionState(craneDemandId, target);
+        if (changed.isPresent()) {
+            operationsStatsService.recordDemandStateChanged(changed.get(), target);
+            realtimeEventPublisher.publishDemandChanged(changed.get());
+            dispatchEngine.cancel(craneDemandId);
+            return;
+        }
+        if (!craneDemandRepository.existsById(craneDemandId)) {
+            throw new ServiceException("Crane demand not found", 404);
+        }
+        throw new ServiceException("Crane demand cannot change to state " + target.name(), HttpStatus.CONFLICT.value());
     }
 }
 
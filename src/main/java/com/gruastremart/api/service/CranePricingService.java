@@ -30,7 +30,7 @@ public class CranePricingService {
     private final CranePricingMapper cranePricingMapper;
 
     @Cacheable(value = CRANE_PRICING_CACHE,
-               key = "'findWithFilters:' + T(java.util.Objects).hash(#params.getFirst('page'), #params.getFirst('size'), #params.getFirst('active'), #params.getFirst('weight'), #params.getFirst('weightCategory'), #params.getFirst('pricingType'), #params.getFirst('minUrbanPrice'), #params.getFirst('maxUrbanPrice'), #params.getFirst('minExtraUrbanBasePrice'))",
+               key = "'findWithFilters:' + T(java.util.Objects).hash(#params.getFirst('page'), #params.getFirst('size'), #params.getFirst('active'), #params.getFirst('weight'), #params.getFirst('weightCategory'), #params.getFirst('pricingType'), #params.getFirst('minUrbanPrice'), #params.getFirst('maxUrbanPrice'), #params.getFirst('minExtraUrbanBasePrice'), #params.getFirst('count'))",
                cacheManager = "cranePricingCacheManager")
     public Page<CranePricingResponseDto> findWithFilters(MultiValueMap<String, String> params) {
         if (PaginationUtil.isValidPagination(params.getFirst("page"), params.getFirst("size"))) {
@@ -40,14 +40,6 @@ public class EmailService {
         return sendEmail(contactSubject, htmlBody, to);
     }
 
-    public boolean sendResponseOfCraneDemandEmail(final String nombre, final String email) {
-        logger.info("Iniciando envío de correo de agradecimiento...");
-
-        String htmlBody = buildRequestAcknowledgementEmailBody(nombre);
-
-        return sendEmail(demandSubject, htmlBody, email);
-    }
-
     public boolean sendPasswordChangeNotification(final String email, final String subject, final String htmlBody) {
         logger.info("Iniciando envío de notificación de cambio de contraseña...");
         return sendEmail(subject, htmlBody, email);
@@ -60,6 +52,17 @@ public class EmailService {
         return sendEmail(subject, htmlBody, email);
     }
 
+    /**
+     * Envía un correo ya construido; lo usa el outbox para las entregas asíncronas
+     */
+    public boolean sendHtmlEmail(final String to, final String subject, final String htmlBody) {
+        return sendEmail(subject, htmlBody, to);
+    }
+
+    public String getDemandSubject() {
+        return demandSubject;
+    }
+
     private boolean sendEmail(String subject, String body, String to) {
         logger.info("Iniciando envío de correo...");
 
@@ -89,7 +92,7 @@ public class EmailService {
                 + "<p><strong>Mensaje:</strong><br/>" + emailRequest.getMessage() + "</p>";
     }
 
-    private String buildRequestAcknowledgementEmailBody(String nombre) {
+    public String buildRequestAcknowledgementEmailBody(String nombre) {
         return "<h2>¡Gracias por tu mensaje, " + nombre + "!</h2>"
                 + "<p>Hemos recibido tu solicitud correctamente y estamos trabajando en ella.</p>"
                 + "<p>En breve uno de nuestros agentes se pondrá en contacto contigo si es necesario.</p>"
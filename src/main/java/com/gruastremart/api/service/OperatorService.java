@@ -1,20 +1,35 @@
 package com.gruastremart.api.service;
 
+import com.gruastremart.api.dto.NearbyOperatorDto;
 import com.gruastremart.api.dto.OperatorDto;
+import com.gruastremart.api.dto.OperatorLocationBatchRequestDto;
 import com.gruastremart.api.dto.OperatorLocationDto;
 import com.gruastremart.api.dto.OperatorLocationRequestDto;
 import com.gruastremart.api.exception.ServiceException;
 import com.gruastremart.api.mapper.OperatorMapper;
 import com.gruastremart.api.persistance.repository.OperatorRepository;
+import com.gruastremart.api.service.location.OperatorLocationIndex;
+import com.gruastremart.api.service.location.OperatorLocationStreamService;
+import com.gruastremart.api.service.location.OperatorTrackBuffer;
+import com.gruastremart.api.service.realtime.RealtimeEventPublisher;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Optional;
 
+import static com.gruastremart.api.utils.constants.Constants.MAX_LOCATION_CLOCK_SKEW_SECONDS;
 import static com.gruastremart.api.utils.constants.Constants.OPERATOR_LOCATIONS_CACHE;
 
 @Slf4j
@@ -22,8 +37,18 @@ import static com.gruastremart.api.utils.constants.Constants.OPERATOR_LOCATIONS_
 @RequiredArgsConstructor
 public class OperatorService {
 
+    public static final String ONLINE_STATUS = "ONLINE";
+    public static final int MAX_NEARBY_OPERATORS = 50;
+    public static final double MAX_NEARBY_RADIUS_KM = 100.0;
+
     private final OperatorRepository operatorRepository;
     private final CacheManager cacheManager;
+    private final OperatorLocationIndex operatorLocationIndex;
+    private final OperatorLocationStreamService operatorLocationStreamService;
+    private final RealtimeEventPublisher realtimeEventPublisher;
+    private final OperatorTrackBuffer operatorTrackBuffer;
+    // Actualizaciones por segundo: rate(operator_location_updates_total[1m]) en Prometheus
+    private final Counter locationUpdates = Metrics.counter("operator.location.updates");
 
     @CachePut(value = OPERATOR_LOCATIONS_CACHE, key = "#operatorId", cacheManager = "operatorLocationsCacheManager")
     public OperatorLocationDto saveOperatorLocation(String operatorId, OperatorLocationRequestDto request) {
@@ -33,16 +58,74 @@ public class OperatorService {
                 .operatorId(operatorId)
                 .latitude(request.getLatitude())
                 .longitude(request.getLongitude())
-                .status(request.getStatus() != null ? request.getStatus() : "ONLINE")
+                .status(request.getStatus() != null ? request.getStatus() : ONLINE_STATUS)
                 .timestamp(LocalDateTime.now())
                 .build();
 
+        publishLiveLocation(location);
+        operatorTrackBuffer.append(operatorId, List.of(location));
+        locationUpdates.increment();
+
         log.debug("Localización guardada en cache para operador: {} - Lat: {}, Lng: {}",
                 operatorId, location.getLatitude(), location.getLongitude());
 
         return location;
     }
 
+    /**
+     * Lote de puntos enviado por la app tras recuperar la conexión. Todos se añaden al historial,
+     * pero solo el más reciente pasa a la ubicación en vivo, y solo si es más nuevo que el que ya hay en cache.
+     * La cache se actualiza de forma explícita: @CachePut no aplica porque aquí no se pasa por el proxy de saveOperatorLocation.
+     * Los timestamps llegan con offset y se pasan a la hora local del servidor, la misma que usa saveOperatorLocation;
+     * se rechazan los puntos en el futuro porque impedirían que los lotes posteriores actualicen la ubicación en vivo
+     */
+    public OperatorLocationDto saveOperatorLocationBatch(String operatorId, OperatorLocationBatchRequestDto request) {
+        var latestAllowed = Instant.now().plusSeconds(MAX_LOCATION_CLOCK_SKEW_SECONDS);
+        if (request.getPoints().stream().anyMatch(point -> point.getTimestamp().toInstant().isAfter(latestAllowed))) {
+            throw new ServiceException("Location timestamp is in the future", HttpStatus.BAD_REQUEST.value());
+        }
+
+        var points = request.getPoints().stream()
+                .map(point -> OperatorLocationDto.builder()
+                        .operatorId(operatorId)
+                        .latitude(point.getLatitude())
+                        .longitude(point.getLongitude())
+                        .status(point.getStatus() != null ? point.getStatus() : ONLINE_STATUS)
+                        .timestamp(LocalDateTime.ofInstant(point.getTimestamp().toInstant(), ZoneId.systemDefault()))
+                        .build())
+                .sorted(Comparator.comparing(OperatorLocationDto::getTimestamp))
+                .toList();
+
+        operatorTrackBuffer.append(operatorId, points);
+        locationUpdates.increment(points.size());
+
+        var newest = points.getLast();
+        var current = getOperatorLocation(operatorId);
+        if (current.isPresent() && current.get().getTimestamp() != null && current.get().getTimestamp().isAfter(newest.getTimestamp())) {
+            log.debug("Lote de {} puntos del operador {} más antiguo que la ubicación en cache", points.size(), operatorId);
+            return current.get();
+        }
+
+        var cache = cacheManager.getCache(OPERATOR_LOCATIONS_CACHE);
+        if (cache != null) {
+            cache.put(operatorId, newest);
+        }
+        publishLiveLocation(newest);
+
+        log.debug("Lote de {} puntos guardado para operador: {}", points.size(), operatorId);
+        return newest;
+    }
+
+    public List<OperatorLocationDto> getOperatorTrack(String operatorId) {
+        return operatorTrackBuffer.recent(operatorId);
+    }
+
+    private void publishLiveLocation(OperatorLocationDto location) {
+        operatorLocationIndex.update(location);
+        operatorLocationStreamService.publish(location);
+        realtimeEventPublisher.publishOperatorLocation(location);
+    }
+
     public Optional<OperatorLocationDto> getOperatorLocation(String operatorId) {
         log.debug("Buscando localización del operador en cache: {}", operatorId);
         
@@ -63,6 +146,32 @@ public class OperatorService {
         return getOperatorLocation(operatorId).isPresent();
     }
 
+    /**
+     * Suscribe al cliente a las actualizaciones de localización del operador.
+     * Si ya hay una localización en cache se envía inmediatamente como primer evento.
+     */
+    public SseEmitter streamOperatorLocation(String operatorId) {
+        return operatorLocationStreamService.subscribe(operatorId, getOperatorLocation(operatorId).orElse(null));
+    }
+
+    /**
+     * Busca los operadores en línea más cercanos a un punto usando el índice en memoria de localizaciones
+     */
+    public List<NearbyOperatorDto> findNearestOnlineOperators(double latitude, double longitude, double radiusKm, int limit) {
+        if (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
+            throw new ServiceException("Invalid coordinates", HttpStatus.BAD_REQUEST.value());
+        }
+        if (radiusKm <= 0 || radiusKm > MAX_NEARBY_RADIUS_KM) {
+            throw new ServiceException("Radius must be between 0 and " + MAX_NEARBY_RADIUS_KM + " km", HttpStatus.BAD_REQUEST.value());
+        }
+        if (limit <= 0 || limit > MAX_NEARBY_OPERATORS) {
+            throw new ServiceException("Limit must be between 1 and " + MAX_NEARBY_OPERATORS, HttpStatus.BAD_REQUEST.value());
+        }
+
+        return operatorLocationIndex.findNearest(latitude, longitude, radiusKm, limit,
+                location -> ONLINE_STATUS.equals(location.getStatus()));
+    }
+
     public OperatorDto findByUserId(String userId) {
         var operator = operatorRepository.findByUserId(userId).orElseThrow(() -> new ServiceException("User not found", 404));
         return OperatorMapper.MAPPER.mapToDto(operator);
@@ -14,6 +14,8 @@ import com.gruastremart.api.persistance.entity.User;
 import com.gruastremart.api.persistance.repository.CraneDemandRepository;
 import com.gruastremart.api.persistance.repository.PaymentRepository;
 import com.gruastremart.api.persistance.repository.UserRepository;
+import com.gruastremart.api.persistance.repository.custom.PaymentCustomRepository;
+import com.gruastremart.api.service.stats.OperationsStatsService;
 import com.gruastremart.api.service.storage.ImageStorageService;
 import com.gruastremart.api.utils.enums.CraneDemandStateEnum;
 import com.gruastremart.api.utils.enums.PaymentStatusEnum;
@@ -22,15 +24,17 @@ import com.gruastremart.api.utils.enums.Role;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -39,6 +43,7 @@ import java.util.stream.Collectors;
 public class PaymentService {
 
     private final PaymentRepository paymentRepository;
+    private final PaymentCustomRepository paymentCustomRepository;
     private final CraneDemandRepository craneDemandRepository;
     private final PaymentMapper paymentMapper;
     private final EmailService emailService;
@@ -46,6 +51,7 @@ public class PaymentService {
     private final UserRepository userRepository;
     private final CraneDemandService craneDemandService;
     private final ObjectMapper objectMapper;
+    private final OperationsStatsService operationsStatsService;
 
     /**
      * Registra un nuevo pago para una demanda completada
@@ -78,6 +84,7 @@ public class PaymentService {
 
         // Guardar en la base de datos
         Payment savedPayment = paymentRepository.save(payment);
+        operationsStatsService.recordPayment(savedPayment.getStatus(), savedPayment.getAmount());
 
         // Actualizar la demanda con el ID del pago
         demand.setPaymentId(savedPayment.getId());
@@ -128,6 +135,7 @@ public class PaymentService {
 
             // Guardar en DB
             Payment savedPayment = paymentRepository.save(payment);
+            operationsStatsService.recordPayment(savedPayment.getStatus(), savedPayment.getAmount());
 
             log.info("Pago pre-servicio registrado exitosamente: {}", savedPayment.getId());
 
@@ -173,20 +181,10 @@ public class PaymentService {
             payments = paymentRepository.findAll(pageable);
         }
 
-        return payments.map(payment -> {
-            PaymentResponseDto dto = paymentMapper.toResponseDto(payment);
+        Page<PaymentResponseDto> paymentDtos = payments.map(paymentMapper::toResponseDto);
+        enrichWithDemandData(paymentDtos.getContent());
 
-            // Buscar la demanda asociada para obtener sus datos
-            CraneDemand demand = craneDemandRepository.findById(payment.getDemandId())
-                    .orElse(null);
-
-            if (demand != null) {
-                dto.setDemandOrigin(demand.getOrigin());
-                dto.setDemandCarType(demand.getCarType());
-            }
-
-            return dto;
-        });
+        return paymentDtos;
     }
 
     /**
@@ -206,79 +204,13 @@ public class PaymentService {
             throw new ServiceException("Un operador solo puede ver sus propios pagos", HttpStatus.FORBIDDEN.value());
         }
 
-        // Paso 1: Buscar demandas del operador que están COMPLETED
-        Page<CraneDemand> demandsPage = craneDemandRepository.findByAssignedOperatorIdAndState(
-                requestingUser.getId(),
-                CraneDemandStateEnum.COMPLETED.name(),
-                pageable
-        );
-
-        // Si no hay demandas, retornar página vacía
-        if (demandsPage.getContent().isEmpty()) {
-            return new PageImpl<>(new ArrayList<>(), pageable, 0);
-        }
-
-        // Paso 2: Extraer los IDs de esas demandas
-        List<String> demandIds = demandsPage.getContent().stream()
-                .map(CraneDemand::getId)
-                .collect(Collectors.toList());
-
-        // Paso 3: Buscar pagos por lista de demandas
-        List<Payment> allPayments = paymentRepository.findByDemandIdIn(demandIds);
+        // Una sola agregación resuelve demandas COMPLETED, pagos, filtro por estado, página y total
+        Page<PaymentResponseDto> paymentDtos = paymentCustomRepository
+                .findOperatorPayments(requestingUser.getId(), status, pageable)
+                .map(paymentMapper::toResponseDto);
+        enrichWithDemandData(paymentDtos.getContent());
 
-        // Paso 4: Filtrar por estado si es necesario
-        List<Payment> filteredPayments;
-        if (status != null && !status.isEmpty()) {
-            filteredPayments = allPayments.stream()
-                    .filter(payment -> status.equals(payment.getStatus()))
-                    .collect(Collectors.toList());
-        } else {
-            filteredPayments = allPayments;
-        }
-
-        // Paso 5: Aplicar paginación manual
-        int fromIndex = (int) pageable.getOffset();
-        int toIndex = Math.min(fromIndex + pageable.getPageSize(), filteredPayments.size());
-
-        // Verificar que el índice es válido
-        if (fromIndex >= filteredPayments.size()) {
-            return new PageImpl<>(new ArrayList<>(), pageable, filteredPayments.size());
-        }
-
-        List<Payment> paginatedPayments = filteredPayments.subList(fromIndex, toIndex);
-
-        // Crear Page con los resultados paginados
-        Page<Payment> paymentsPage = new PageImpl<>(
-                paginatedPayments,
-                pageable,
-                filteredPayments.size()
-        );
-
-        // Paso 6: Enricher los DTOs con información de la demanda
-        List<PaymentResponseDto> enrichedDtos = new ArrayList<>();
-        for (Payment payment : paginatedPayments) {
-            PaymentResponseDto dto = paymentMapper.toResponseDto(payment);
-
-            // Buscar la demanda asociada para obtener sus datos
-            CraneDemand demand = craneDemandRepository.findById(payment.getDemandId())
-                    .orElse(null);
-
-            if (demand != null) {
-                dto.setDemandOrigin(demand.getOrigin());
-                dto.setDemandCarType(demand.getCarType());
-            }
-
-            enrichedDtos.add(dto);
-        }
-
-        // Crear Page con los DTOs enriquecidos
-        Page<PaymentResponseDto> enrichedPage = new PageImpl<>(
-                enrichedDtos,
-                pageable,
-                filteredPayments.size()
-        );
-
-        return enrichedPage;
+        return paymentDtos;
     }
 
     /**
@@ -325,6 +257,7 @@ public class PaymentService {
         }
 
         // Actualizar el pago
+        var previousStatus = payment.getStatus();
         payment.setStatus(dto.getStatus());
         payment.setVerifiedByUserId(verifyingUser.getId());
         payment.setVerificationComments(dto.getVerificationComments());
@@ -365,6 +298,7 @@ public class PaymentService {
         }
 
         Payment updatedPayment = paymentRepository.save(payment);
+        operationsStatsService.recordPaymentStatusChanged(previousStatus, updatedPayment.getStatus(), updatedPayment.getAmount());
 
         // Enviar notificación por email al usuario
         sendPaymentVerificationEmail(payment, dto.getStatus());
@@ -382,6 +316,32 @@ public class PaymentService {
         return verifyPayment(paymentId, dto, verifiedByUserEmail);
     }
 
+    /**
+     * Completa origen y tipo de vehículo de los pagos con una única consulta
+     * a las demandas de la página (los pagos pre-servicio sin demanda se ignoran)
+     */
+    private void enrichWithDemandData(List<PaymentResponseDto> paymentDtos) {
+        Set<String> demandIds = paymentDtos.stream()
+                .map(PaymentResponseDto::getDemandId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+
+        if (demandIds.isEmpty()) {
+            return;
+        }
+
+        Map<String, CraneDemand> demandsById = craneDemandRepository.findOriginAndCarTypeByIdIn(demandIds).stream()
+                .collect(Collectors.toMap(CraneDemand::getId, Function.identity()));
+
+        paymentDtos.forEach(dto -> {
+            CraneDemand demand = demandsById.get(dto.getDemandId());
+            if (demand != null) {
+                dto.setDemandOrigin(demand.getOrigin());
+                dto.setDemandCarType(demand.getCarType());
+            }
+        });
+    }
+
     /**
      * Valida que la demanda existe y está en estado COMPLETED
      */
@@ -418,13 +378,7 @@ public class PaymentService {
      * Valida que el usuario no tenga demandas activas o tomadas
      */
     private void validateUserHasNoActiveDemand(String userId) {
-        List<CraneDemand> activeDemands = craneDemandRepository.findByCreatedByUserId(userId);
-
-        boolean hasActiveDemand = activeDemands.stream()
-            .anyMatch(demand ->
-                demand.getState().equals(CraneDemandStateEnum.ACTIVE.name()) ||
-                demand.getState().equals(CraneDemandStateEnum.TAKEN.name())
-            );
+        boolean hasActiveDemand = craneDemandRepository.existsByCreatedByUserIdAndStateIn(userId, CraneDemand.ACTIVE_OR_TAKEN_STATES);
 
         if (hasActiveDemand) {
             throw new ServiceException(
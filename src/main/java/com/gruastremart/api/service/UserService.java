@@ -1,5 +1,6 @@
 package com.gruastremart.api.service;
 
+import com.gruastremart.api.config.security.jwt.JwtAuthenticationCache;
 import com.gruastremart.api.dto.UserDto;
 import com.gruastremart.api.exception.ServiceException;
 import com.gruastremart.api.persistance.entity.Operator;
@@ -28,6 +29,7 @@ public class UserService {
     private final UserRepository userRepository;
     private final OperatorRepository operatorRepository;
     private final UserCustomRepository userCustomRepository;
+    private final JwtAuthenticationCache jwtAuthenticationCache;
 
     public UserDto register(UserDto userDto) {
         var user = userRepository.findByEmail(userDto.getEmail());
@@ -65,12 +67,19 @@ public class UserService {
     private User updateUserInformation(String id, UserDto userDto) {
         var user = userRepository.findById(id).orElseThrow(() -> new ServiceException("User not found", 404));
 
+        var accessChanged = user.getRole() != userDto.getRole() || !Objects.equals(user.getActive(), userDto.getActive());
+
         user.setName(userDto.getName());
         user.setLastName(userDto.getLastName());
         user.setRole(userDto.getRole());
         user.setActive(userDto.getActive());
 
         user = userRepository.save(user);
+
+        // Las autenticaciones cacheadas llevan el rol anterior
+        if (accessChanged) {
+            jwtAuthenticationCache.invalidateUser(user.getEmail());
+        }
         return user;
     }
 
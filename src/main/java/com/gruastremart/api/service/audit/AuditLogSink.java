@@ -0,0 +1,113 @@
+package com.gruastremart.api.service.audit;
+
+import com.gruastremart.api.persistance.entity.AuditLog;
+import com.gruastremart.api.persistance.repository.AuditLogRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Cola acotada y sin bloqueos para los eventos de auditoría.
+ * El hilo de la petición solo encola; un escritor en segundo plano guarda los eventos
+ * en lotes en la colección audit_logs. Si la cola está llena el evento se descarta y se contabiliza.
+ */
+@Slf4j
+@Component
+public class AuditLogSink {
+
+    static final int QUEUE_CAPACITY = 10_000;
+    static final int BATCH_SIZE = 200;
+    private static final long FLUSH_INTERVAL_MILLIS = 500;
+
+    private final AuditLogRepository auditLogRepository;
+    private final Queue<AuditLog> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final Counter droppedEvents = Metrics.counter("audit.events.dropped");
+    private final Counter writtenEvents = Metrics.counter("audit.events.written");
+    private final Counter failedEvents = Metrics.counter("audit.events.failed");
+    private final ScheduledExecutorService writer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        var thread = new Thread(runnable, "audit-log-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public AuditLogSink(AuditLogRepository auditLogRepository) {
+        this.auditLogRepository = auditLogRepository;
+        Metrics.gauge("audit.queue.size", queued);
+    }
+
+    @PostConstruct
+    public void start() {
+        writer.scheduleWithFixedDelay(this::flush, FLUSH_INTERVAL_MILLIS, FLUSH_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Encola un evento sin bloquear; devuelve false si se descartó por falta de espacio
+     */
+    public boolean submit(AuditLog event) {
+        if (queued.incrementAndGet() > QUEUE_CAPACITY) {
+            queued.decrementAndGet();
+            droppedEvents.increment();
+            log.debug("Cola de auditoría llena, evento descartado: {}", event.getAction());
+            return false;
+        }
+        queue.offer(event);
+        return true;
+    }
+
+    public int pendingEvents() {
+        return queued.get();
+    }
+
+    /**
+     * Vacía la cola en lotes; solo lo ejecuta el escritor (o el cierre de la aplicación)
+     */
+    synchronized void flush() {
+        List<AuditLog> batch = new ArrayList<>(BATCH_SIZE);
+        AuditLog event;
+        while ((event = queue.poll()) != null) {
+            queued.decrementAndGet();
+            batch.add(event);
+            if (batch.size() == BATCH_SIZE) {
+                write(batch);
+                batch = new ArrayList<>(BATCH_SIZE);
+            }
+        }
+        if (!batch.isEmpty()) {
+            write(batch);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        writer.shutdown();
+        try {
+            writer.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+
+    private void write(List<AuditLog> batch) {
+        try {
+            auditLogRepository.insert(batch);
+            writtenEvents.increment(batch.size());
+        } catch (Exception e) {
+            failedEvents.increment(batch.size());
+            log.error("Error al guardar {} eventos de auditoría: {}", batch.size(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.gruastremart.api.service.dispatch;
+
+/**
+ * Operador candidato para una demanda; menor puntuación es mejor
+ */
+public record DispatchCandidate(String operatorId, double distanceKm, double score) {
+}
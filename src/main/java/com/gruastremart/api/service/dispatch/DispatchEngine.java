@@ -0,0 +1,395 @@
+package com.gruastremart.api.service.dispatch;
+
+import com.gruastremart.api.config.dispatch.DispatchProperties;
+import com.gruastremart.api.dto.CraneDemandResponseDto;
+import com.gruastremart.api.dto.DispatchOfferDto;
+import com.gruastremart.api.dto.NearbyOperatorDto;
+import com.gruastremart.api.exception.ServiceException;
+import com.gruastremart.api.mapper.CraneDemandMapper;
+import com.gruastremart.api.persistance.entity.CraneDemand;
+import com.gruastremart.api.persistance.entity.Operator;
+import com.gruastremart.api.persistance.repository.CraneDemandRepository;
+import com.gruastremart.api.persistance.repository.OperatorRepository;
+import com.gruastremart.api.service.location.OperatorLocationIndex;
+import com.gruastremart.api.service.realtime.RealtimeEventPublisher;
+import com.gruastremart.api.utils.enums.WeightCategoryEnum;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+import static com.gruastremart.api.service.OperatorService.ONLINE_STATUS;
+
+/**
+ * Despacho automático: al crearse una demanda ACTIVE se ordenan los operadores cercanos con {@link DispatchScorer}
+ * y se ofrece la demanda al mejor durante una ventana de tiempo; si la rechaza o no responde, pasa al siguiente.
+ * <p>
+ * Los vencimientos de las ofertas se guardan en una cola de prioridad por instante de vencimiento que atiende
+ * un único hilo; todo el estado se protege con un mismo lock. Un operador solo tiene una oferta pendiente a la vez.
+ * Los operadores que ya tienen una demanda TAKEN no son candidatos.
+ * Al aceptar, la oferta queda reservada hasta que la asignación termina ({@link #cancel}) o falla ({@link #release}),
+ * en cuyo caso pasa al siguiente candidato.
+ * La asignación manual (PATCH /assign) sigue funcionando y cancela el despacho de esa demanda.
+ * El tiempo se lee de un {@link Clock} inyectado y {@link #runDueTasks()} es público para simularlo en pruebas
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DispatchEngine {
+
+    private final OperatorLocationIndex operatorLocationIndex;
+    private final OperatorRepository operatorRepository;
+    private final CraneDemandRepository craneDemandRepository;
+    private final RealtimeEventPublisher realtimeEventPublisher;
+    private final DispatchProperties dispatchProperties;
+    private final Clock clock;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition tasksChanged = lock.newCondition();
+    private final PriorityQueue<ScheduledTask> tasks = new PriorityQueue<>(
+            Comparator.comparing(ScheduledTask::dueAt).thenComparingLong(ScheduledTask::sequence));
+    private final Map<String, Dispatch> dispatchesByDemand = new HashMap<>();
+    private final Map<String, String> offeredDemandByOperator = new HashMap<>();
+    private long nextSequence;
+    private volatile boolean running;
+    private Thread scheduler;
+
+    @PostConstruct
+    public void start() {
+        if (!dispatchProperties.isEnabled()) {
+            log.info("Despacho automático desactivado");
+            return;
+        }
+        running = true;
+        scheduler = Thread.ofVirtual().name("dispatch-scheduler").start(this::runScheduler);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (scheduler != null) {
+            scheduler.interrupt();
+        }
+    }
+
+    /**
+     * Calcula los candidatos de una demanda recién creada y programa la primera oferta.
+     * Si no hay candidatos la demanda queda disponible solo para asignación manual
+     */
+    public void submit(CraneDemand craneDemand) {
+        var location = craneDemand.getCurrentLocation();
+        if (!dispatchProperties.isEnabled() || location == null) {
+            return;
+        }
+
+        try {
+            var nearby = operatorLocationIndex.findNearest(location.getY(), location.getX(), dispatchProperties.getRadiusKm(),
+                    dispatchProperties.getMaxCandidates() * 3, operator -> ONLINE_STATUS.equals(operator.getStatus()));
+            if (!nearby.isEmpty()) {
+                var busy = busyOperators(nearby);
+                nearby = nearby.stream().filter(operator -> !busy.contains(operator.getOperatorId())).toList();
+            }
+            if (nearby.isEmpty()) {
+                log.debug("Demanda {} sin operadores cercanos para despacho automático", craneDemand.getId());
+                return;
+            }
+
+            var capacities = operatorRepository.findCapacitiesByUserIdIn(nearby.stream().map(NearbyOperatorDto::getOperatorId).toList())
+                    .stream()
+                    .filter(operator -> operator.getMaxWeightCategory() != null)
+                    .collect(Collectors.toMap(Operator::getUserId, Operator::getMaxWeightCategory, (first, second) -> first));
+            var candidates = DispatchScorer.rank(nearby, capacities, requiredCategory(craneDemand), dispatchProperties.getMaxCandidates());
+
+            if (candidates.isEmpty()) {
+                log.debug("Demanda {} sin candidatos para despacho automático", craneDemand.getId());
+                return;
+            }
+
+            var dispatch = new Dispatch(craneDemand.getId(), CraneDemandMapper.MAPPER.mapToDto(craneDemand), new ArrayDeque<>(candidates));
+            lock.lock();
+            try {
+                dispatchesByDemand.put(dispatch.craneDemandId, dispatch);
+                schedule(clock.instant(), dispatch);
+            } finally {
+                lock.unlock();
+            }
+        } catch (Exception e) {
+            log.warn("No se pudo iniciar el despacho de la demanda {}: {}", craneDemand.getId(), e.getMessage());
+        }
+    }
+
+    /**
+     * Reserva la demanda para el operador si tiene la oferta vigente; a continuación se asigna de forma normal.
+     * La reserva no vence con la oferta, pero si en OFFER_TIMEOUT no se ha cancelado ni liberado se pasa al siguiente
+     */
+    public void claimOffer(String craneDemandId, String operatorId) {
+        lock.lock();
+        try {
+            var dispatch = currentOffer(craneDemandId, operatorId);
+            dispatch.claimed = true;
+            dispatch.attempt++; // Invalida el vencimiento de la oferta
+            schedule(clock.instant().plus(dispatchProperties.getOfferTimeout()), dispatch);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * La asignación del operador que tenía la oferta (o la reserva) ha fallado: se ofrece al siguiente candidato.
+     * No hace nada si el operador ya no tiene la oferta de esa demanda
+     */
+    public void release(String craneDemandId, String operatorId) {
+        List<DispatchOfferDto> offers = List.of();
+        lock.lock();
+        try {
+            var dispatch = dispatchesByDemand.get(craneDemandId);
+            if (dispatch != null && dispatch.current != null && dispatch.current.operatorId().equals(operatorId)) {
+                log.debug("Operador {} no pudo tomar la demanda {}, se ofrece al siguiente", operatorId, craneDemandId);
+                offers = offerNext(dispatch);
+            }
+        } finally {
+            lock.unlock();
+        }
+        offers.forEach(realtimeEventPublisher::publishDispatchOffer);
+    }
+
+    /**
+     * El operador no puede aceptar la oferta (ya tiene otra demanda TAKEN): se ofrece al siguiente candidato.
+     * A diferencia de release, no hace nada si la oferta ya está reservada por una aceptación en curso
+     */
+    public void decline(String craneDemandId, String operatorId) {
+        List<DispatchOfferDto> offers = List.of();
+        lock.lock();
+        try {
+            var dispatch = dispatchesByDemand.get(craneDemandId);
+            if (dispatch != null && !dispatch.claimed && dispatch.current != null && dispatch.current.operatorId().equals(operatorId)) {
+                log.debug("Operador {} ocupado, la demanda {} se ofrece al siguiente", operatorId, craneDemandId);
+                offers = offerNext(dispatch);
+            }
+        } finally {
+            lock.unlock();
+        }
+        offers.forEach(realtimeEventPublisher::publishDispatchOffer);
+    }
+
+    /**
+     * El operador rechaza la oferta vigente y se ofrece inmediatamente al siguiente candidato
+     */
+    public void reject(String craneDemandId, String operatorId) {
+        List<DispatchOfferDto> offers;
+        lock.lock();
+        try {
+            var dispatch = currentOffer(craneDemandId, operatorId);
+            log.debug("Operador {} rechaza la demanda {}", operatorId, craneDemandId);
+            offers = offerNext(dispatch);
+        } finally {
+            lock.unlock();
+        }
+        offers.forEach(realtimeEventPublisher::publishDispatchOffer);
+    }
+
+    /**
+     * Detiene el despacho de una demanda asignada manualmente, cancelada o completada
+     */
+    public void cancel(String craneDemandId) {
+        lock.lock();
+        try {
+            var dispatch = dispatchesByDemand.get(craneDemandId);
+            if (dispatch != null) {
+                finish(dispatch);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Procesa las tareas vencidas según el reloj: cada una avanza al siguiente candidato
+     * si la oferta a la que corresponde sigue vigente (si no, es obsoleta y se ignora)
+     */
+    public void runDueTasks() {
+        var offers = new ArrayList<DispatchOfferDto>();
+        lock.lock();
+        try {
+            var now = clock.instant();
+            while (!tasks.isEmpty() && !tasks.peek().dueAt().isAfter(now)) {
+                var task = tasks.poll();
+                var dispatch = dispatchesByDemand.get(task.craneDemandId());
+                if (dispatch == null || dispatch.attempt != task.attempt()) {
+                    continue;
+                }
+                if (dispatch.current != null) {
+                    log.debug("Oferta de la demanda {} al operador {} expirada", dispatch.craneDemandId, dispatch.current.operatorId());
+                }
+                offers.addAll(offerNext(dispatch));
+            }
+        } finally {
+            lock.unlock();
+        }
+        offers.forEach(realtimeEventPublisher::publishDispatchOffer);
+    }
+
+    public int activeDispatches() {
+        lock.lock();
+        try {
+            return dispatchesByDemand.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Dispatch currentOffer(String craneDemandId, String operatorId) {
+        var dispatch = dispatchesByDemand.get(craneDemandId);
+        if (dispatch == null || dispatch.current == null || !dispatch.current.operatorId().equals(operatorId)) {
+            throw new ServiceException("No pending dispatch offer for this operator", HttpStatus.CONFLICT.value());
+        }
+        if (dispatch.claimed) {
+            throw new ServiceException("Dispatch offer already accepted", HttpStatus.CONFLICT.value());
+        }
+        if (clock.instant().isAfter(dispatch.expiresAt)) {
+            throw new ServiceException("Dispatch offer expired", HttpStatus.CONFLICT.value());
+        }
+        return dispatch;
+    }
+
+    /**
+     * Libera al operador de la oferta actual y ofrece la demanda al siguiente candidato libre.
+     * Devuelve la oferta a publicar, que se envía fuera del lock
+     */
+    private List<DispatchOfferDto> offerNext(Dispatch dispatch) {
+        releaseCurrent(dispatch);
+
+        while (!dispatch.candidates.isEmpty()) {
+            var candidate = dispatch.candidates.poll();
+            if (offeredDemandByOperator.containsKey(candidate.operatorId())) {
+                continue; // Tiene otra oferta pendiente
+            }
+
+            dispatch.attempt++;
+            dispatch.current = candidate;
+            dispatch.expiresAt = clock.instant().plus(dispatchProperties.getOfferTimeout());
+            offeredDemandByOperator.put(candidate.operatorId(), dispatch.craneDemandId);
+            schedule(dispatch.expiresAt, dispatch);
+
+            log.debug("Demanda {} ofrecida al operador {} (intento {})", dispatch.craneDemandId, candidate.operatorId(), dispatch.attempt);
+            return List.of(DispatchOfferDto.builder()
+                    .operatorId(candidate.operatorId())
+                    .craneDemand(dispatch.craneDemand)
+                    .distanceKm(candidate.distanceKm())
+                    .expiresAt(Date.from(dispatch.expiresAt))
+                    .build());
+        }
+
+        log.info("Demanda {} sin más candidatos, queda disponible para asignación manual", dispatch.craneDemandId);
+        dispatchesByDemand.remove(dispatch.craneDemandId);
+        return List.of();
+    }
+
+    private void finish(Dispatch dispatch) {
+        releaseCurrent(dispatch);
+        dispatchesByDemand.remove(dispatch.craneDemandId);
+    }
+
+    private void releaseCurrent(Dispatch dispatch) {
+        if (dispatch.current != null) {
+            offeredDemandByOperator.remove(dispatch.current.operatorId(), dispatch.craneDemandId);
+            dispatch.current = null;
+            dispatch.claimed = false;
+        }
+    }
+
+    private void schedule(Instant dueAt, Dispatch dispatch) {
+        tasks.add(new ScheduledTask(dueAt, nextSequence++, dispatch.craneDemandId, dispatch.attempt));
+        tasksChanged.signalAll();
+    }
+
+    private void runScheduler() {
+        while (running) {
+            try {
+                runDueTasks();
+                awaitNextTask();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("Error en el planificador de despacho: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    private void awaitNextTask() throws InterruptedException {
+        lock.lock();
+        try {
+            var next = tasks.peek();
+            if (next == null) {
+                tasksChanged.await();
+                return;
+            }
+            var waitNanos = Duration.between(clock.instant(), next.dueAt()).toNanos();
+            if (waitNanos > 0) {
+                tasksChanged.awaitNanos(waitNanos);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Operadores cercanos que ya tienen una demanda TAKEN (índice assignedOperatorId + state)
+     */
+    private Set<String> busyOperators(List<NearbyOperatorDto> nearby) {
+        return craneDemandRepository.findTakenByAssignedOperatorIdIn(nearby.stream().map(NearbyOperatorDto::getOperatorId).toList())
+                .stream()
+                .map(CraneDemand::getAssignedOperatorId)
+                .collect(Collectors.toSet());
+    }
+
+    private static WeightCategoryEnum requiredCategory(CraneDemand craneDemand) {
+        if (craneDemand.getRequestedWeightCategoryId() == null) {
+            return null;
+        }
+        try {
+            return WeightCategoryEnum.fromId(craneDemand.getRequestedWeightCategoryId());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private record ScheduledTask(Instant dueAt, long sequence, String craneDemandId, int attempt) {
+    }
+
+    private static final class Dispatch {
+        private final String craneDemandId;
+        private final CraneDemandResponseDto craneDemand;
+        private final Deque<DispatchCandidate> candidates;
+        private DispatchCandidate current;
+        private boolean claimed;
+        private Instant expiresAt;
+        private int attempt;
+
+        private Dispatch(String craneDemandId, CraneDemandResponseDto craneDemand, Deque<DispatchCandidate> candidates) {
+            this.craneDemandId = craneDemandId;
+            this.craneDemand = craneDemand;
+            this.candidates = candidates;
+        }
+    }
+}
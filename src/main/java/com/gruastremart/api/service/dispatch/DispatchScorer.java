@@ -0,0 +1,50 @@
+package com.gruastremart.api.service.dispatch;
+
+import com.gruastremart.api.dto.NearbyOperatorDto;
+import com.gruastremart.api.utils.enums.WeightCategoryEnum;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Puntúa los operadores cercanos para una demanda. La puntuación está en kilómetros equivalentes:
+ * la distancia real más una penalización por capacidad desconocida y por cada categoría de peso
+ * por encima de la necesaria, para dejar libres las grúas grandes. Las grúas sin capacidad suficiente se descartan
+ */
+public final class DispatchScorer {
+
+    static final double UNKNOWN_CAPACITY_PENALTY_KM = 2.0;
+    static final double OVERSIZED_CATEGORY_PENALTY_KM = 1.5;
+
+    private DispatchScorer() {
+    }
+
+    /**
+     * @param capacities       categoría máxima de cada operador (por userId); sin entrada si no se conoce
+     * @param requiredCategory categoría de la demanda, o null si el cliente no la indicó
+     */
+    public static List<DispatchCandidate> rank(List<NearbyOperatorDto> nearby, Map<String, WeightCategoryEnum> capacities,
+                                               WeightCategoryEnum requiredCategory, int limit) {
+        var required = requiredCategory != null ? requiredCategory : WeightCategoryEnum.PESO_1;
+
+        return nearby.stream()
+                .filter(operator -> isCompatible(capacities.get(operator.getOperatorId()), required))
+                .map(operator -> new DispatchCandidate(operator.getOperatorId(), operator.getDistanceKm(),
+                        operator.getDistanceKm() + capacityPenalty(capacities.get(operator.getOperatorId()), required)))
+                .sorted(Comparator.comparingDouble(DispatchCandidate::score))
+                .limit(limit)
+                .toList();
+    }
+
+    private static boolean isCompatible(WeightCategoryEnum capacity, WeightCategoryEnum required) {
+        return capacity == null || capacity.ordinal() >= required.ordinal();
+    }
+
+    private static double capacityPenalty(WeightCategoryEnum capacity, WeightCategoryEnum required) {
+        if (capacity == null) {
+            return UNKNOWN_CAPACITY_PENALTY_KM;
+        }
+        return (capacity.ordinal() - required.ordinal()) * OVERSIZED_CATEGORY_PENALTY_KM;
+    }
+}
@@ -0,0 +1,202 @@
+package com.gruastremart.api.service.email;
+
+import com.gruastremart.api.persistance.entity.EmailOutbox;
+import com.gruastremart.api.persistance.repository.EmailOutboxRepository;
+import com.gruastremart.api.service.EmailService;
+import com.gruastremart.api.utils.enums.EmailOutboxStatusEnum;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Date;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Outbox persistente de correos. Los servicios solo encolan el correo en Mongo;
+ * un planificador reclama los pendientes con findAndModify (seguro entre instancias)
+ * y los entrega en hilos virtuales, reintentando con backoff exponencial.
+ */
+@Slf4j
+@Service
+public class EmailOutboxService {
+
+    static final int MAX_ATTEMPTS = 6;
+    static final int MAX_IN_FLIGHT = 20;
+    private static final long BASE_BACKOFF_MILLIS = TimeUnit.SECONDS.toMillis(30);
+    private static final long MAX_BACKOFF_MILLIS = TimeUnit.HOURS.toMillis(1);
+    private static final long LOCK_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(5);
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final MongoTemplate mongoTemplate;
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final EmailService emailService;
+    private final ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor();
+    private final Semaphore inFlight = new Semaphore(MAX_IN_FLIGHT);
+    private final Counter enqueuedEmails = Metrics.counter("email.outbox.enqueued");
+    private final Counter duplicatedEmails = Metrics.counter("email.outbox.duplicated");
+    private final Counter sentEmails = Metrics.counter("email.outbox.sent");
+    private final Counter retriedEmails = Metrics.counter("email.outbox.retried");
+    private final Counter failedEmails = Metrics.counter("email.outbox.failed");
+    private final Timer deliveryTimer = Metrics.timer("email.outbox.delivery");
+
+    public EmailOutboxService(MongoTemplate mongoTemplate, EmailOutboxRepository emailOutboxRepository, EmailService emailService) {
+        this.mongoTemplate = mongoTemplate;
+        this.emailOutboxRepository = emailOutboxRepository;
+        this.emailService = emailService;
+    }
+
+    /**
+     * Encola el correo de demanda asignada para el usuario que la creó
+     */
+    public void enqueueCraneDemandAssignedEmail(String craneDemandId, String operatorId, String name, String email) {
+        enqueue("crane-demand-assigned:" + craneDemandId + ":" + operatorId,
+                email,
+                emailService.getDemandSubject(),
+                emailService.buildRequestAcknowledgementEmailBody(name));
+    }
+
+    /**
+     * Guarda el correo como pendiente; si ya existe uno con la misma clave no se vuelve a encolar
+     */
+    public void enqueue(String dedupeKey, String recipient, String subject, String body) {
+        var now = new Date();
+        var email = EmailOutbox.builder()
+                .dedupeKey(dedupeKey)
+                .recipient(recipient)
+                .subject(subject)
+                .body(body)
+                .status(EmailOutboxStatusEnum.PENDING.name())
+                .attempts(0)
+                .nextAttemptAt(now)
+                .createdAt(now)
+                .build();
+
+        try {
+            emailOutboxRepository.insert(email);
+            enqueuedEmails.increment();
+            log.info("Correo encolado: {}", dedupeKey);
+        } catch (DuplicateKeyException e) {
+            duplicatedEmails.increment();
+            log.info("Correo ya encolado, se ignora: {}", dedupeKey);
+        }
+    }
+
+    @Scheduled(fixedDelay = 2000)
+    public void dispatchPendingEmails() {
+        while (inFlight.tryAcquire()) {
+            EmailOutbox email;
+            try {
+                email = claimNext();
+            } catch (Exception e) {
+                inFlight.release();
+                log.error("Error al reclamar correos pendientes: {}", e.getMessage());
+                return;
+            }
+
+            if (email == null) {
+                inFlight.release();
+                return;
+            }
+
+            workers.execute(() -> {
+                try {
+                    deliver(email);
+                } finally {
+                    inFlight.release();
+                }
+            });
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdown();
+    }
+
+    /**
+     * Marca como PROCESSING el siguiente correo listo para enviar, o uno bloqueado por una instancia caída
+     */
+    private EmailOutbox claimNext() {
+        var now = new Date();
+        var query = new Query(new Criteria().orOperator(
+                Criteria.where("status").is(EmailOutboxStatusEnum.PENDING.name()).and("nextAttemptAt").lte(now),
+                Criteria.where("status").is(EmailOutboxStatusEnum.PROCESSING.name()).and("lockedAt").lt(new Date(now.getTime() - LOCK_TIMEOUT_MILLIS))))
+                .with(Sort.by(Sort.Direction.ASC, "nextAttemptAt"));
+        var update = new Update()
+                .set("status", EmailOutboxStatusEnum.PROCESSING.name())
+                .set("lockedAt", now)
+                .inc("attempts", 1);
+
+        return mongoTemplate.findAndModify(query, update, FindAndModifyOptions.options().returnNew(true), EmailOutbox.class);
+    }
+
+    private void deliver(EmailOutbox email) {
+        var sample = Timer.start();
+        try {
+            emailService.sendHtmlEmail(email.getRecipient(), email.getSubject(), email.getBody());
+            markAsSent(email);
+        } catch (Exception e) {
+            scheduleRetry(email, e);
+        } finally {
+            sample.stop(deliveryTimer);
+        }
+    }
+
+    private void markAsSent(EmailOutbox email) {
+        mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(email.getId())),
+                new Update()
+                        .set("status", EmailOutboxStatusEnum.SENT.name())
+                        .set("sentAt", new Date())
+                        .unset("lockedAt")
+                        .unset("lastError"),
+                EmailOutbox.class);
+        sentEmails.increment();
+        log.info("Correo {} enviado en el intento {}", email.getDedupeKey(), email.getAttempts());
+    }
+
+    private void scheduleRetry(EmailOutbox email, Exception error) {
+        var attempts = email.getAttempts() != null ? email.getAttempts() : 1;
+        var exhausted = attempts >= MAX_ATTEMPTS;
+        var update = new Update()
+                .set("status", exhausted ? EmailOutboxStatusEnum.FAILED.name() : EmailOutboxStatusEnum.PENDING.name())
+                .set("nextAttemptAt", new Date(System.currentTimeMillis() + backoffMillis(attempts)))
+                .set("lastError", truncate(error.getMessage()))
+                .unset("lockedAt");
+
+        mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(email.getId())), update, EmailOutbox.class);
+
+        if (exhausted) {
+            failedEmails.increment();
+            log.error("Correo {} descartado tras {} intentos: {}", email.getDedupeKey(), attempts, error.getMessage());
+        } else {
+            retriedEmails.increment();
+            log.warn("Error al enviar el correo {} (intento {}), se reintentará: {}", email.getDedupeKey(), attempts, error.getMessage());
+        }
+    }
+
+    static long backoffMillis(int attempts) {
+        var exponent = Math.min(Math.max(attempts - 1, 0), 20);
+        return Math.min(BASE_BACKOFF_MILLIS << exponent, MAX_BACKOFF_MILLIS);
+    }
+
+    private static String truncate(String message) {
+        if (message == null || message.length() <= MAX_ERROR_LENGTH) {
+            return message;
+        }
+        return message.substring(0, MAX_ERROR_LENGTH);
+    }
+}
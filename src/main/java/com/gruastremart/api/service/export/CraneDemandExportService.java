@@ -0,0 +1,143 @@
+package com.gruastremart.api.service.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gruastremart.api.dto.CraneDemandResponseDto;
+import com.gruastremart.api.dto.LocationDto;
+import com.gruastremart.api.mapper.CraneDemandMapper;
+import com.gruastremart.api.persistance.repository.custom.CraneDemandCustomRepository;
+import com.gruastremart.api.utils.enums.ExportFormatEnum;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Exporta demandas de grúa recorriendo un cursor de Mongo y escribiendo cada fila directamente
+ * en la respuesta, de modo que la memoria usada no depende del número de demandas exportadas.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CraneDemandExportService {
+
+    private static final int FLUSH_EVERY_ROWS = 500;
+    private static final String FORMULA_PREFIXES = "=+-@\t\r";
+
+    private static final List<Column> CSV_COLUMNS = List.of(
+            new Column("id", CraneDemandResponseDto::getId),
+            new Column("createdAt", CraneDemandResponseDto::getCreatedAt),
+            new Column("state", CraneDemandResponseDto::getState),
+            new Column("userId", CraneDemandResponseDto::getUserId),
+            new Column("assignedOperatorId", CraneDemandResponseDto::getAssignedOperatorId),
+            new Column("description", CraneDemandResponseDto::getDescription),
+            new Column("origin", CraneDemandResponseDto::getOrigin),
+            new Column("carType", CraneDemandResponseDto::getCarType),
+            new Column("breakdown", CraneDemandResponseDto::getBreakdown),
+            new Column("referenceSource", CraneDemandResponseDto::getReferenceSource),
+            new Column("recommendedBy", CraneDemandResponseDto::getRecommendedBy),
+            new Column("vehicleBrand", CraneDemandResponseDto::getVehicleBrand),
+            new Column("vehicleModel", CraneDemandResponseDto::getVehicleModel),
+            new Column("vehicleYear", CraneDemandResponseDto::getVehicleYear),
+            new Column("vehiclePlate", CraneDemandResponseDto::getVehiclePlate),
+            new Column("vehicleColor", CraneDemandResponseDto::getVehicleColor),
+            new Column("customerName", CraneDemandResponseDto::getCustomerName),
+            new Column("customerPhone", CraneDemandResponseDto::getCustomerPhone),
+            new Column("assignedWeightCategoryId", CraneDemandResponseDto::getAssignedWeightCategoryId),
+            new Column("paymentId", CraneDemandResponseDto::getPaymentId),
+            new Column("currentLocationName", dto -> location(dto.getCurrentLocation(), LocationDto::getName)),
+            new Column("currentLatitude", dto -> location(dto.getCurrentLocation(), LocationDto::getLatitude)),
+            new Column("currentLongitude", dto -> location(dto.getCurrentLocation(), LocationDto::getLongitude)),
+            new Column("destinationLocationName", dto -> location(dto.getDestinationLocation(), LocationDto::getName)),
+            new Column("destinationLatitude", dto -> location(dto.getDestinationLocation(), LocationDto::getLatitude)),
+            new Column("destinationLongitude", dto -> location(dto.getDestinationLocation(), LocationDto::getLongitude))
+    );
+
+    private final CraneDemandCustomRepository craneDemandCustomRepository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * La consulta se construye (y valida) antes de devolver el cuerpo, para que un filtro
+     * incorrecto responda 400 en lugar de cortar una respuesta ya iniciada
+     */
+    public StreamingResponseBody export(MultiValueMap<String, String> params, ExportFormatEnum format) {
+        var query = craneDemandCustomRepository.buildExportQuery(params);
+
+        return outputStream -> {
+            try (var demands = craneDemandCustomRepository.stream(query)) {
+                var rows = write(demands.map(CraneDemandMapper.MAPPER::mapToDto).iterator(), format, outputStream);
+                log.info("Exportación de demandas ({}) completada: {} filas", format, rows);
+            }
+        };
+    }
+
+    private long write(Iterator<CraneDemandResponseDto> demands, ExportFormatEnum format, OutputStream outputStream) throws IOException {
+        var writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        if (format == ExportFormatEnum.CSV) {
+            writeCsvRow(writer, CSV_COLUMNS.stream().map(Column::header).toArray());
+        }
+
+        long rows = 0;
+        while (demands.hasNext()) {
+            var demand = demands.next();
+            if (format == ExportFormatEnum.CSV) {
+                writeCsvRow(writer, CSV_COLUMNS.stream().map(column -> column.extractor().apply(demand)).toArray());
+            } else {
+                writer.write(objectMapper.writeValueAsString(demand));
+                writer.write('\n');
+            }
+
+            if (++rows % FLUSH_EVERY_ROWS == 0) {
+                writer.flush();
+            }
+        }
+        writer.flush();
+        return rows;
+    }
+
+    private static void writeCsvRow(Writer writer, Object[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(escapeCsv(values[i]));
+        }
+        writer.write("\r\n");
+    }
+
+    /**
+     * Los textos que una hoja de cálculo interpretaría como fórmula (=, +, -, @, tabulador o retorno de carro al inicio)
+     * se prefijan con ' antes de entrecomillar. Los números y fechas se escriben tal cual
+     */
+    private static String escapeCsv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        var text = value instanceof Date date ? date.toInstant().toString() : String.valueOf(value);
+        if (value instanceof CharSequence && !text.isEmpty() && FORMULA_PREFIXES.indexOf(text.charAt(0)) >= 0) {
+            text = "'" + text;
+        }
+        if (text.chars().anyMatch(c -> c == ',' || c == '"' || c == '\n' || c == '\r')) {
+            return '"' + text.replace("\"", "\"\"") + '"';
+        }
+        return text;
+    }
+
+    private static Object location(LocationDto location, Function<LocationDto, Object> extractor) {
+        return location != null ? extractor.apply(location) : null;
+    }
+
+    private record Column(String header, Function<CraneDemandResponseDto, Object> extractor) {
+    }
+}
@@ -0,0 +1,178 @@
+package com.gruastremart.api.service.location;
+
+import com.gruastremart.api.dto.NearbyOperatorDto;
+import com.gruastremart.api.dto.OperatorLocationDto;
+import com.gruastremart.api.utils.tools.GeoUtils;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import static com.gruastremart.api.utils.constants.Constants.OPERATOR_LOCATIONS_TTL_MINUTES;
+
+/**
+ * Índice geoespacial en memoria con la última posición conocida de cada operador.
+ * Las posiciones se agrupan en celdas de una rejilla lat/lng, de modo que una consulta
+ * de cercanía solo revisa las celdas que cubren el radio pedido en lugar de todos los operadores.
+ * Las escrituras de un operador se serializan sobre su propia entrada del mapa concurrente,
+ * así que operadores distintos no compiten entre sí.
+ */
+@Component
+public class OperatorLocationIndex {
+
+    static final double CELL_SIZE_DEGREES = 0.05; // ~5.5 km en el ecuador
+    private static final int LATITUDE_CELLS = (int) Math.ceil(180 / CELL_SIZE_DEGREES);
+    private static final int LONGITUDE_CELLS = (int) Math.ceil(360 / CELL_SIZE_DEGREES);
+    private static final double MAX_LATITUDE_FOR_LONGITUDE_SPAN = 89.0;
+    private static final long LOCATION_TTL_MILLIS = TimeUnit.MINUTES.toMillis(OPERATOR_LOCATIONS_TTL_MINUTES);
+
+    private final Map<String, IndexedLocation> locations = new ConcurrentHashMap<>();
+    private final Map<Long, Set<String>> cells = new ConcurrentHashMap<>();
+
+    public void update(OperatorLocationDto location) {
+        if (location.getOperatorId() == null || location.getLatitude() == null || location.getLongitude() == null) {
+            return;
+        }
+
+        long cell = cellKey(latitudeIndex(location.getLatitude()), longitudeIndex(location.getLongitude()));
+        var indexed = new IndexedLocation(location, cell, System.currentTimeMillis());
+
+        locations.compute(location.getOperatorId(), (operatorId, previous) -> {
+            if (previous != null && previous.cell() != cell) {
+                removeFromCell(previous.cell(), operatorId);
+            }
+            addToCell(cell, operatorId);
+            return indexed;
+        });
+    }
+
+    public void remove(String operatorId) {
+        locations.computeIfPresent(operatorId, (id, previous) -> {
+            removeFromCell(previous.cell(), id);
+            return null;
+        });
+    }
+
+    public int size() {
+        return locations.size();
+    }
+
+    /**
+     * Devuelve hasta {@code limit} operadores dentro de {@code radiusKm} ordenados por distancia,
+     * descartando las posiciones expiradas y las que no cumplan el filtro indicado.
+     */
+    public List<NearbyOperatorDto> findNearest(double latitude, double longitude, double radiusKm, int limit,
+                                               Predicate<OperatorLocationDto> filter) {
+        var farthestFirst = new PriorityQueue<NearbyOperatorDto>(Comparator.comparingDouble(NearbyOperatorDto::getDistanceKm).reversed());
+        long expiredBefore = System.currentTimeMillis() - LOCATION_TTL_MILLIS;
+
+        double latitudeDelta = radiusKm / GeoUtils.KM_PER_DEGREE;
+        double minLatitude = Math.max(-90.0, latitude - latitudeDelta);
+        double maxLatitude = Math.min(90.0, latitude + latitudeDelta);
+        double widestLatitude = Math.min(MAX_LATITUDE_FOR_LONGITUDE_SPAN, Math.max(Math.abs(minLatitude), Math.abs(maxLatitude)));
+        double longitudeDelta = radiusKm / (GeoUtils.KM_PER_DEGREE * Math.cos(Math.toRadians(widestLatitude)));
+
+        int firstLongitudeCell;
+        int lastLongitudeCell;
+        if (longitudeDelta >= 180.0) {
+            firstLongitudeCell = 0;
+            lastLongitudeCell = LONGITUDE_CELLS - 1;
+        } else {
+            firstLongitudeCell = (int) Math.floor((longitude - longitudeDelta + 180.0) / CELL_SIZE_DEGREES);
+            lastLongitudeCell = (int) Math.floor((longitude + longitudeDelta + 180.0) / CELL_SIZE_DEGREES);
+        }
+
+        for (int latIdx = latitudeIndex(minLatitude); latIdx <= latitudeIndex(maxLatitude); latIdx++) {
+            for (int lngCell = firstLongitudeCell; lngCell <= lastLongitudeCell; lngCell++) {
+                var members = cells.get(cellKey(latIdx, Math.floorMod(lngCell, LONGITUDE_CELLS)));
+                if (members == null) {
+                    continue;
+                }
+
+                for (String operatorId : members) {
+                    var indexed = locations.get(operatorId);
+                    if (indexed == null) {
+                        continue;
+                    }
+                    if (indexed.updatedAtMillis() < expiredBefore) {
+                        evict(operatorId, indexed);
+                        continue;
+                    }
+
+                    var location = indexed.location();
+                    if (!filter.test(location)) {
+                        continue;
+                    }
+
+                    double distance = GeoUtils.haversineKm(latitude, longitude, location.getLatitude(), location.getLongitude());
+                    if (distance > radiusKm) {
+                        continue;
+                    }
+
+                    farthestFirst.offer(NearbyOperatorDto.builder()
+                            .operatorId(location.getOperatorId())
+                            .latitude(location.getLatitude())
+                            .longitude(location.getLongitude())
+                            .timestamp(location.getTimestamp())
+                            .status(location.getStatus())
+                            .distanceKm(distance)
+                            .build());
+                    if (farthestFirst.size() > limit) {
+                        farthestFirst.poll();
+                    }
+                }
+            }
+        }
+
+        var nearest = new ArrayList<>(farthestFirst);
+        nearest.sort(Comparator.comparingDouble(NearbyOperatorDto::getDistanceKm));
+        return nearest;
+    }
+
+    private void evict(String operatorId, IndexedLocation expired) {
+        locations.computeIfPresent(operatorId, (id, current) -> {
+            if (current != expired) {
+                return current;
+            }
+            removeFromCell(current.cell(), id);
+            return null;
+        });
+    }
+
+    private void addToCell(long cell, String operatorId) {
+        cells.compute(cell, (key, members) -> {
+            var updated = members != null ? members : ConcurrentHashMap.<String>newKeySet();
+            updated.add(operatorId);
+            return updated;
+        });
+    }
+
+    private void removeFromCell(long cell, String operatorId) {
+        cells.computeIfPresent(cell, (key, members) -> {
+            members.remove(operatorId);
+            return members.isEmpty() ? null : members;
+        });
+    }
+
+    private static int latitudeIndex(double latitude) {
+        return (int) Math.min(LATITUDE_CELLS - 1, Math.max(0, Math.floor((latitude + 90.0) / CELL_SIZE_DEGREES)));
+    }
+
+    private static int longitudeIndex(double longitude) {
+        return Math.floorMod((int) Math.floor((longitude + 180.0) / CELL_SIZE_DEGREES), LONGITUDE_CELLS);
+    }
+
+    private static long cellKey(int latitudeIndex, int longitudeIndex) {
+        return (long) latitudeIndex * LONGITUDE_CELLS + longitudeIndex;
+    }
+
+    private record IndexedLocation(OperatorLocationDto location, long cell, long updatedAtMillis) {
+    }
+}
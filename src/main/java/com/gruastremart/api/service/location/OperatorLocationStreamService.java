@@ -0,0 +1,154 @@
+package com.gruastremart.api.service.location;
+
+import com.gruastremart.api.dto.OperatorLocationDto;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Difunde por Server-Sent Events las nuevas posiciones de un operador a los clientes suscritos.
+ * Cada suscriptor guarda solo la última posición pendiente: si un cliente va lento,
+ * las posiciones intermedias se descartan y recibe directamente la más reciente.
+ */
+@Slf4j
+@Service
+public class OperatorLocationStreamService {
+
+    public static final String LOCATION_EVENT_NAME = "location";
+    private static final long EMITTER_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(30);
+
+    private final Map<String, Set<Subscriber>> subscribersByOperator = new ConcurrentHashMap<>();
+    private final ExecutorService dispatcher = Executors.newVirtualThreadPerTaskExecutor();
+
+    public SseEmitter subscribe(String operatorId, OperatorLocationDto currentLocation) {
+        var emitter = createEmitter();
+        var subscriber = new Subscriber(operatorId, emitter);
+
+        subscribersByOperator.compute(operatorId, (id, subscribers) -> {
+            var updated = subscribers != null ? subscribers : ConcurrentHashMap.<Subscriber>newKeySet();
+            updated.add(subscriber);
+            return updated;
+        });
+
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(() -> {
+            unsubscribe(subscriber);
+            emitter.complete();
+        });
+        emitter.onError(error -> unsubscribe(subscriber));
+
+        log.debug("Nuevo suscriptor al stream de localización del operador: {}", operatorId);
+
+        if (currentLocation != null) {
+            subscriber.offer(currentLocation);
+        }
+        return emitter;
+    }
+
+    public void publish(OperatorLocationDto location) {
+        var subscribers = subscribersByOperator.get(location.getOperatorId());
+        if (subscribers == null) {
+            return;
+        }
+        subscribers.forEach(subscriber -> subscriber.offer(location));
+    }
+
+    public int subscriberCount(String operatorId) {
+        var subscribers = subscribersByOperator.get(operatorId);
+        return subscribers != null ? subscribers.size() : 0;
+    }
+
+    /**
+     * Crea el emisor de cada suscripción; las pruebas lo sustituyen para capturar los envíos y los callbacks
+     */
+    protected SseEmitter createEmitter() {
+        return new SseEmitter(EMITTER_TIMEOUT_MILLIS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribersByOperator.values().forEach(subscribers -> subscribers.forEach(subscriber -> subscriber.emitter.complete()));
+        subscribersByOperator.clear();
+        dispatcher.shutdown();
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        subscribersByOperator.computeIfPresent(subscriber.operatorId, (id, subscribers) -> {
+            subscribers.remove(subscriber);
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+    }
+
+    private final class Subscriber {
+        private final String operatorId;
+        private final SseEmitter emitter;
+        private final AtomicReference<OperatorLocationDto> pending = new AtomicReference<>();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile OperatorLocationDto lastSent;
+        private volatile boolean closed;
+
+        private Subscriber(String operatorId, SseEmitter emitter) {
+            this.operatorId = operatorId;
+            this.emitter = emitter;
+        }
+
+        private void offer(OperatorLocationDto location) {
+            if (closed) {
+                return;
+            }
+            pending.set(location);
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                dispatcher.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                OperatorLocationDto next;
+                while (!closed && (next = pending.getAndSet(null)) != null) {
+                    if (isSamePosition(lastSent, next)) {
+                        continue;
+                    }
+                    emitter.send(SseEmitter.event()
+                            .name(LOCATION_EVENT_NAME)
+                            .data(next, MediaType.APPLICATION_JSON));
+                    lastSent = next;
+                }
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Suscriptor del operador {} desconectado: {}", operatorId, e.getMessage());
+                closed = true;
+                unsubscribe(this);
+            } finally {
+                draining.set(false);
+            }
+
+            if (!closed && pending.get() != null) {
+                scheduleDrain();
+            }
+        }
+
+        private boolean isSamePosition(OperatorLocationDto previous, OperatorLocationDto current) {
+            return previous != null
+                    && Objects.equals(previous.getLatitude(), current.getLatitude())
+                    && Objects.equals(previous.getLongitude(), current.getLongitude())
+                    && Objects.equals(previous.getStatus(), current.getStatus());
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.gruastremart.api.service.location;
+
+import com.gruastremart.api.dto.OperatorLocationDto;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.gruastremart.api.utils.constants.Constants.OPERATOR_TRACK_MAX_PENDING_POINTS;
+import static com.gruastremart.api.utils.constants.Constants.OPERATOR_TRACK_MAX_POINTS;
+
+/**
+ * Historial reciente de posiciones de cada operador, incluidos los puntos intermedios de los lotes
+ * que no llegan a la cache de ubicación en vivo. Se guardan como máximo OPERATOR_TRACK_MAX_POINTS por operador
+ * y se descartan los más antiguos. Cada historial se modifica y se lee dentro de compute sobre su propia entrada.
+ * <p>
+ * Además acumula los puntos pendientes de persistir, que {@link OperatorTrackStore} vacía periódicamente.
+ * Si Mongo no está disponible se conservan como máximo OPERATOR_TRACK_MAX_PENDING_POINTS por operador
+ */
+@Service
+public class OperatorTrackBuffer {
+
+    private final Map<String, Deque<OperatorLocationDto>> tracks = new ConcurrentHashMap<>();
+    private final Map<String, Deque<OperatorLocationDto>> pending = new ConcurrentHashMap<>();
+
+    public void append(String operatorId, List<OperatorLocationDto> points) {
+        addBounded(tracks, operatorId, points, OPERATOR_TRACK_MAX_POINTS);
+        addBounded(pending, operatorId, points, OPERATOR_TRACK_MAX_PENDING_POINTS);
+    }
+
+    /**
+     * Extrae los puntos pendientes de persistir de todos los operadores
+     */
+    public Map<String, List<OperatorLocationDto>> drainPending() {
+        var drained = new HashMap<String, List<OperatorLocationDto>>();
+        for (var operatorId : pending.keySet()) {
+            pending.computeIfPresent(operatorId, (id, points) -> {
+                drained.put(id, new ArrayList<>(points));
+                return null;
+            });
+        }
+        return drained;
+    }
+
+    /**
+     * Copia de los puntos del operador aún sin persistir
+     */
+    public List<OperatorLocationDto> pending(String operatorId) {
+        var copy = new ArrayList<OperatorLocationDto>();
+        pending.computeIfPresent(operatorId, (id, points) -> {
+            copy.addAll(points);
+            return points;
+        });
+        return copy;
+    }
+
+    /**
+     * Devuelve a pendientes los puntos que no se pudieron persistir o cuya ventana sigue abierta
+     */
+    public void requeue(String operatorId, List<OperatorLocationDto> points) {
+        addBounded(pending, operatorId, points, OPERATOR_TRACK_MAX_PENDING_POINTS);
+    }
+
+    /**
+     * Puntos del operador ordenados por fecha; un lote puede llegar después de puntos en vivo más recientes
+     */
+    public List<OperatorLocationDto> recent(String operatorId) {
+        var copy = new ArrayList<OperatorLocationDto>();
+        tracks.computeIfPresent(operatorId, (id, track) -> {
+            copy.addAll(track);
+            return track;
+        });
+        copy.sort(Comparator.comparing(OperatorLocationDto::getTimestamp));
+        return copy;
+    }
+
+    private static void addBounded(Map<String, Deque<OperatorLocationDto>> target, String operatorId,
+                                   List<OperatorLocationDto> points, int maxPoints) {
+        target.compute(operatorId, (id, track) -> {
+            var updated = track != null ? track : new ArrayDeque<OperatorLocationDto>();
+            for (var point : points) {
+                updated.addLast(point);
+                if (updated.size() > maxPoints) {
+                    updated.removeFirst();
+                }
+            }
+            return updated;
+        });
+    }
+}
@@ -0,0 +1,163 @@
+package com.gruastremart.api.service.location;
+
+import com.gruastremart.api.dto.OperatorLocationDto;
+import com.gruastremart.api.persistance.entity.OperatorTrack;
+import com.gruastremart.api.persistance.repository.custom.OperatorTrackCustomRepository;
+import com.gruastremart.api.utils.tools.TrackCodec;
+import com.gruastremart.api.utils.tools.TrackCodec.TrackPoint;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.time.Clock;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static com.gruastremart.api.utils.constants.Constants.OPERATOR_TRACK_BUCKET_MINUTES;
+
+/**
+ * Persiste el recorrido GPS de los operadores. Los puntos se acumulan en {@link OperatorTrackBuffer}
+ * y se vuelcan como un documento comprimido por operador y ventana de OPERATOR_TRACK_BUCKET_MINUTES minutos,
+ * en lugar de un documento por punto. Cada volcado periódico solo escribe las ventanas ya cerradas; los puntos
+ * de la ventana en curso siguen pendientes hasta que cierra (o hasta el volcado de parada).
+ * Un punto de un lote que llega tarde, con su ventana ya persistida, genera un tramo adicional para esa ventana
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OperatorTrackStore {
+
+    static final int MAX_POINTS_PER_BUCKET = 1_000;
+    private static final long BUCKET_MILLIS = TimeUnit.MINUTES.toMillis(OPERATOR_TRACK_BUCKET_MINUTES);
+
+    private final OperatorTrackBuffer operatorTrackBuffer;
+    private final OperatorTrackCustomRepository operatorTrackCustomRepository;
+    private final Clock clock;
+
+    @Scheduled(fixedDelayString = "${app.tracks.flush-interval-ms:60000}")
+    public void flush() {
+        flush(false);
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush(true);
+    }
+
+    private void flush(boolean includeOpenWindow) {
+        var pending = operatorTrackBuffer.drainPending();
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        long openWindow = includeOpenWindow ? Long.MAX_VALUE : Math.floorDiv(clock.millis(), BUCKET_MILLIS);
+        var buckets = new ArrayList<Bucket>();
+        pending.forEach((operatorId, locations) -> {
+            var closed = new ArrayList<OperatorLocationDto>();
+            var open = new ArrayList<OperatorLocationDto>();
+            locations.forEach(location -> (window(location) < openWindow ? closed : open).add(location));
+            if (!open.isEmpty()) {
+                operatorTrackBuffer.requeue(operatorId, open);
+            }
+            buckets.addAll(toBuckets(operatorId, closed));
+        });
+        if (buckets.isEmpty()) {
+            return;
+        }
+
+        var tracks = buckets.stream().map(Bucket::track).toList();
+        try {
+            var failed = operatorTrackCustomRepository.insertAll(tracks);
+            if (!failed.isEmpty()) {
+                var byTrack = new IdentityHashMap<OperatorTrack, Bucket>();
+                buckets.forEach(bucket -> byTrack.put(bucket.track(), bucket));
+                failed.forEach(track -> requeue(byTrack.get(track)));
+                log.warn("{} tramos de recorrido rechazados, se reintentarán", failed.size());
+            }
+            log.debug("Recorridos persistidos: {} tramos de {} operadores", tracks.size() - failed.size(), pending.size());
+        } catch (Exception e) {
+            log.warn("No se pudieron persistir los recorridos, se reintentará: {}", e.getMessage());
+            buckets.forEach(this::requeue);
+        }
+    }
+
+    private void requeue(Bucket bucket) {
+        operatorTrackBuffer.requeue(bucket.track().getOperatorId(), bucket.locations());
+    }
+
+    /**
+     * Recorrido del operador entre dos instantes: tramos persistidos más los puntos aún en memoria
+     * (recientes y pendientes de persistir), ordenado por fecha y sin duplicados
+     */
+    public List<TrackPoint> findTrack(String operatorId, Instant from, Instant to) {
+        var byTime = new TreeMap<Long, TrackPoint>();
+        operatorTrackCustomRepository.findOverlapping(operatorId, from, to).stream()
+                .flatMap(track -> TrackCodec.decode(track).stream())
+                .forEach(point -> byTime.put(point.epochMillis(), point));
+        Stream.concat(operatorTrackBuffer.recent(operatorId).stream(), operatorTrackBuffer.pending(operatorId).stream())
+                .map(OperatorTrackStore::toTrackPoint)
+                .forEach(point -> byTime.putIfAbsent(point.epochMillis(), point));
+
+        return List.copyOf(byTime.subMap(from.toEpochMilli(), true, to.toEpochMilli(), true).values());
+    }
+
+    /**
+     * Agrupa los puntos en tramos alineados a ventanas de OPERATOR_TRACK_BUCKET_MINUTES
+     */
+    private List<Bucket> toBuckets(String operatorId, List<OperatorLocationDto> locations) {
+        var sorted = locations.stream()
+                .sorted(Comparator.comparing(OperatorLocationDto::getTimestamp))
+                .toList();
+
+        var buckets = new ArrayList<Bucket>();
+        var bucket = new ArrayList<OperatorLocationDto>();
+        long currentWindow = Long.MIN_VALUE;
+        for (var location : sorted) {
+            long window = window(location);
+            if (!bucket.isEmpty() && (window != currentWindow || bucket.size() == MAX_POINTS_PER_BUCKET)) {
+                buckets.add(toBucket(operatorId, bucket));
+                bucket = new ArrayList<>();
+            }
+            currentWindow = window;
+            bucket.add(location);
+        }
+        if (!bucket.isEmpty()) {
+            buckets.add(toBucket(operatorId, bucket));
+        }
+        return buckets;
+    }
+
+    private static Bucket toBucket(String operatorId, List<OperatorLocationDto> locations) {
+        var points = locations.stream().map(OperatorTrackStore::toTrackPoint).toList();
+        return new Bucket(TrackCodec.encode(operatorId, points), locations);
+    }
+
+    private static long window(OperatorLocationDto location) {
+        return Math.floorDiv(toEpochMillis(location.getTimestamp()), BUCKET_MILLIS);
+    }
+
+    private static TrackPoint toTrackPoint(OperatorLocationDto location) {
+        return new TrackPoint(location.getLatitude(), location.getLongitude(), toEpochMillis(location.getTimestamp()));
+    }
+
+    private static long toEpochMillis(LocalDateTime timestamp) {
+        // Las marcas de tiempo de OperatorLocationDto están en la zona horaria del servidor
+        return timestamp.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    /**
+     * Tramo codificado junto a los puntos de origen, para devolverlos a pendientes si su inserción falla
+     */
+    private record Bucket(OperatorTrack track, List<OperatorLocationDto> locations) {
+    }
+}
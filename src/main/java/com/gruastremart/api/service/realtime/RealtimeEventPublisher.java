@@ -0,0 +1,70 @@
+package com.gruastremart.api.service.realtime;
+
+import com.gruastremart.api.dto.CraneDemandEventDto;
+import com.gruastremart.api.dto.CraneDemandResponseDto;
+import com.gruastremart.api.dto.DispatchOfferDto;
+import com.gruastremart.api.dto.NearbyCraneDemandEventDto;
+import com.gruastremart.api.dto.NearbyOperatorDto;
+import com.gruastremart.api.dto.OperatorLocationDto;
+import com.gruastremart.api.persistance.entity.CraneDemand;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.MessagingException;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.Date;
+import java.util.List;
+
+import static com.gruastremart.api.utils.constants.Constants.CRANE_DEMAND_TOPIC;
+import static com.gruastremart.api.utils.constants.Constants.OPERATOR_TOPIC;
+
+/**
+ * Publica en el broker STOMP los eventos que antes los clientes obtenían por polling.
+ * El broker encola el envío en su propio canal de salida, así que publicar no bloquea la petición;
+ * un fallo al publicar se registra y nunca rompe la operación de negocio
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RealtimeEventPublisher {
+
+    private final SimpMessagingTemplate messagingTemplate;
+
+    public void publishDemandChanged(CraneDemand craneDemand) {
+        var event = CraneDemandEventDto.builder()
+                .craneDemandId(craneDemand.getId())
+                .state(craneDemand.getState())
+                .assignedOperatorId(craneDemand.getAssignedOperatorId())
+                .updatedAt(craneDemand.getUpdatedAt() != null ? craneDemand.getUpdatedAt() : new Date())
+                .build();
+        send(CRANE_DEMAND_TOPIC + craneDemand.getId(), event);
+    }
+
+    public void publishOperatorLocation(OperatorLocationDto location) {
+        send(OPERATOR_TOPIC + location.getOperatorId() + "/location", location);
+    }
+
+    /**
+     * Envía la nueva demanda solo a los operadores indicados, cada uno con su distancia al origen
+     */
+    public void publishNewDemandToOperators(CraneDemandResponseDto craneDemand, List<NearbyOperatorDto> operators) {
+        operators.forEach(operator -> send(OPERATOR_TOPIC + operator.getOperatorId() + "/demands",
+                NearbyCraneDemandEventDto.builder()
+                        .craneDemand(craneDemand)
+                        .distanceKm(operator.getDistanceKm())
+                        .build()));
+    }
+
+    public void publishDispatchOffer(DispatchOfferDto offer) {
+        send(OPERATOR_TOPIC + offer.getOperatorId() + "/offers", offer);
+    }
+
+    private void send(String destination, Object payload) {
+        try {
+            messagingTemplate.convertAndSend(destination, payload);
+        } catch (MessagingException e) {
+            log.warn("No se pudo publicar en {}: {}", destination, e.getMessage());
+        }
+    }
+}
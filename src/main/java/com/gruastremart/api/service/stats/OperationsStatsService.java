@@ -0,0 +1,218 @@
+package com.gruastremart.api.service.stats;
+
+import com.gruastremart.api.dto.OperationsStatsDto;
+import com.gruastremart.api.dto.OperationsStatsResponseDto;
+import com.gruastremart.api.exception.ServiceException;
+import com.gruastremart.api.persistance.entity.CraneDemand;
+import com.gruastremart.api.persistance.entity.OperationsStats;
+import com.gruastremart.api.persistance.repository.OperationsStatsRepository;
+import com.gruastremart.api.persistance.repository.custom.OperationsStatsCustomRepository;
+import com.gruastremart.api.utils.enums.CraneDemandStateEnum;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mantiene los contadores diarios del panel de operación. Cada transición de una demanda o un pago
+ * incrementa el documento del día, de modo que el panel lee unos pocos documentos pre-agregados
+ * en lugar de listar demandas y pagos. Un fallo al actualizar los contadores solo se registra:
+ * nunca interrumpe la operación de negocio que lo origina.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OperationsStatsService {
+
+    static final int DEFAULT_RANGE_DAYS = 30;
+    static final int MAX_RANGE_DAYS = 366;
+
+    private final OperationsStatsRepository operationsStatsRepository;
+    private final OperationsStatsCustomRepository operationsStatsCustomRepository;
+
+    public void recordDemandCreated() {
+        increment(new Update().inc("demandsByState." + CraneDemandStateEnum.ACTIVE.name(), 1));
+    }
+
+    /**
+     * Demanda recién asignada (ACTIVE → TAKEN): el tiempo en ACTIVE va de createdAt a takenAt
+     */
+    public void recordDemandTaken(CraneDemand demand) {
+        var update = new Update().inc("demandsByState." + CraneDemandStateEnum.TAKEN.name(), 1);
+        addDuration(update, "activeToTaken", demand.getCreatedAt(), demand.getTakenAt());
+        increment(update);
+    }
+
+    /**
+     * Transición a CANCELLED o COMPLETED. En COMPLETED se acumula el tiempo TAKEN → COMPLETED
+     * (solo si la demanda tiene takenAt) y la demanda completada del operador
+     */
+    public void recordDemandStateChanged(CraneDemand demand, CraneDemandStateEnum target) {
+        var update = new Update().inc("demandsByState." + target.name(), 1);
+        if (target == CraneDemandStateEnum.COMPLETED) {
+            addDuration(update, "takenToCompleted", demand.getTakenAt(), demand.getCompletedAt());
+            if (isValidKey(demand.getAssignedOperatorId())) {
+                update.inc("completedByOperator." + demand.getAssignedOperatorId(), 1);
+            }
+        }
+        increment(update);
+    }
+
+    /**
+     * Pago recién registrado en su estado inicial
+     */
+    public void recordPayment(String status, Double amount) {
+        if (!isValidKey(status)) {
+            return;
+        }
+        var update = new Update();
+        addPayment(update, status, 1, amount);
+        increment(update);
+    }
+
+    /**
+     * Cambio de estado de un pago: el pago y su importe pasan del estado anterior al nuevo, de modo que
+     * cada pago cuenta una sola vez y paymentAmountByStatus se puede sumar. Los contadores de un día
+     * son el saldo de los movimientos de ese día (el estado anterior puede quedar en negativo si el pago
+     * se registró otro día); la suma del rango refleja los pagos en cada estado.
+     * Si el estado no cambia no se registra nada
+     */
+    public void recordPaymentStatusChanged(String previousStatus, String newStatus, Double amount) {
+        if (!isValidKey(newStatus) || newStatus.equals(previousStatus)) {
+            return;
+        }
+        var update = new Update();
+        addPayment(update, newStatus, 1, amount);
+        if (isValidKey(previousStatus)) {
+            addPayment(update, previousStatus, -1, amount != null ? -amount : null);
+        }
+        increment(update);
+    }
+
+    /**
+     * Devuelve los contadores de cada día del rango (ambos inclusive, fechas UTC yyyy-MM-dd) y sus totales.
+     * Sin fechas se devuelven los últimos 30 días
+     */
+    public OperationsStatsResponseDto getStats(String from, String to) {
+        var toDay = parseDay(to, LocalDate.now(ZoneOffset.UTC));
+        var fromDay = parseDay(from, toDay.minusDays(DEFAULT_RANGE_DAYS - 1L));
+        if (fromDay.isAfter(toDay)) {
+            throw new ServiceException("'from' must not be after 'to'", HttpStatus.BAD_REQUEST.value());
+        }
+        if (ChronoUnit.DAYS.between(fromDay, toDay) >= MAX_RANGE_DAYS) {
+            throw new ServiceException("Date range cannot exceed " + MAX_RANGE_DAYS + " days", HttpStatus.BAD_REQUEST.value());
+        }
+
+        var days = operationsStatsRepository.findDaysBetween(fromDay.toString(), toDay.toString());
+        var totals = new OperationsStats();
+        days.forEach(day -> merge(totals, day));
+
+        return OperationsStatsResponseDto.builder()
+                .from(fromDay.toString())
+                .to(toDay.toString())
+                .totals(toDto(totals, null))
+                .days(days.stream().map(day -> toDto(day, day.getId())).toList())
+                .build();
+    }
+
+    private void increment(Update update) {
+        try {
+            operationsStatsCustomRepository.increment(LocalDate.now(ZoneOffset.UTC), update);
+        } catch (Exception e) {
+            log.warn("No se pudieron actualizar las estadísticas de operación: {}", e.getMessage());
+        }
+    }
+
+    private static void addPayment(Update update, String status, int count, Double amount) {
+        update.inc("paymentsByStatus." + status, count);
+        if (amount != null) {
+            update.inc("paymentAmountByStatus." + status, amount);
+        }
+    }
+
+    /**
+     * Los valores se usan como parte de la clave de $inc: sin null (crearía la clave "null") ni separadores de ruta
+     */
+    private static boolean isValidKey(String value) {
+        return value != null && !value.isBlank() && !value.contains(".") && !value.startsWith("$");
+    }
+
+    private static void addDuration(Update update, String prefix, Date start, Date end) {
+        if (start == null || end == null || end.before(start)) {
+            return;
+        }
+        update.inc(prefix + "Count", 1).inc(prefix + "Millis", end.getTime() - start.getTime());
+    }
+
+    private static LocalDate parseDay(String value, LocalDate defaultValue) {
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        try {
+            return LocalDate.parse(value.trim());
+        } catch (DateTimeParseException e) {
+            throw new ServiceException("Invalid date format. Use 'yyyy-MM-dd'.", HttpStatus.BAD_REQUEST.value());
+        }
+    }
+
+    private static void merge(OperationsStats into, OperationsStats day) {
+        into.setDemandsByState(mergeCounts(into.getDemandsByState(), day.getDemandsByState()));
+        into.setCompletedByOperator(mergeCounts(into.getCompletedByOperator(), day.getCompletedByOperator()));
+        into.setPaymentsByStatus(mergeCounts(into.getPaymentsByStatus(), day.getPaymentsByStatus()));
+        into.setActiveToTakenCount(sum(into.getActiveToTakenCount(), day.getActiveToTakenCount()));
+        into.setActiveToTakenMillis(sum(into.getActiveToTakenMillis(), day.getActiveToTakenMillis()));
+        into.setTakenToCompletedCount(sum(into.getTakenToCompletedCount(), day.getTakenToCompletedCount()));
+        into.setTakenToCompletedMillis(sum(into.getTakenToCompletedMillis(), day.getTakenToCompletedMillis()));
+
+        var amounts = new HashMap<String, Double>(into.getPaymentAmountByStatus() != null ? into.getPaymentAmountByStatus() : Map.of());
+        if (day.getPaymentAmountByStatus() != null) {
+            day.getPaymentAmountByStatus().forEach((status, amount) -> amounts.merge(status, amount, Double::sum));
+        }
+        into.setPaymentAmountByStatus(amounts);
+    }
+
+    private static Map<String, Long> mergeCounts(Map<String, Long> total, Map<String, Long> day) {
+        var merged = new HashMap<String, Long>(total != null ? total : Map.of());
+        if (day != null) {
+            day.forEach((key, count) -> merged.merge(key, count, Long::sum));
+        }
+        return merged;
+    }
+
+    private static Long sum(Long total, Long value) {
+        return (total != null ? total : 0L) + (value != null ? value : 0L);
+    }
+
+    private static OperationsStatsDto toDto(OperationsStats stats, String day) {
+        return OperationsStatsDto.builder()
+                .day(day)
+                .demandsByState(orEmpty(stats.getDemandsByState()))
+                .completedByOperator(orEmpty(stats.getCompletedByOperator()))
+                .averageActiveToTakenMinutes(averageMinutes(stats.getActiveToTakenMillis(), stats.getActiveToTakenCount()))
+                .averageTakenToCompletedMinutes(averageMinutes(stats.getTakenToCompletedMillis(), stats.getTakenToCompletedCount()))
+                .paymentsByStatus(orEmpty(stats.getPaymentsByStatus()))
+                .paymentAmountByStatus(orEmpty(stats.getPaymentAmountByStatus()))
+                .build();
+    }
+
+    private static Double averageMinutes(Long totalMillis, Long count) {
+        if (totalMillis == null || count == null || count == 0) {
+            return null;
+        }
+        return (double) totalMillis / count / TimeUnit.MINUTES.toMillis(1);
+    }
+
+    private static <V> Map<String, V> orEmpty(Map<String, V> map) {
+        return map != null ? map : Map.of();
+    }
+}
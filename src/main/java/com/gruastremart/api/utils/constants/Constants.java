@@ -24,9 +24,29 @@ public class Constants {
     public static final String LOGIN_PATH = "/login";
     public static final String LOGIN_URL = API_VERSION_PATH + USERS_PATH + LOGIN_PATH;
 
+    // Collections
+    public static final String USERS_COLLECTION = "users";
+    public static final String OPERATORS_COLLECTION = "operators";
+    public static final String PAYMENTS_COLLECTION = "payments";
+    public static final String CRANE_DEMANDS_COLLECTION = "crane_demands";
+    public static final String EMAIL_OUTBOX_COLLECTION = "email_outbox";
+    public static final String OPERATOR_TRACKS_COLLECTION = "operator_tracks";
+
     // Cache
     public static final String OPERATOR_LOCATIONS_CACHE = "operatorLocations";
     public static final String CRANE_PRICING_CACHE = "cranePricing";
+    public static final String QUERY_COUNT_CACHE = "queryCounts";
+    public static final int QUERY_COUNT_TTL_SECONDS = 30;
+    public static final int JWT_AUTHENTICATION_CACHE_MAX_SIZE = 10_000;
+    public static final int JWT_AUTHENTICATION_CACHE_MAX_TTL_MINUTES = 5;
+    public static final int OPERATOR_LOCATIONS_TTL_MINUTES = 5;
+
+    // Operator locations
+    public static final int MAX_LOCATION_BATCH_SIZE = 500;
+    public static final int OPERATOR_TRACK_MAX_POINTS = 300;
+    public static final int MAX_LOCATION_CLOCK_SKEW_SECONDS = 120;
+    public static final int OPERATOR_TRACK_MAX_PENDING_POINTS = 10_000;
+    public static final int OPERATOR_TRACK_BUCKET_MINUTES = 10;
 
     // Email
     public static final String SEND_EMAIL_URL = API_VERSION_PATH + "/emails/contact";
@@ -37,6 +57,14 @@ public class Constants {
     public static final String FORGOT_PASSWORD_URL = API_VERSION_PATH + "/auth/forgot-password";
     public static final String RESET_PASSWORD_URL = API_VERSION_PATH + "/auth/reset-password";
 
+    // WebSocket (STOMP)
+    public static final String WEBSOCKET_ENDPOINT = "/ws";
+    public static final String WEBSOCKET_APP_PREFIX = "/app";
+    public static final String WEBSOCKET_TOPIC_PREFIX = "/topic";
+    public static final String CRANE_DEMAND_TOPIC = WEBSOCKET_TOPIC_PREFIX + "/crane-demands/";
+    public static final String OPERATOR_TOPIC = WEBSOCKET_TOPIC_PREFIX + "/operators/";
+    public static final long WEBSOCKET_HEARTBEAT_MILLIS = 10_000;
+
     //Actuator
     public static final String ACTUATOR_PATHS = "/actuator/**";
 
@@ -0,0 +1,28 @@
+package com.gruastremart.api.utils.enums;
+
+import com.gruastremart.api.exception.ServiceException;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Modo de cálculo del total en los listados paginados.
+ * EXACT: count() con los mismos filtros (comportamiento por defecto).
+ * ESTIMATED: estimatedDocumentCount sin filtros o count cacheado durante unos segundos con filtros.
+ * NONE: no cuenta; solo indica si existe una página siguiente.
+ */
+public enum CountModeEnum {
+    EXACT,
+    ESTIMATED,
+    NONE;
+
+    public static CountModeEnum fromParam(String value) {
+        if (value == null || value.isBlank()) {
+            return EXACT;
+        }
+        for (CountModeEnum mode : values()) {
+            if (mode.name().equalsIgnoreCase(value.trim())) {
+                return mode;
+            }
+        }
+        throw new ServiceException("Invalid count mode: " + value, HttpStatus.BAD_REQUEST.value());
+    }
+}
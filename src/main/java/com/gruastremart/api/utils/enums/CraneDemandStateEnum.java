@@ -1,5 +1,8 @@
 package com.gruastremart.api.utils.enums;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 public enum CraneDemandStateEnum {
     ACTIVE("ACTIVE"),
     INACTIVE("INACTIVE"),
@@ -10,4 +13,15 @@ public enum CraneDemandStateEnum {
 
     CraneDemandStateEnum(String state) {
     }
+
+    /**
+     * Estados desde los que se puede pasar a este: ACTIVE → TAKEN → COMPLETED y ACTIVE → CANCELLED
+     */
+    public Set<CraneDemandStateEnum> allowedSources() {
+        return switch (this) {
+            case TAKEN, CANCELLED -> EnumSet.of(ACTIVE);
+            case COMPLETED -> EnumSet.of(TAKEN);
+            default -> EnumSet.noneOf(CraneDemandStateEnum.class);
+        };
+    }
 }
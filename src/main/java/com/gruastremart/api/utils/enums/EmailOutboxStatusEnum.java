@@ -0,0 +1,8 @@
+package com.gruastremart.api.utils.enums;
+
+public enum EmailOutboxStatusEnum {
+    PENDING,
+    PROCESSING,
+    SENT,
+    FAILED
+}
@@ -0,0 +1,35 @@
+package com.gruastremart.api.utils.enums;
+
+import com.gruastremart.api.exception.ServiceException;
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+
+/**
+ * Formatos de exportación de demandas. CSV por defecto; NDJSON escribe un objeto JSON por línea.
+ */
+@Getter
+public enum ExportFormatEnum {
+    CSV(new MediaType("text", "csv"), "csv"),
+    NDJSON(MediaType.APPLICATION_NDJSON, "ndjson");
+
+    private final MediaType mediaType;
+    private final String extension;
+
+    ExportFormatEnum(MediaType mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public static ExportFormatEnum fromParam(String value) {
+        if (value == null || value.isBlank()) {
+            return CSV;
+        }
+        for (ExportFormatEnum format : values()) {
+            if (format.name().equalsIgnoreCase(value.trim())) {
+                return format;
+            }
+        }
+        throw new ServiceException("Invalid export format: " + value, HttpStatus.BAD_REQUEST.value());
+    }
+}
@@ -0,0 +1,52 @@
+package com.gruastremart.api.utils.tools;
+
+import com.gruastremart.api.exception.ServiceException;
+import org.bson.types.ObjectId;
+import org.springframework.http.HttpStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Optional;
+
+/**
+ * Codifica y decodifica los cursores opacos de la paginación keyset.
+ * El cursor contiene la fecha de creación y el id del último elemento devuelto.
+ * Las demandas antiguas sin fecha de creación se codifican con la fecha vacía.
+ */
+public class CursorUtil {
+
+    private static final String SEPARATOR = ":";
+
+    private CursorUtil() {
+    }
+
+    public static String encode(Date createdAt, String id) {
+        var raw = (createdAt != null ? String.valueOf(createdAt.getTime()) : "") + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Devuelve vacío para la primera página (cursor nulo o en blanco)
+     */
+    public static Optional<Position> decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return Optional.empty();
+        }
+
+        try {
+            var raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            var parts = raw.split(SEPARATOR, 2);
+            if (parts.length != 2 || !ObjectId.isValid(parts[1])) {
+                throw new ServiceException("Invalid cursor", HttpStatus.BAD_REQUEST.value());
+            }
+            var createdAt = parts[0].isEmpty() ? null : new Date(Long.parseLong(parts[0]));
+            return Optional.of(new Position(createdAt, parts[1]));
+        } catch (IllegalArgumentException e) {
+            throw new ServiceException("Invalid cursor", HttpStatus.BAD_REQUEST.value());
+        }
+    }
+
+    public record Position(Date createdAt, String id) {
+    }
+}
@@ -0,0 +1,23 @@
+package com.gruastremart.api.utils.tools;
+
+public class GeoUtils {
+
+    public static final double EARTH_RADIUS_KM = 6371.0088;
+    // Derivado del mismo radio que haversineKm para que las cajas de búsqueda nunca queden más estrechas que el radio
+    public static final double KM_PER_DEGREE = Math.toRadians(1) * EARTH_RADIUS_KM;
+
+    private GeoUtils() {
+    }
+
+    /**
+     * Distancia en kilómetros entre dos coordenadas usando la fórmula de haversine
+     */
+    public static double haversineKm(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+}
@@ -1,5 +1,6 @@
 package com.gruastremart.api.utils.tools;
 
+import com.gruastremart.api.config.security.jwt.JwtClaimsHolder;
 import com.gruastremart.api.dto.RequestMetadataDto;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
@@ -41,7 +42,16 @@ public class RequestMetadataExtractorUtil {
         return new RequestMetadataDto(userId, principal, role, ip, userAgent, timestamp);
     }
 
+    /**
+     * Reutiliza los claims verificados por el filtro JWT y solo vuelve a verificar el token si no están
+     */
     private static Claims extractClaimsFromToken(HttpServletRequest request) {
+        var verifiedClaims = JwtClaimsHolder.get(request);
+        if (verifiedClaims.isPresent()) {
+            JwtClaimsHolder.recordAvoidedVerification("request-metadata");
+            return verifiedClaims.get();
+        }
+
         var token = request.getHeader("Authorization");
 
         if (token == null || !token.startsWith(TOKEN_PREFIX)) {
@@ -0,0 +1,105 @@
+package com.gruastremart.api.utils.tools;
+
+import com.gruastremart.api.persistance.entity.OperatorTrack;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Codificación compacta de tramos de recorrido. Las coordenadas se redondean a microgrados (~0,1 m)
+ * y cada punto se guarda como diferencia con el anterior (latitud, longitud y milisegundos) en zigzag + varint,
+ * de modo que un punto típico ocupa 4-6 bytes en lugar de un documento BSON completo.
+ */
+public class TrackCodec {
+
+    private static final double MICRODEGREES = 1_000_000d;
+
+    private TrackCodec() {
+    }
+
+    public record TrackPoint(double latitude, double longitude, long epochMillis) {
+    }
+
+    /**
+     * @param points puntos del tramo ordenados por fecha, al menos uno
+     */
+    public static OperatorTrack encode(String operatorId, List<TrackPoint> points) {
+        var first = points.getFirst();
+        var output = new ByteArrayOutputStream(points.size() * 6);
+
+        int previousLatitude = toMicrodegrees(first.latitude());
+        int previousLongitude = toMicrodegrees(first.longitude());
+        long previousMillis = first.epochMillis();
+        for (var point : points.subList(1, points.size())) {
+            int latitude = toMicrodegrees(point.latitude());
+            int longitude = toMicrodegrees(point.longitude());
+            writeVarLong(output, zigzag(latitude - previousLatitude));
+            writeVarLong(output, zigzag(longitude - previousLongitude));
+            writeVarLong(output, zigzag(point.epochMillis() - previousMillis));
+            previousLatitude = latitude;
+            previousLongitude = longitude;
+            previousMillis = point.epochMillis();
+        }
+
+        return OperatorTrack.builder()
+                .operatorId(operatorId)
+                .bucketStart(new Date(first.epochMillis()))
+                .pointCount(points.size())
+                .firstLatitudeE6(toMicrodegrees(first.latitude()))
+                .firstLongitudeE6(toMicrodegrees(first.longitude()))
+                .deltas(output.toByteArray())
+                .build();
+    }
+
+    public static List<TrackPoint> decode(OperatorTrack track) {
+        var points = new ArrayList<TrackPoint>(track.getPointCount());
+        int latitude = track.getFirstLatitudeE6();
+        int longitude = track.getFirstLongitudeE6();
+        long millis = track.getBucketStart().getTime();
+        points.add(new TrackPoint(latitude / MICRODEGREES, longitude / MICRODEGREES, millis));
+
+        var deltas = track.getDeltas() != null ? track.getDeltas() : new byte[0];
+        var position = new int[]{0};
+        for (int i = 1; i < track.getPointCount(); i++) {
+            latitude += (int) unzigzag(readVarLong(deltas, position));
+            longitude += (int) unzigzag(readVarLong(deltas, position));
+            millis += unzigzag(readVarLong(deltas, position));
+            points.add(new TrackPoint(latitude / MICRODEGREES, longitude / MICRODEGREES, millis));
+        }
+        return points;
+    }
+
+    private static int toMicrodegrees(double degrees) {
+        return (int) Math.round(degrees * MICRODEGREES);
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static void writeVarLong(ByteArrayOutputStream output, long value) {
+        while ((value & ~0x7FL) != 0) {
+            output.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        output.write((int) value);
+    }
+
+    private static long readVarLong(byte[] bytes, int[] position) {
+        long value = 0;
+        int shift = 0;
+        byte current;
+        do {
+            current = bytes[position[0]++];
+            value |= (long) (current & 0x7F) << shift;
+            shift += 7;
+        } while ((current & 0x80) != 0);
+        return value;
+    }
+}
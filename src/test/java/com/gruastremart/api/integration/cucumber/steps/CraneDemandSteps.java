@@ -3,6 +3,10 @@ package com.gruastremart.api.integration.cucumber.steps;
 import com.gruastremart.api.controller.CraneDemandController;
 import com.gruastremart.api.dto.CraneDemandResponseDto;
 import com.gruastremart.api.exception.ServiceException;
+import com.gruastremart.api.persistance.entity.CraneDemand;
+import com.gruastremart.api.persistance.repository.CraneDemandRepository;
+import com.gruastremart.api.utils.enums.CraneDemandStateEnum;
+import io.cucumber.java.After;
 import io.cucumber.java.en.Given;
 import io.cucumber.java.en.Then;
 import io.cucumber.java.en.When;
@@ -12,6 +16,9 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
+import java.util.Date;
+import java.util.UUID;
+
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.emptyOrNullString;
 import static org.hamcrest.Matchers.is;
@@ -25,7 +32,9 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 public class CraneDemandSteps {
 
     private final CraneDemandController craneDemandController;
+    private final CraneDemandRepository craneDemandRepository;
 
+    private String createdDemandId;
     private CraneDemandResponseDto craneDemandResponseDto;
     private ResponseEntity<Void> voidResponseEntity;
     private Exception thrownException;
@@ -63,6 +72,68 @@ public class CraneDemandSteps {
         assertThat("La descripcion de la solicitud no debe estar vacía", craneDemandResponseDto.getDescription(), is(not(emptyOrNullString())));
     }
 
+    @After
+    public void deleteCreatedDemand() {
+        if (createdDemandId != null) {
+            craneDemandRepository.deleteById(createdDemandId);
+        }
+    }
+
+    /**
+     * Crea una demanda propia del escenario: la máquina de estados exige ACTIVE para cancelar y TAKEN para completar
+     */
+    @Given("existe una solicitud en estado {string}")
+    public void existDemandInState(String state) {
+        log.info("Ejecutado el GIVEN - solicitud en estado {}", state);
+        var now = new Date();
+        var demand = CraneDemand.builder()
+                .description("Solicitud de prueba")
+                .state(CraneDemandStateEnum.valueOf(state).name())
+                .createdByUserId("cucumber-" + UUID.randomUUID())
+                .createdAt(now)
+                .updatedAt(now)
+                .build();
+        if (CraneDemandStateEnum.TAKEN.name().equals(state)) {
+            demand.setAssignedOperatorId("cucumber-" + UUID.randomUUID());
+            demand.setTakenAt(now);
+        }
+        createdDemandId = craneDemandRepository.save(demand).getId();
+    }
+
+    @When("el usuario cancela la solicitud creada")
+    public void theUserCancelsCreatedDemand() {
+        theUserCancelsDemand(createdDemandId);
+    }
+
+    @When("el usuario intenta cancelar la solicitud creada")
+    public void theUserTriesToCancelCreatedDemand() {
+        theUserTriesToCancelDemand(createdDemandId);
+    }
+
+    @When("el operador completa la solicitud creada")
+    public void theOperatorCompletesCreatedDemand() {
+        theOperatorCompletesDemand(createdDemandId);
+    }
+
+    @When("el operador intenta completar la solicitud creada")
+    public void theOperatorTriesToCompleteCreatedDemand() {
+        theOperatorTriesToCompleteDemand(createdDemandId);
+    }
+
+    @Then("la solicitud queda en estado {string}")
+    public void theDemandIsInState(String state) {
+        var demand = craneDemandRepository.findById(createdDemandId).orElseThrow();
+        assertThat("El estado de la solicitud no es el esperado", demand.getState(), is(state));
+    }
+
+    @Then("se muestra un error de cambio de estado no permitido")
+    public void anErrorIsShownForInvalidTransition() {
+        log.info("Ejecutado el THEN - transición de estado no permitida");
+        assertThat("Debe haberse lanzado una excepción", thrownException, is(notNullValue()));
+        assertThat("La excepción debe ser ServiceException", thrownException instanceof ServiceException, is(true));
+        assertThat("El código debe ser CONFLICT", ((ServiceException) thrownException).getCode(), is(HttpStatus.CONFLICT.value()));
+    }
+
     // Step definitions para cancelación de solicitudes
     @Given("no existe una solicitud con el ID {string}")
     public void noExistAdvisorById(String userId) {
@@ -4,6 +4,7 @@ import com.gruastremart.api.controller.CraneDemandController;
 import com.gruastremart.api.dto.AssignCraneDemandDto;
 import com.gruastremart.api.dto.CraneDemandCreateRequestDto;
 import com.gruastremart.api.dto.CraneDemandResponseDto;
+import com.gruastremart.api.dto.CursorPageDto;
 import com.gruastremart.api.dto.LocationDto;
 import com.gruastremart.api.dto.RequestMetadataDto;
 import com.gruastremart.api.exception.ServiceException;
@@ -71,6 +72,29 @@ class CraneDemandControllerTest {
         assertEquals(craneDemandResponseDto.getId(), result.getBody().getContent().getFirst().getId());
     }
 
+    @Test
+    void testFindWithFiltersByCursor() {
+        // Arrange
+        CraneDemandResponseDto craneDemandResponseDto = new CraneDemandResponseDto();
+        craneDemandResponseDto.setId("1");
+
+        CursorPageDto<CraneDemandResponseDto> cursorPage = new CursorPageDto<>(List.of(craneDemandResponseDto), 1, true, "next-cursor");
+
+        MultiValueMap<String, String> params = new LinkedMultiValueMap<>();
+        params.add("cursor", "");
+        params.add("size", "1");
+        Mockito.when(craneDemandService.findWithFiltersByCursor(params)).thenReturn(cursorPage);
+
+        // Act
+        ResponseEntity<CursorPageDto<CraneDemandResponseDto>> result = craneDemandController.findWithFiltersByCursor(params);
+
+        // Assert
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        assertNotNull(result.getBody());
+        assertEquals("next-cursor", result.getBody().getNextCursor());
+        assertEquals(craneDemandResponseDto.getId(), result.getBody().getContent().getFirst().getId());
+    }
+
     @Test
     void testFindById() {
         // Arrange
@@ -0,0 +1,117 @@
+package com.gruastremart.api.unit.repository;
+
+import com.gruastremart.api.persistance.entity.CraneDemand;
+import com.gruastremart.api.persistance.repository.custom.CraneDemandCustomRepository;
+import com.gruastremart.api.persistance.repository.custom.PagedQueryExecutor;
+import com.gruastremart.api.utils.tools.CursorUtil;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.util.LinkedMultiValueMap;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CraneDemandCustomRepositoryTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private PagedQueryExecutor pagedQueryExecutor;
+
+    private CraneDemandCustomRepository craneDemandCustomRepository;
+
+    @BeforeEach
+    void setUp() {
+        craneDemandCustomRepository = new CraneDemandCustomRepository(mongoTemplate, pagedQueryExecutor);
+    }
+
+    private static LinkedMultiValueMap<String, String> params(String cursor) {
+        var params = new LinkedMultiValueMap<String, String>();
+        params.add("size", "2");
+        params.add("cursor", cursor);
+        return params;
+    }
+
+    private Query capturedQuery() {
+        var captor = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).find(captor.capture(), eq(CraneDemand.class));
+        return captor.getValue();
+    }
+
+    @Test
+    void testCursorPageFiltersAfterLastPositionAndKeepsLegacyDemandsLast() {
+        // Arrange
+        var createdAt = new Date(1_714_550_400_000L);
+        var id = new ObjectId();
+        when(mongoTemplate.find(any(Query.class), eq(CraneDemand.class))).thenReturn(List.of());
+
+        // Act
+        craneDemandCustomRepository.getWithFiltersByCursor(params(CursorUtil.encode(createdAt, id.toHexString())));
+
+        // Assert
+        var query = capturedQuery();
+        var or = query.getQueryObject().getList("$or", Document.class);
+        assertEquals(3, or.size());
+        assertEquals(new Document("$lt", createdAt), or.get(0).get("createdAt"));
+        assertEquals(createdAt, or.get(1).get("createdAt"));
+        assertEquals(new Document("$lt", id), or.get(1).get("_id"));
+        assertTrue(or.get(2).containsKey("createdAt"));
+        assertNull(or.get(2).get("createdAt"));
+        assertEquals(3, query.getLimit());
+    }
+
+    @Test
+    void testCursorFromLegacyDemandOnlyWalksDemandsWithoutCreatedAt() {
+        // Arrange
+        var id = new ObjectId();
+        when(mongoTemplate.find(any(Query.class), eq(CraneDemand.class))).thenReturn(List.of());
+
+        // Act
+        craneDemandCustomRepository.getWithFiltersByCursor(params(CursorUtil.encode(null, id.toHexString())));
+
+        // Assert
+        var queryObject = capturedQuery().getQueryObject();
+        assertFalse(queryObject.containsKey("$or"));
+        assertTrue(queryObject.containsKey("createdAt"));
+        assertNull(queryObject.get("createdAt"));
+        assertEquals(new Document("$lt", id), queryObject.get("_id"));
+    }
+
+    @Test
+    void testNextCursorIsBuiltFromLastRowEvenWithoutCreatedAt() {
+        // Arrange
+        var withDate = CraneDemand.builder().id(new ObjectId().toHexString()).createdAt(new Date()).build();
+        var legacy = CraneDemand.builder().id(new ObjectId().toHexString()).build();
+        var extra = CraneDemand.builder().id(new ObjectId().toHexString()).build();
+        when(mongoTemplate.find(any(Query.class), eq(CraneDemand.class))).thenReturn(List.of(withDate, legacy, extra));
+
+        // Act
+        var page = craneDemandCustomRepository.getWithFiltersByCursor(params(""));
+
+        // Assert
+        assertTrue(page.isHasNext());
+        assertEquals(2, page.getContent().size());
+        var next = CursorUtil.decode(page.getNextCursor()).orElseThrow();
+        assertNull(next.createdAt());
+        assertEquals(legacy.getId(), next.id());
+    }
+}
@@ -0,0 +1,74 @@
+package com.gruastremart.api.unit.repository;
+
+import com.gruastremart.api.persistance.entity.OperatorTrack;
+import com.gruastremart.api.persistance.repository.custom.OperatorTrackCustomRepository;
+import com.mongodb.bulk.BulkWriteError;
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OperatorTrackCustomRepositoryTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private BulkOperations bulkOperations;
+
+    private OperatorTrackCustomRepository operatorTrackCustomRepository;
+
+    @BeforeEach
+    void setUp() {
+        operatorTrackCustomRepository = new OperatorTrackCustomRepository(mongoTemplate);
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, OperatorTrack.class)).thenReturn(bulkOperations);
+        when(bulkOperations.insert(anyList())).thenReturn(bulkOperations);
+    }
+
+    private static List<OperatorTrack> tracks() {
+        return List.of(
+                OperatorTrack.builder().operatorId("operator-1").build(),
+                OperatorTrack.builder().operatorId("operator-2").build(),
+                OperatorTrack.builder().operatorId("operator-3").build());
+    }
+
+    @Test
+    void testInsertAllReturnsNothingWhenEveryBucketIsWritten() {
+        // Act
+        var failed = operatorTrackCustomRepository.insertAll(tracks());
+
+        // Assert
+        assertTrue(failed.isEmpty());
+    }
+
+    @Test
+    void testInsertAllReturnsOnlyRejectedBuckets() {
+        // Arrange
+        var tracks = tracks();
+        var exception = mock(BulkOperationException.class);
+        when(exception.getErrors()).thenReturn(List.of(new BulkWriteError(11000, "duplicate key", new BsonDocument(), 1)));
+        when(bulkOperations.execute()).thenThrow(exception);
+
+        // Act
+        var failed = operatorTrackCustomRepository.insertAll(tracks);
+
+        // Assert
+        assertEquals(1, failed.size());
+        assertSame(tracks.get(1), failed.getFirst());
+    }
+}
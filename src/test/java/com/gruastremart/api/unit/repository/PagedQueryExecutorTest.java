@@ -0,0 +1,84 @@
+package com.gruastremart.api.unit.repository;
+
+import com.gruastremart.api.persistance.entity.User;
+import com.gruastremart.api.persistance.repository.custom.PagedQueryExecutor;
+import com.gruastremart.api.utils.enums.CountModeEnum;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.List;
+
+import static com.gruastremart.api.utils.constants.Constants.QUERY_COUNT_CACHE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+
+@ExtendWith(MockitoExtension.class)
+class PagedQueryExecutorTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    private PagedQueryExecutor pagedQueryExecutor;
+
+    @BeforeEach
+    void setUp() {
+        pagedQueryExecutor = new PagedQueryExecutor(mongoTemplate, new ConcurrentMapCacheManager(QUERY_COUNT_CACHE));
+    }
+
+    @Test
+    void testNoneCountModeDetectsNextPageWithoutCounting() {
+        // Arrange
+        Mockito.when(mongoTemplate.find(any(Query.class), eq(User.class)))
+                .thenReturn(List.of(new User(), new User(), new User()));
+
+        // Act
+        Page<User> result = pagedQueryExecutor.find(new Query(), Pageable.ofSize(2).withPage(1), User.class, CountModeEnum.NONE);
+
+        // Assert
+        assertEquals(2, result.getContent().size());
+        assertTrue(result.hasNext());
+        Mockito.verify(mongoTemplate, Mockito.never()).count(any(Query.class), eq(User.class));
+    }
+
+    @Test
+    void testNoneCountModeOnLastPage() {
+        // Arrange
+        Mockito.when(mongoTemplate.find(any(Query.class), eq(User.class))).thenReturn(List.of(new User()));
+
+        // Act
+        Page<User> result = pagedQueryExecutor.find(new Query(), Pageable.ofSize(2).withPage(1), User.class, CountModeEnum.NONE);
+
+        // Assert
+        assertFalse(result.hasNext());
+        assertEquals(3, result.getTotalElements());
+    }
+
+    @Test
+    void testEstimatedCountModeCachesFilteredCounts() {
+        // Arrange
+        Mockito.when(mongoTemplate.find(any(Query.class), eq(User.class))).thenReturn(List.of(new User()));
+        Mockito.when(mongoTemplate.getCollectionName(User.class)).thenReturn("users");
+        Mockito.when(mongoTemplate.count(any(Query.class), eq(User.class))).thenReturn(42L);
+
+        // Act
+        pagedQueryExecutor.find(new Query(Criteria.where("role").is("CLIENT")), Pageable.ofSize(10), User.class, CountModeEnum.ESTIMATED);
+        Page<User> result = pagedQueryExecutor.find(new Query(Criteria.where("role").is("CLIENT")), Pageable.ofSize(10), User.class, CountModeEnum.ESTIMATED);
+
+        // Assert
+        assertEquals(42L, result.getTotalElements());
+        Mockito.verify(mongoTemplate, Mockito.times(1)).count(any(Query.class), eq(User.class));
+    }
+}
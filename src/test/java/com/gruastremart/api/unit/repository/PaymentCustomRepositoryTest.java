@@ -0,0 +1,131 @@
+package com.gruastremart.api.unit.repository;
+
+import com.gruastremart.api.persistance.entity.CraneDemand;
+import com.gruastremart.api.persistance.entity.Payment;
+import com.gruastremart.api.persistance.repository.custom.PaymentCustomRepository;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PaymentCustomRepositoryTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private MongoConverter mongoConverter;
+
+    private PaymentCustomRepository paymentCustomRepository;
+
+    @BeforeEach
+    void setUp() {
+        paymentCustomRepository = new PaymentCustomRepository(mongoTemplate);
+        when(mongoTemplate.getCollectionName(Payment.class)).thenReturn("payments");
+        when(mongoTemplate.getCollectionName(CraneDemand.class)).thenReturn("crane_demands");
+    }
+
+    private void givenAggregationResult(Document result) {
+        var mapped = result != null ? List.of(result) : List.<Document>of();
+        when(mongoTemplate.aggregate(any(Aggregation.class), eq("crane_demands"), eq(Document.class)))
+                .thenReturn(new AggregationResults<>(mapped, new Document()));
+    }
+
+    private List<Document> capturedStages() {
+        var captor = ArgumentCaptor.forClass(Aggregation.class);
+        verify(mongoTemplate).aggregate(captor.capture(), eq("crane_demands"), eq(Document.class));
+        return captor.getValue().getPipeline().getOperations().stream()
+                .flatMap(operation -> operation.toPipelineStages(Aggregation.DEFAULT_CONTEXT).stream())
+                .toList();
+    }
+
+    private static Document stage(List<Document> stages, String operator) {
+        return stages.stream()
+                .filter(stage -> stage.containsKey(operator))
+                .findFirst()
+                .map(stage -> stage.get(operator, Document.class))
+                .orElseThrow(() -> new AssertionError("Missing stage " + operator));
+    }
+
+    @Test
+    void testFindOperatorPaymentsMapsContentAndTotalFacets() {
+        // Arrange
+        var first = new Document("_id", "payment-1").append("status", "VERIFIED");
+        var second = new Document("_id", "payment-2").append("status", "VERIFIED");
+        givenAggregationResult(new Document("content", List.of(first, second))
+                .append("total", List.of(new Document("total", 7))));
+        when(mongoTemplate.getConverter()).thenReturn(mongoConverter);
+        when(mongoConverter.read(Payment.class, first)).thenReturn(Payment.builder().id("payment-1").build());
+        when(mongoConverter.read(Payment.class, second)).thenReturn(Payment.builder().id("payment-2").build());
+
+        // Act
+        var page = paymentCustomRepository.findOperatorPayments("operator-1", "VERIFIED", PageRequest.of(1, 2));
+
+        // Assert
+        assertEquals(List.of("payment-1", "payment-2"), page.getContent().stream().map(Payment::getId).toList());
+        assertEquals(7, page.getTotalElements());
+        assertEquals(4, page.getTotalPages());
+
+        var stages = capturedStages();
+        var demandMatch = stages.getFirst().get("$match", Document.class);
+        assertEquals("operator-1", demandMatch.get("assignedOperatorId"));
+        assertEquals("COMPLETED", demandMatch.get("state"));
+        var lookup = stage(stages, "$lookup");
+        assertEquals("payments", lookup.get("from"));
+        assertEquals("demandId", lookup.get("localField"));
+        assertEquals("demandId", lookup.get("foreignField"));
+        assertEquals("payment", lookup.get("as"));
+        assertTrue(stages.stream().anyMatch(stage -> stage.containsKey("$match")
+                && "VERIFIED".equals(stage.get("$match", Document.class).get("payment.status"))));
+        var facet = stage(stages, "$facet");
+        assertTrue(facet.containsKey("content"));
+        assertTrue(facet.containsKey("total"));
+    }
+
+    @Test
+    void testFindOperatorPaymentsWithoutStatusSkipsStatusMatch() {
+        // Arrange
+        givenAggregationResult(new Document("content", List.of()).append("total", List.of()));
+
+        // Act
+        var page = paymentCustomRepository.findOperatorPayments("operator-1", null, PageRequest.of(0, 10));
+
+        // Assert
+        assertTrue(page.getContent().isEmpty());
+        assertEquals(0, page.getTotalElements());
+        assertTrue(capturedStages().stream()
+                .filter(stage -> stage.containsKey("$match"))
+                .noneMatch(stage -> stage.get("$match", Document.class).containsKey("payment.status")));
+    }
+
+    @Test
+    void testFindOperatorPaymentsWithoutResultReturnsEmptyPage() {
+        // Arrange
+        givenAggregationResult(null);
+
+        // Act
+        var page = paymentCustomRepository.findOperatorPayments("operator-1", "PENDING", PageRequest.of(0, 10));
+
+        // Assert
+        assertTrue(page.getContent().isEmpty());
+        assertEquals(0, page.getTotalElements());
+    }
+}
@@ -0,0 +1,64 @@
+package com.gruastremart.api.unit.security;
+
+import com.gruastremart.api.config.security.jwt.JwtAuthenticationCache;
+import com.gruastremart.api.config.security.jwt.JwtAuthenticationCache.CachedAuthentication;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JwtAuthenticationCacheTest {
+
+    private static final List<SimpleGrantedAuthority> AUTHORITIES = List.of(new SimpleGrantedAuthority("ROLE_CLIENT"));
+
+    private static Claims claimsExpiringAt(Date expiration) {
+        return Jwts.claims().expiration(expiration).build();
+    }
+
+    @Test
+    void testReturnsCachedAuthenticationForSameToken() {
+        // Arrange
+        JwtAuthenticationCache cache = new JwtAuthenticationCache();
+        cache.put("token-1", CachedAuthentication.of("user@test.com", AUTHORITIES, claimsExpiringAt(new Date(System.currentTimeMillis() + 60_000))));
+
+        // Act & Assert
+        assertEquals("user@test.com", cache.get("token-1").orElseThrow().email());
+        assertTrue(cache.get("token-2").isEmpty());
+    }
+
+    @Test
+    void testDoesNotCacheExpiredTokens() {
+        // Arrange
+        JwtAuthenticationCache cache = new JwtAuthenticationCache();
+
+        // Act
+        cache.put("expired", CachedAuthentication.of("user@test.com", AUTHORITIES, claimsExpiringAt(new Date(System.currentTimeMillis() - 1_000))));
+
+        // Assert
+        assertTrue(cache.get("expired").isEmpty());
+    }
+
+    @Test
+    void testInvalidateUserRemovesOnlyThatUser() {
+        // Arrange
+        JwtAuthenticationCache cache = new JwtAuthenticationCache();
+        Date expiration = new Date(System.currentTimeMillis() + 60_000);
+        cache.put("token-a", CachedAuthentication.of("a@test.com", AUTHORITIES, claimsExpiringAt(expiration)));
+        cache.put("token-a2", CachedAuthentication.of("a@test.com", AUTHORITIES, claimsExpiringAt(expiration)));
+        cache.put("token-b", CachedAuthentication.of("b@test.com", AUTHORITIES, claimsExpiringAt(expiration)));
+
+        // Act
+        cache.invalidateUser("a@test.com");
+
+        // Assert
+        assertTrue(cache.get("token-a").isEmpty());
+        assertTrue(cache.get("token-a2").isEmpty());
+        assertEquals(1, cache.size());
+    }
+}
@@ -0,0 +1,189 @@
+package com.gruastremart.api.unit.security;
+
+import com.gruastremart.api.config.security.jwt.JwtTokenProvider;
+import com.gruastremart.api.config.websocket.StompAuthChannelInterceptor;
+import com.gruastremart.api.persistance.entity.User;
+import com.gruastremart.api.persistance.repository.CraneDemandRepository;
+import com.gruastremart.api.persistance.repository.UserRepository;
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class StompAuthChannelInterceptorTest {
+
+    @Mock
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private CraneDemandRepository craneDemandRepository;
+
+    private StompAuthChannelInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        interceptor = new StompAuthChannelInterceptor(jwtTokenProvider, userRepository, craneDemandRepository);
+    }
+
+    private static StompHeaderAccessor subscribe(String destination) {
+        return subscribe(destination, "operator@test.com");
+    }
+
+    private static StompHeaderAccessor subscribe(String destination, String email) {
+        StompHeaderAccessor subscribe = accessor(StompCommand.SUBSCRIBE);
+        subscribe.setDestination(destination);
+        subscribe.setUser(new UsernamePasswordAuthenticationToken(email, "token", List.of()));
+        return subscribe;
+    }
+
+    private static StompHeaderAccessor accessor(StompCommand command) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(command);
+        accessor.setLeaveMutable(true);
+        return accessor;
+    }
+
+    private static Message<byte[]> message(StompHeaderAccessor accessor) {
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+
+    @Test
+    void testConnectWithValidTokenSetsSessionUser() {
+        // Arrange
+        var authentication = new UsernamePasswordAuthenticationToken("user@test.com", "token", List.of());
+        when(jwtTokenProvider.getAuthentication("token")).thenReturn(authentication);
+        StompHeaderAccessor connect = accessor(StompCommand.CONNECT);
+        connect.setNativeHeader("Authorization", "Bearer token");
+
+        // Act
+        interceptor.preSend(message(connect), null);
+
+        // Assert
+        assertEquals(authentication, connect.getUser());
+    }
+
+    @Test
+    void testConnectWithoutOrWithInvalidTokenIsRejected() {
+        // Arrange
+        when(jwtTokenProvider.getAuthentication("bad")).thenThrow(new JwtException("invalid signature"));
+        StompHeaderAccessor withoutToken = accessor(StompCommand.CONNECT);
+        StompHeaderAccessor invalidToken = accessor(StompCommand.CONNECT);
+        invalidToken.setNativeHeader("Authorization", "Bearer bad");
+
+        // Act & Assert
+        assertThrows(AccessDeniedException.class, () -> interceptor.preSend(message(withoutToken), null));
+        assertThrows(AccessDeniedException.class, () -> interceptor.preSend(message(invalidToken), null));
+    }
+
+    @Test
+    void testSubscribeRequiresAuthenticationAndKnownDestination() {
+        // Arrange
+        var authentication = new UsernamePasswordAuthenticationToken("user@test.com", "token", List.of());
+        StompHeaderAccessor anonymous = accessor(StompCommand.SUBSCRIBE);
+        anonymous.setDestination("/topic/crane-demands/1");
+        StompHeaderAccessor unknown = accessor(StompCommand.SUBSCRIBE);
+        unknown.setDestination("/topic/other");
+        unknown.setUser(authentication);
+        StompHeaderAccessor demandTopic = accessor(StompCommand.SUBSCRIBE);
+        demandTopic.setDestination("/topic/crane-demands/1");
+        demandTopic.setUser(authentication);
+
+        // Act & Assert
+        assertThrows(AccessDeniedException.class, () -> interceptor.preSend(message(anonymous), null));
+        assertThrows(AccessDeniedException.class, () -> interceptor.preSend(message(unknown), null));
+        assertDoesNotThrow(() -> interceptor.preSend(message(demandTopic), null));
+    }
+
+    @Test
+    void testSubscribeWithWildcardDestinationIsRejected() {
+        // Arrange
+        var allOperators = subscribe("/topic/operators/**");
+        var anyOperatorOffers = subscribe("/topic/operators/*/offers");
+        var anyDemand = subscribe("/topic/crane-demands/{id}");
+
+        // Act & Assert
+        assertThrows(AccessDeniedException.class, () -> interceptor.preSend(message(allOperators), null));
+        assertThrows(AccessDeniedException.class, () -> interceptor.preSend(message(anyOperatorOffers), null));
+        assertThrows(AccessDeniedException.class, () -> interceptor.preSend(message(anyDemand), null));
+    }
+
+    @Test
+    void testSubscribeToOperatorTopicOnlyAllowedForOwnUserId() {
+        // Arrange
+        when(userRepository.findByEmail("operator@test.com")).thenReturn(Optional.of(User.builder().id("operator-1").build()));
+        var ownOffers = subscribe("/topic/operators/operator-1/offers");
+        var otherOffers = subscribe("/topic/operators/operator-2/offers");
+
+        // Act & Assert
+        assertDoesNotThrow(() -> interceptor.preSend(message(ownOffers), null));
+        assertThrows(AccessDeniedException.class, () -> interceptor.preSend(message(otherOffers), null));
+    }
+
+    @Test
+    void testCustomerWithTakenDemandCanFollowAssignedOperatorLocation() {
+        // Arrange
+        when(userRepository.findByEmail("client@test.com")).thenReturn(Optional.of(User.builder().id("client-1").build()));
+        when(craneDemandRepository.existsByCreatedByUserIdAndAssignedOperatorIdAndState("client-1", "operator-1", "TAKEN"))
+                .thenReturn(true);
+        var location = subscribe("/topic/operators/operator-1/location", "client@test.com");
+
+        // Act & Assert
+        assertDoesNotThrow(() -> interceptor.preSend(message(location), null));
+    }
+
+    @Test
+    void testCustomerWithoutTakenDemandCannotFollowOperatorLocation() {
+        // Arrange
+        when(userRepository.findByEmail("client@test.com")).thenReturn(Optional.of(User.builder().id("client-1").build()));
+        when(craneDemandRepository.existsByCreatedByUserIdAndAssignedOperatorIdAndState("client-1", "operator-2", "TAKEN"))
+                .thenReturn(false);
+        var location = subscribe("/topic/operators/operator-2/location", "client@test.com");
+
+        // Act & Assert
+        assertThrows(AccessDeniedException.class, () -> interceptor.preSend(message(location), null));
+    }
+
+    @Test
+    void testCustomerWithTakenDemandCannotSubscribeToOperatorOffersOrDemands() {
+        // Arrange
+        when(userRepository.findByEmail("client@test.com")).thenReturn(Optional.of(User.builder().id("client-1").build()));
+        var offers = subscribe("/topic/operators/operator-1/offers", "client@test.com");
+        var demands = subscribe("/topic/operators/operator-1/demands", "client@test.com");
+
+        // Act & Assert
+        assertThrows(AccessDeniedException.class, () -> interceptor.preSend(message(offers), null));
+        assertThrows(AccessDeniedException.class, () -> interceptor.preSend(message(demands), null));
+        verifyNoInteractions(craneDemandRepository);
+    }
+
+    @Test
+    void testSendIsRejected() {
+        // Arrange
+        StompHeaderAccessor send = accessor(StompCommand.SEND);
+        send.setDestination("/topic/crane-demands/1");
+        send.setUser(new UsernamePasswordAuthenticationToken("user@test.com", "token", List.of()));
+
+        // Act & Assert
+        assertThrows(AccessDeniedException.class, () -> interceptor.preSend(message(send), null));
+    }
+}
@@ -0,0 +1,60 @@
+package com.gruastremart.api.unit.service;
+
+import com.gruastremart.api.persistance.entity.AuditLog;
+import com.gruastremart.api.persistance.repository.AuditLogRepository;
+import com.gruastremart.api.service.audit.AuditLogSink;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(MockitoExtension.class)
+class AuditLogSinkTest {
+
+    @Mock
+    private AuditLogRepository auditLogRepository;
+
+    @Test
+    void testShutdownWritesPendingEventsInBatches() {
+        // Arrange
+        AuditLogSink sink = new AuditLogSink(auditLogRepository);
+        for (int i = 0; i < 250; i++) {
+            sink.submit(AuditLog.builder().action("CREATE_CRANE_DEMAND").build());
+        }
+
+        // Act
+        sink.shutdown();
+
+        // Assert
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<AuditLog>> batches = ArgumentCaptor.forClass(List.class);
+        Mockito.verify(auditLogRepository, Mockito.times(2)).insert(batches.capture());
+        assertEquals(200, batches.getAllValues().get(0).size());
+        assertEquals(50, batches.getAllValues().get(1).size());
+        assertEquals(0, sink.pendingEvents());
+    }
+
+    @Test
+    void testSubmitDropsEventsWhenQueueIsFull() {
+        // Arrange
+        AuditLogSink sink = new AuditLogSink(auditLogRepository);
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(sink.submit(AuditLog.builder().action("CREATE_CRANE_DEMAND").build()));
+        }
+
+        // Act
+        boolean accepted = sink.submit(AuditLog.builder().action("CREATE_CRANE_DEMAND").build());
+
+        // Assert
+        assertFalse(accepted);
+        assertEquals(10_000, sink.pendingEvents());
+    }
+}
@@ -0,0 +1,101 @@
+package com.gruastremart.api.unit.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gruastremart.api.persistance.entity.CraneDemand;
+import com.gruastremart.api.persistance.repository.custom.CraneDemandCustomRepository;
+import com.gruastremart.api.service.export.CraneDemandExportService;
+import com.gruastremart.api.utils.enums.ExportFormatEnum;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.util.LinkedMultiValueMap;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CraneDemandExportServiceTest {
+
+    @Mock
+    private CraneDemandCustomRepository craneDemandCustomRepository;
+
+    private CraneDemand demand(String id, String description) {
+        return CraneDemand.builder()
+                .id(id)
+                .description(description)
+                .state("ACTIVE")
+                .build();
+    }
+
+    @Test
+    void testExportCsvEscapesValuesAndWritesHeader() throws Exception {
+        // Arrange
+        var service = new CraneDemandExportService(craneDemandCustomRepository, new ObjectMapper());
+        var query = new Query();
+        when(craneDemandCustomRepository.buildExportQuery(any())).thenReturn(query);
+        when(craneDemandCustomRepository.stream(query)).thenReturn(Stream.of(
+                demand("1", "Sin batería"),
+                demand("2", "Choque, con \"daños\"")));
+        var output = new ByteArrayOutputStream();
+
+        // Act
+        service.export(new LinkedMultiValueMap<>(), ExportFormatEnum.CSV).writeTo(output);
+
+        // Assert
+        var lines = output.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertEquals(3, lines.length);
+        assertTrue(lines[0].startsWith("id,createdAt,state,"));
+        assertTrue(lines[1].startsWith("1,,ACTIVE,,,Sin batería,"));
+        assertTrue(lines[2].contains("\"Choque, con \"\"daños\"\"\""));
+    }
+
+    @Test
+    void testExportCsvNeutralisesSpreadsheetFormulas() throws Exception {
+        // Arrange
+        var service = new CraneDemandExportService(craneDemandCustomRepository, new ObjectMapper());
+        var query = new Query();
+        var formula = demand("1", "=HYPERLINK(\"http://evil\")");
+        formula.setCustomerName("@SUM(A1)");
+        formula.setVehiclePlate("-2+3");
+        when(craneDemandCustomRepository.buildExportQuery(any())).thenReturn(query);
+        when(craneDemandCustomRepository.stream(query)).thenReturn(Stream.of(formula));
+        var output = new ByteArrayOutputStream();
+
+        // Act
+        service.export(new LinkedMultiValueMap<>(), ExportFormatEnum.CSV).writeTo(output);
+
+        // Assert
+        var row = output.toString(StandardCharsets.UTF_8).split("\r\n")[1];
+        assertTrue(row.contains("\"'=HYPERLINK(\"\"http://evil\"\")\""));
+        assertTrue(row.contains(",'@SUM(A1),"));
+        assertTrue(row.contains(",'-2+3,"));
+    }
+
+    @Test
+    void testExportNdjsonWritesOneObjectPerLine() throws Exception {
+        // Arrange
+        var objectMapper = new ObjectMapper();
+        var service = new CraneDemandExportService(craneDemandCustomRepository, objectMapper);
+        var query = new Query();
+        when(craneDemandCustomRepository.buildExportQuery(any())).thenReturn(query);
+        when(craneDemandCustomRepository.stream(query)).thenReturn(Stream.of(demand("1", "a"), demand("2", "b")));
+        var output = new ByteArrayOutputStream();
+
+        // Act
+        service.export(new LinkedMultiValueMap<>(), ExportFormatEnum.NDJSON).writeTo(output);
+
+        // Assert
+        var lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("1", objectMapper.readTree(lines[0]).get("id").asText());
+        assertEquals("b", objectMapper.readTree(lines[1]).get("description").asText());
+    }
+}
@@ -0,0 +1,331 @@
+package com.gruastremart.api.unit.service;
+
+import com.gruastremart.api.dto.AssignCraneDemandDto;
+import com.gruastremart.api.dto.CraneDemandCreateRequestDto;
+import com.gruastremart.api.dto.LocationDto;
+import com.gruastremart.api.dto.NearbyOperatorDto;
+import com.gruastremart.api.exception.ServiceException;
+import com.gruastremart.api.persistance.entity.CraneDemand;
+import com.gruastremart.api.persistance.entity.User;
+import com.gruastremart.api.persistance.repository.CraneDemandRepository;
+import com.gruastremart.api.persistance.repository.UserRepository;
+import com.gruastremart.api.persistance.repository.custom.CraneDemandCustomRepository;
+import com.gruastremart.api.service.CraneDemandService;
+import com.gruastremart.api.service.OperatorService;
+import com.gruastremart.api.service.dispatch.DispatchEngine;
+import com.gruastremart.api.service.email.EmailOutboxService;
+import com.gruastremart.api.service.location.OperatorTrackStore;
+import com.gruastremart.api.service.realtime.RealtimeEventPublisher;
+import com.gruastremart.api.service.stats.OperationsStatsService;
+import com.gruastremart.api.utils.enums.CraneDemandStateEnum;
+import com.gruastremart.api.utils.enums.WeightCategoryEnum;
+import com.gruastremart.api.utils.tools.TrackCodec.TrackPoint;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CraneDemandServiceTest {
+
+    @InjectMocks
+    private CraneDemandService craneDemandService;
+
+    @Mock
+    private CraneDemandRepository craneDemandRepository;
+
+    @Mock
+    private CraneDemandCustomRepository craneDemandCustomRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private EmailOutboxService emailOutboxService;
+
+    @Mock
+    private OperatorService operatorService;
+
+    @Mock
+    private OperationsStatsService operationsStatsService;
+
+    @Mock
+    private RealtimeEventPublisher realtimeEventPublisher;
+
+    @Mock
+    private DispatchEngine dispatchEngine;
+
+    @Mock
+    private OperatorTrackStore operatorTrackStore;
+
+    private CraneDemandCreateRequestDto createRequest() {
+        var dto = new CraneDemandCreateRequestDto();
+        dto.setDescription("No arranca");
+        dto.setCurrentLocation(LocationDto.builder().latitude(10.48).longitude(-66.90).build());
+        return dto;
+    }
+
+    private void givenClientCanCreateDemand() {
+        when(userRepository.findByEmail("client@test.com")).thenReturn(Optional.of(User.builder().id("client-1").build()));
+        when(craneDemandRepository.existsByCreatedByUserIdAndStateIn(eq("client-1"), any())).thenReturn(false);
+        when(craneDemandRepository.save(any(CraneDemand.class))).thenAnswer(invocation -> {
+            CraneDemand demand = invocation.getArgument(0);
+            demand.setId("demand-1");
+            return demand;
+        });
+    }
+
+    @Test
+    void testCreateCraneDemandPushesItToNearbyOnlineOperators() {
+        // Arrange
+        givenClientCanCreateDemand();
+        var nearby = List.of(NearbyOperatorDto.builder().operatorId("operator-1").distanceKm(1.2).build());
+        when(operatorService.findNearestOnlineOperators(eq(10.48), eq(-66.90), anyDouble(), anyInt())).thenReturn(nearby);
+
+        // Act
+        craneDemandService.createCraneDemand(createRequest(), "client@test.com");
+
+        // Assert
+        verify(realtimeEventPublisher).publishNewDemandToOperators(any(), eq(nearby));
+    }
+
+    @Test
+    void testCreateCraneDemandWithoutNearbyOperatorsPublishesNothing() {
+        // Arrange
+        givenClientCanCreateDemand();
+        when(operatorService.findNearestOnlineOperators(anyDouble(), anyDouble(), anyDouble(), anyInt())).thenReturn(List.of());
+
+        // Act
+        craneDemandService.createCraneDemand(createRequest(), "client@test.com");
+
+        // Assert
+        verify(realtimeEventPublisher, never()).publishNewDemandToOperators(any(), any());
+    }
+
+    @Test
+    void testGetCraneDemandRouteReturnsTrackBetweenTakenAndCompleted() {
+        // Arrange
+        var takenAt = new Date(1_700_000_000_000L);
+        var completedAt = new Date(1_700_000_600_000L);
+        var demand = CraneDemand.builder().id("demand-1").assignedOperatorId("operator-1").takenAt(takenAt).completedAt(completedAt).build();
+        when(craneDemandRepository.findById("demand-1")).thenReturn(Optional.of(demand));
+        when(operatorTrackStore.findTrack("operator-1", takenAt.toInstant(), completedAt.toInstant())).thenReturn(List.of(
+                new TrackPoint(10.0, -66.0, takenAt.getTime()),
+                new TrackPoint(10.01, -66.0, takenAt.getTime() + 60_000)));
+
+        // Act
+        var route = craneDemandService.getCraneDemandRoute("demand-1");
+
+        // Assert
+        assertEquals(2, route.getPoints().size());
+        assertEquals(completedAt, route.getTo());
+        assertEquals(1.11, route.getDistanceKm(), 0.01);
+    }
+
+    @Test
+    void testGetCraneDemandRouteWithoutAssignedOperatorThrowsBadRequest() {
+        // Arrange
+        when(craneDemandRepository.findById("demand-1")).thenReturn(Optional.of(CraneDemand.builder().id("demand-1").build()));
+
+        // Act
+        var exception = assertThrows(ServiceException.class, () -> craneDemandService.getCraneDemandRoute("demand-1"));
+
+        // Assert
+        assertEquals(400, exception.getCode());
+    }
+
+    @Test
+    void testAcceptDispatchOfferByBusyOperatorPassesOfferToNextCandidate() {
+        // Arrange
+        var request = new AssignCraneDemandDto();
+        request.setUserId("operator-1");
+        when(craneDemandRepository.hasOperatorAssignedAndIsTaken("operator-1")).thenReturn(Optional.of(CraneDemand.builder().build()));
+
+        // Act
+        var exception = assertThrows(ServiceException.class, () -> craneDemandService.acceptDispatchOffer("demand-1", request));
+
+        // Assert
+        assertEquals(400, exception.getCode());
+        verify(dispatchEngine, never()).claimOffer(any(), any());
+        verify(dispatchEngine).decline("demand-1", "operator-1");
+        verify(dispatchEngine, never()).release(any(), any());
+    }
+
+    @Test
+    void testDuplicateAcceptDispatchOfferDoesNotReleaseTheExistingClaim() {
+        // Arrange
+        var request = new AssignCraneDemandDto();
+        request.setUserId("operator-1");
+        when(craneDemandRepository.hasOperatorAssignedAndIsTaken("operator-1")).thenReturn(Optional.empty());
+        doThrow(new ServiceException("Dispatch offer already accepted", 409)).when(dispatchEngine).claimOffer("demand-1", "operator-1");
+
+        // Act
+        var exception = assertThrows(ServiceException.class, () -> craneDemandService.acceptDispatchOffer("demand-1", request));
+
+        // Assert
+        assertEquals(409, exception.getCode());
+        verify(dispatchEngine, never()).release(any(), any());
+        verify(dispatchEngine, never()).decline(any(), any());
+        verify(craneDemandCustomRepository, never()).assignIfActive(any(), any(), any());
+    }
+
+    @Test
+    void testAssignCraneDemandStopsDispatchAsSoonAsDemandIsTaken() {
+        // Arrange
+        var request = AssignCraneDemandDto.builder().userId("operator-1").weightCategory(WeightCategoryEnum.PESO_1).build();
+        var taken = CraneDemand.builder().id("demand-1").state("TAKEN").assignedOperatorId("operator-1").build();
+        when(craneDemandRepository.hasOperatorAssignedAndIsTaken("operator-1")).thenReturn(Optional.empty());
+        when(userRepository.findById("operator-1")).thenReturn(Optional.of(User.builder().id("operator-1").build()));
+        when(craneDemandCustomRepository.assignIfActive("demand-1", "operator-1", "peso_1")).thenReturn(Optional.of(taken));
+        doThrow(new IllegalStateException("stats down")).when(operationsStatsService).recordDemandTaken(taken);
+
+        // Act
+        assertThrows(IllegalStateException.class, () -> craneDemandService.assignCraneDemand("demand-1", request));
+
+        // Assert
+        verify(dispatchEngine).cancel("demand-1");
+    }
+
+    @Test
+    void testAcceptDispatchOfferReleasesClaimWhenAssignmentFails() {
+        // Arrange
+        var request = new AssignCraneDemandDto();
+        request.setUserId("operator-1");
+        when(craneDemandRepository.hasOperatorAssignedAndIsTaken("operator-1")).thenReturn(Optional.empty());
+        when(userRepository.findById("operator-1")).thenReturn(Optional.empty());
+
+        // Act
+        var exception = assertThrows(ServiceException.class, () -> craneDemandService.acceptDispatchOffer("demand-1", request));
+
+        // Assert
+        assertEquals(404, exception.getCode());
+        verify(dispatchEngine).claimOffer("demand-1", "operator-1");
+        verify(dispatchEngine).release("demand-1", "operator-1");
+    }
+
+    @Test
+    void testCompleteCraneDemandPublishesChangeWhenTransitionApplies() {
+        // Arrange
+        var completed = CraneDemand.builder().id("demand-1").state("COMPLETED").build();
+        when(craneDemandCustomRepository.transitionState("demand-1", CraneDemandStateEnum.COMPLETED)).thenReturn(Optional.of(completed));
+
+        // Act
+        craneDemandService.completeCraneDemand("demand-1");
+
+        // Assert
+        verify(operationsStatsService).recordDemandStateChanged(completed, CraneDemandStateEnum.COMPLETED);
+        verify(realtimeEventPublisher).publishDemandChanged(completed);
+        verify(dispatchEngine).cancel("demand-1");
+    }
+
+    @Test
+    void testCancelCraneDemandFromWrongStateThrowsConflict() {
+        // Arrange
+        when(craneDemandCustomRepository.transitionState("demand-1", CraneDemandStateEnum.CANCELLED)).thenReturn(Optional.empty());
+        when(craneDemandRepository.existsById("demand-1")).thenReturn(true);
+
+        // Act
+        var exception = assertThrows(ServiceException.class, () -> craneDemandService.cancelCraneDemand("demand-1"));
+
+        // Assert
+        assertEquals(409, exception.getCode());
+        verify(realtimeEventPublisher, never()).publishDemandChanged(any());
+    }
+
+    @Test
+    void testCompleteMissingCraneDemandThrowsNotFound() {
+        // Arrange
+        when(craneDemandCustomRepository.transitionState("missing", CraneDemandStateEnum.COMPLETED)).thenReturn(Optional.empty());
+        when(craneDemandRepository.existsById("missing")).thenReturn(false);
+
+        // Act
+        var exception = assertThrows(ServiceException.class, () -> craneDemandService.completeCraneDemand("missing"));
+
+        // Assert
+        assertEquals(404, exception.getCode());
+        verify(operationsStatsService, never()).recordDemandStateChanged(any(), any());
+    }
+
+    private void givenStreamRequest(CraneDemand demand, String email, String userId) {
+        when(craneDemandRepository.findById(demand.getId())).thenReturn(Optional.of(demand));
+        when(userRepository.findByEmail(email)).thenReturn(Optional.of(User.builder().id(userId).build()));
+    }
+
+    @Test
+    void testStreamAssignedOperatorLocationWithoutAssignedOperatorFails() {
+        // Arrange
+        var demand = CraneDemand.builder().id("demand-1").createdByUserId("client-1").state("ACTIVE").build();
+        givenStreamRequest(demand, "client@test.com", "client-1");
+
+        // Act
+        var exception = assertThrows(ServiceException.class,
+                () -> craneDemandService.streamAssignedOperatorLocation("demand-1", "client@test.com"));
+
+        // Assert
+        assertEquals(400, exception.getCode());
+        verify(operatorService, never()).streamOperatorLocation(any());
+    }
+
+    @Test
+    void testStreamAssignedOperatorLocationAfterCompletionFails() {
+        // Arrange
+        var demand = CraneDemand.builder().id("demand-1").createdByUserId("client-1").state("COMPLETED").assignedOperatorId("operator-1").build();
+        givenStreamRequest(demand, "client@test.com", "client-1");
+
+        // Act
+        var exception = assertThrows(ServiceException.class,
+                () -> craneDemandService.streamAssignedOperatorLocation("demand-1", "client@test.com"));
+
+        // Assert
+        assertEquals(400, exception.getCode());
+        verify(operatorService, never()).streamOperatorLocation(any());
+    }
+
+    @Test
+    void testStreamAssignedOperatorLocationByAnotherUserIsForbidden() {
+        // Arrange
+        var demand = CraneDemand.builder().id("demand-1").createdByUserId("client-1").state("TAKEN").assignedOperatorId("operator-1").build();
+        givenStreamRequest(demand, "other@test.com", "client-2");
+
+        // Act
+        var exception = assertThrows(ServiceException.class,
+                () -> craneDemandService.streamAssignedOperatorLocation("demand-1", "other@test.com"));
+
+        // Assert
+        assertEquals(403, exception.getCode());
+        verify(operatorService, never()).streamOperatorLocation(any());
+    }
+
+    @Test
+    void testStreamAssignedOperatorLocationDelegatesToAssignedOperatorStream() {
+        // Arrange
+        var demand = CraneDemand.builder().id("demand-1").createdByUserId("client-1").state("TAKEN").assignedOperatorId("operator-1").build();
+        var emitter = new SseEmitter();
+        givenStreamRequest(demand, "client@test.com", "client-1");
+        when(operatorService.streamOperatorLocation("operator-1")).thenReturn(emitter);
+
+        // Act
+        var result = craneDemandService.streamAssignedOperatorLocation("demand-1", "client@test.com");
+
+        // Assert
+        assertSame(emitter, result);
+    }
+}
@@ -0,0 +1,280 @@
+package com.gruastremart.api.unit.service;
+
+import com.gruastremart.api.config.dispatch.DispatchProperties;
+import com.gruastremart.api.dto.DispatchOfferDto;
+import com.gruastremart.api.dto.OperatorLocationDto;
+import com.gruastremart.api.exception.ServiceException;
+import com.gruastremart.api.persistance.entity.CraneDemand;
+import com.gruastremart.api.persistance.entity.Operator;
+import com.gruastremart.api.persistance.repository.CraneDemandRepository;
+import com.gruastremart.api.persistance.repository.OperatorRepository;
+import com.gruastremart.api.service.dispatch.DispatchEngine;
+import com.gruastremart.api.service.location.OperatorLocationIndex;
+import com.gruastremart.api.service.realtime.RealtimeEventPublisher;
+import com.gruastremart.api.utils.enums.WeightCategoryEnum;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Simula operadores en el índice de localizaciones y avanza un reloj manual para recorrer las ofertas
+ */
+@ExtendWith(MockitoExtension.class)
+class DispatchEngineTest {
+
+    private static final double DEMAND_LATITUDE = 10.48;
+    private static final double DEMAND_LONGITUDE = -66.90;
+
+    @Mock
+    private OperatorRepository operatorRepository;
+
+    @Mock
+    private CraneDemandRepository craneDemandRepository;
+
+    @Mock
+    private RealtimeEventPublisher realtimeEventPublisher;
+
+    private final OperatorLocationIndex operatorLocationIndex = new OperatorLocationIndex();
+    private final ManualClock clock = new ManualClock(Instant.parse("2026-01-01T10:00:00Z"));
+    private DispatchEngine dispatchEngine;
+
+    @BeforeEach
+    void setUp() {
+        var properties = new DispatchProperties();
+        properties.setOfferTimeout(Duration.ofSeconds(30));
+        dispatchEngine = new DispatchEngine(operatorLocationIndex, operatorRepository, craneDemandRepository, realtimeEventPublisher, properties, clock);
+    }
+
+    private void givenOnlineOperator(String operatorId, double kmNorth) {
+        operatorLocationIndex.update(OperatorLocationDto.builder()
+                .operatorId(operatorId)
+                .latitude(DEMAND_LATITUDE + kmNorth / 111.32)
+                .longitude(DEMAND_LONGITUDE)
+                .status("ONLINE")
+                .timestamp(LocalDateTime.now())
+                .build());
+    }
+
+    private void givenCapacities(Operator... operators) {
+        when(operatorRepository.findCapacitiesByUserIdIn(any())).thenReturn(List.of(operators));
+    }
+
+    private CraneDemand demand(String requestedWeightCategoryId) {
+        return CraneDemand.builder()
+                .id("demand-1")
+                .state("ACTIVE")
+                .requestedWeightCategoryId(requestedWeightCategoryId)
+                .currentLocation(new GeoJsonPoint(DEMAND_LONGITUDE, DEMAND_LATITUDE))
+                .build();
+    }
+
+    private List<String> offeredOperators(int expectedOffers) {
+        var captor = ArgumentCaptor.forClass(DispatchOfferDto.class);
+        verify(realtimeEventPublisher, times(expectedOffers)).publishDispatchOffer(captor.capture());
+        return captor.getAllValues().stream().map(DispatchOfferDto::getOperatorId).toList();
+    }
+
+    @Test
+    void testOffersClosestCompatibleOperatorAndSkipsSmallerCranes() {
+        // Arrange
+        givenOnlineOperator("small-near", 0.5);
+        givenOnlineOperator("big-far", 3.0);
+        givenCapacities(
+                Operator.builder().userId("small-near").maxWeightCategory(WeightCategoryEnum.PESO_1).build(),
+                Operator.builder().userId("big-far").maxWeightCategory(WeightCategoryEnum.PESO_2).build());
+
+        // Act
+        dispatchEngine.submit(demand("peso_2"));
+        dispatchEngine.runDueTasks();
+
+        // Assert
+        assertEquals(List.of("big-far"), offeredOperators(1));
+    }
+
+    @Test
+    void testExpiredOfferFallsBackToNextCandidate() {
+        // Arrange
+        givenOnlineOperator("first", 0.5);
+        givenOnlineOperator("second", 1.0);
+        givenCapacities();
+        dispatchEngine.submit(demand(null));
+        dispatchEngine.runDueTasks();
+
+        // Act
+        clock.advance(Duration.ofSeconds(29));
+        dispatchEngine.runDueTasks();
+        clock.advance(Duration.ofSeconds(2));
+        dispatchEngine.runDueTasks();
+
+        // Assert
+        assertEquals(List.of("first", "second"), offeredOperators(2));
+        assertThrows(ServiceException.class, () -> dispatchEngine.claimOffer("demand-1", "first"));
+    }
+
+    @Test
+    void testRejectOffersNextAndClaimEndsDispatch() {
+        // Arrange
+        givenOnlineOperator("first", 0.5);
+        givenOnlineOperator("second", 1.0);
+        givenCapacities();
+        dispatchEngine.submit(demand(null));
+        dispatchEngine.runDueTasks();
+
+        // Act
+        dispatchEngine.reject("demand-1", "first");
+        dispatchEngine.claimOffer("demand-1", "second");
+        clock.advance(Duration.ofMinutes(5));
+        dispatchEngine.runDueTasks();
+
+        // Assert
+        assertEquals(List.of("first", "second"), offeredOperators(2));
+        assertEquals(0, dispatchEngine.activeDispatches());
+    }
+
+    @Test
+    void testFailedAssignmentAfterClaimOffersNextCandidate() {
+        // Arrange
+        givenOnlineOperator("first", 0.5);
+        givenOnlineOperator("second", 1.0);
+        givenCapacities();
+        dispatchEngine.submit(demand(null));
+        dispatchEngine.runDueTasks();
+        dispatchEngine.claimOffer("demand-1", "first");
+
+        // Act
+        dispatchEngine.release("demand-1", "first");
+
+        // Assert
+        assertEquals(List.of("first", "second"), offeredOperators(2));
+        assertEquals(1, dispatchEngine.activeDispatches());
+    }
+
+    @Test
+    void testDeclineByBusyOperatorOffersNextCandidateUnlessOfferIsClaimed() {
+        // Arrange
+        givenOnlineOperator("first", 0.5);
+        givenOnlineOperator("second", 1.0);
+        givenCapacities();
+        dispatchEngine.submit(demand(null));
+        dispatchEngine.runDueTasks();
+        dispatchEngine.claimOffer("demand-1", "first");
+
+        // Act
+        dispatchEngine.decline("demand-1", "first");
+
+        // Assert
+        assertEquals(List.of("first"), offeredOperators(1));
+        assertThrows(ServiceException.class, () -> dispatchEngine.claimOffer("demand-1", "first"));
+    }
+
+    @Test
+    void testDeclineOfPendingOfferOffersNextCandidate() {
+        // Arrange
+        givenOnlineOperator("first", 0.5);
+        givenOnlineOperator("second", 1.0);
+        givenCapacities();
+        dispatchEngine.submit(demand(null));
+        dispatchEngine.runDueTasks();
+
+        // Act
+        dispatchEngine.decline("demand-1", "first");
+
+        // Assert
+        assertEquals(List.of("first", "second"), offeredOperators(2));
+    }
+
+    @Test
+    void testClaimedOfferCannotBeClaimedTwiceAndFallsBackIfNeverAssigned() {
+        // Arrange
+        givenOnlineOperator("first", 0.5);
+        givenOnlineOperator("second", 1.0);
+        givenCapacities();
+        dispatchEngine.submit(demand(null));
+        dispatchEngine.runDueTasks();
+        dispatchEngine.claimOffer("demand-1", "first");
+
+        // Act
+        clock.advance(Duration.ofSeconds(31));
+        dispatchEngine.runDueTasks();
+
+        // Assert
+        assertThrows(ServiceException.class, () -> dispatchEngine.claimOffer("demand-1", "first"));
+        assertEquals(List.of("first", "second"), offeredOperators(2));
+    }
+
+    @Test
+    void testOperatorsWithTakenDemandAreNotCandidates() {
+        // Arrange
+        givenOnlineOperator("busy", 0.5);
+        givenOnlineOperator("free", 1.0);
+        givenCapacities();
+        when(craneDemandRepository.findTakenByAssignedOperatorIdIn(any()))
+                .thenReturn(List.of(CraneDemand.builder().assignedOperatorId("busy").build()));
+
+        // Act
+        dispatchEngine.submit(demand(null));
+        dispatchEngine.runDueTasks();
+
+        // Assert
+        assertEquals(List.of("free"), offeredOperators(1));
+    }
+
+    @Test
+    void testNoNearbyOperatorsLeavesDemandForManualAssignment() {
+        // Act
+        dispatchEngine.submit(demand(null));
+        dispatchEngine.runDueTasks();
+
+        // Assert
+        verify(operatorRepository, never()).findCapacitiesByUserIdIn(any());
+        verify(realtimeEventPublisher, never()).publishDispatchOffer(any());
+        assertEquals(0, dispatchEngine.activeDispatches());
+    }
+
+    private static final class ManualClock extends Clock {
+        private Instant now;
+
+        private ManualClock(Instant now) {
+            this.now = now;
+        }
+
+        private void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
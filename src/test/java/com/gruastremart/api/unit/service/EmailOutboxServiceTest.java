@@ -0,0 +1,98 @@
+package com.gruastremart.api.unit.service;
+
+import com.gruastremart.api.exception.ServiceException;
+import com.gruastremart.api.persistance.entity.EmailOutbox;
+import com.gruastremart.api.persistance.repository.EmailOutboxRepository;
+import com.gruastremart.api.service.EmailService;
+import com.gruastremart.api.service.email.EmailOutboxService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+
+@ExtendWith(MockitoExtension.class)
+class EmailOutboxServiceTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private EmailOutboxRepository emailOutboxRepository;
+
+    @Mock
+    private EmailService emailService;
+
+    private EmailOutboxService emailOutboxService;
+
+    @BeforeEach
+    void setUp() {
+        emailOutboxService = new EmailOutboxService(mongoTemplate, emailOutboxRepository, emailService);
+    }
+
+    private static EmailOutbox claimedEmail(int attempts) {
+        return EmailOutbox.builder()
+                .id("1")
+                .dedupeKey("crane-demand-assigned:demand:operator")
+                .recipient("lucia@example.com")
+                .subject("Solicitud recibida")
+                .body("<p>Hola</p>")
+                .attempts(attempts)
+                .build();
+    }
+
+    @Test
+    void testEnqueueIgnoresDuplicatedEmails() {
+        // Arrange
+        Mockito.when(emailOutboxRepository.insert(any(EmailOutbox.class))).thenThrow(new DuplicateKeyException("duplicated"));
+
+        // Act & Assert
+        assertDoesNotThrow(() -> emailOutboxService.enqueue("key", "lucia@example.com", "Asunto", "<p>Hola</p>"));
+    }
+
+    @Test
+    void testDispatchSendsClaimedEmailAndMarksItAsSent() {
+        // Arrange
+        Mockito.when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(EmailOutbox.class)))
+                .thenReturn(claimedEmail(1), (EmailOutbox) null);
+
+        // Act
+        emailOutboxService.dispatchPendingEmails();
+
+        // Assert
+        Mockito.verify(emailService, Mockito.timeout(1000)).sendHtmlEmail("lucia@example.com", "Solicitud recibida", "<p>Hola</p>");
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        Mockito.verify(mongoTemplate, Mockito.timeout(1000)).updateFirst(any(Query.class), update.capture(), eq(EmailOutbox.class));
+        assertEquals("SENT", update.getValue().getUpdateObject().get("$set", org.bson.Document.class).get("status"));
+    }
+
+    @Test
+    void testDispatchSchedulesRetryWhenDeliveryFails() {
+        // Arrange
+        Mockito.when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(EmailOutbox.class)))
+                .thenReturn(claimedEmail(2), (EmailOutbox) null);
+        Mockito.when(emailService.sendHtmlEmail(anyString(), anyString(), anyString()))
+                .thenThrow(new ServiceException("Error al enviar el correo", 500));
+
+        // Act
+        emailOutboxService.dispatchPendingEmails();
+
+        // Assert
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        Mockito.verify(mongoTemplate, Mockito.timeout(1000)).updateFirst(any(Query.class), update.capture(), eq(EmailOutbox.class));
+        assertEquals("PENDING", update.getValue().getUpdateObject().get("$set", org.bson.Document.class).get("status"));
+    }
+}
@@ -57,16 +57,17 @@ public class EmailServiceTest {
     }
 
     @Test
-    public void testSendResponseOfCraneDemandEmail_shouldSendEmailSuccessfully() throws Exception {
+    public void testSendHtmlEmail_shouldSendAcknowledgementEmailSuccessfully() throws Exception {
         // Arrange
         JavaMailSender mailSender = createMailSenderMock();
         EmailService emailService = createEmailService(mailSender);
 
         MimeMessage mimeMessage = mock(MimeMessage.class);
         when(mailSender.createMimeMessage()).thenReturn(mimeMessage);
+        String htmlBody = emailService.buildRequestAcknowledgementEmailBody("Lucía");
 
         // Act
-        boolean result = emailService.sendResponseOfCraneDemandEmail("Lucía", "lucia@example.com");
+        boolean result = emailService.sendHtmlEmail("lucia@example.com", emailService.getDemandSubject(), htmlBody);
 
         // Assert
         assertTrue(result);
@@ -85,7 +86,7 @@ public class EmailServiceTest {
 
         // Act & Assert
         ServiceException exception = assertThrows(ServiceException.class, () -> {
-            emailService.sendResponseOfCraneDemandEmail("Pedro", "pedro@example.com");
+            emailService.sendHtmlEmail("pedro@example.com", "Solicitud recibida", "<p>Hola</p>");
         });
 
         assertEquals("Error al enviar el correo", exception.getMessage());
@@ -0,0 +1,151 @@
+package com.gruastremart.api.unit.service;
+
+import com.gruastremart.api.exception.ServiceException;
+import com.gruastremart.api.persistance.entity.CraneDemand;
+import com.gruastremart.api.persistance.entity.OperationsStats;
+import com.gruastremart.api.persistance.repository.OperationsStatsRepository;
+import com.gruastremart.api.persistance.repository.custom.OperationsStatsCustomRepository;
+import com.gruastremart.api.service.stats.OperationsStatsService;
+import com.gruastremart.api.utils.enums.CraneDemandStateEnum;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OperationsStatsServiceTest {
+
+    @InjectMocks
+    private OperationsStatsService operationsStatsService;
+
+    @Mock
+    private OperationsStatsRepository operationsStatsRepository;
+
+    @Mock
+    private OperationsStatsCustomRepository operationsStatsCustomRepository;
+
+    @Test
+    void testRecordDemandStateChangedAccumulatesCompletionTime() {
+        // Arrange
+        var demand = CraneDemand.builder()
+                .assignedOperatorId("operator-1")
+                .takenAt(new Date(0))
+                .completedAt(new Date(90_000))
+                .build();
+        var captor = ArgumentCaptor.forClass(Update.class);
+
+        // Act
+        operationsStatsService.recordDemandStateChanged(demand, CraneDemandStateEnum.COMPLETED);
+
+        // Assert
+        verify(operationsStatsCustomRepository).increment(any(), captor.capture());
+        var increments = captor.getValue().getUpdateObject().get("$inc", Document.class);
+        assertEquals(1, increments.get("demandsByState.COMPLETED"));
+        assertEquals(1, increments.get("takenToCompletedCount"));
+        assertEquals(90_000L, increments.get("takenToCompletedMillis"));
+        assertEquals(1, increments.get("completedByOperator.operator-1"));
+    }
+
+    @Test
+    void testRecordPaymentIgnoresStorageErrors() {
+        // Arrange
+        doThrow(new RuntimeException("mongo down")).when(operationsStatsCustomRepository).increment(any(), any());
+
+        // Act & Assert
+        operationsStatsService.recordPayment("PENDING", 25.0);
+    }
+
+    @Test
+    void testRecordPaymentStatusChangedMovesCountAndAmountFromPreviousStatus() {
+        // Arrange
+        var captor = ArgumentCaptor.forClass(Update.class);
+
+        // Act
+        operationsStatsService.recordPaymentStatusChanged("PENDING", "VERIFIED", 25.0);
+
+        // Assert
+        verify(operationsStatsCustomRepository).increment(any(), captor.capture());
+        var increments = captor.getValue().getUpdateObject().get("$inc", Document.class);
+        assertEquals(1, increments.get("paymentsByStatus.VERIFIED"));
+        assertEquals(-1, increments.get("paymentsByStatus.PENDING"));
+        assertEquals(25.0, increments.get("paymentAmountByStatus.VERIFIED"));
+        assertEquals(-25.0, increments.get("paymentAmountByStatus.PENDING"));
+    }
+
+    @Test
+    void testRecordPaymentWithoutStatusChangeOrNullStatusIsIgnored() {
+        // Act
+        operationsStatsService.recordPaymentStatusChanged("VERIFIED", "VERIFIED", 25.0);
+        operationsStatsService.recordPaymentStatusChanged("PENDING", null, 25.0);
+        operationsStatsService.recordPayment(null, 25.0);
+
+        // Assert
+        verify(operationsStatsCustomRepository, never()).increment(any(), any());
+    }
+
+    @Test
+    void testCompletedDemandWithoutOperatorDoesNotCreateNullKey() {
+        // Arrange
+        var demand = CraneDemand.builder().takenAt(new Date(0)).completedAt(new Date(1_000)).build();
+        var captor = ArgumentCaptor.forClass(Update.class);
+
+        // Act
+        operationsStatsService.recordDemandStateChanged(demand, CraneDemandStateEnum.COMPLETED);
+
+        // Assert
+        verify(operationsStatsCustomRepository).increment(any(), captor.capture());
+        var increments = captor.getValue().getUpdateObject().get("$inc", Document.class);
+        assertFalse(increments.keySet().stream().anyMatch(key -> key.startsWith("completedByOperator")));
+    }
+
+    @Test
+    void testGetStatsReturnsTotalsAndAverages() {
+        // Arrange
+        var firstDay = OperationsStats.builder()
+                .id("2024-05-01")
+                .demandsByState(Map.of("ACTIVE", 3L, "TAKEN", 2L))
+                .activeToTakenCount(2L)
+                .activeToTakenMillis(240_000L)
+                .paymentAmountByStatus(Map.of("VERIFIED", 10.0))
+                .build();
+        var secondDay = OperationsStats.builder()
+                .id("2024-05-02")
+                .demandsByState(Map.of("ACTIVE", 1L))
+                .paymentAmountByStatus(Map.of("VERIFIED", 5.5))
+                .build();
+        when(operationsStatsRepository.findDaysBetween("2024-05-01", "2024-05-02")).thenReturn(List.of(firstDay, secondDay));
+
+        // Act
+        var result = operationsStatsService.getStats("2024-05-01", "2024-05-02");
+
+        // Assert
+        assertEquals(2, result.getDays().size());
+        assertEquals(4L, result.getTotals().getDemandsByState().get("ACTIVE"));
+        assertEquals(2.0, result.getTotals().getAverageActiveToTakenMinutes());
+        assertEquals(15.5, result.getTotals().getPaymentAmountByStatus().get("VERIFIED"));
+        assertEquals("2024-05-01", result.getDays().getFirst().getDay());
+    }
+
+    @Test
+    void testGetStatsRejectsInvertedRange() {
+        // Act & Assert
+        assertThrows(ServiceException.class, () -> operationsStatsService.getStats("2024-05-02", "2024-05-01"));
+    }
+}
@@ -0,0 +1,102 @@
+package com.gruastremart.api.unit.service;
+
+import com.gruastremart.api.dto.NearbyOperatorDto;
+import com.gruastremart.api.dto.OperatorLocationDto;
+import com.gruastremart.api.service.location.OperatorLocationIndex;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OperatorLocationIndexTest {
+
+    private static OperatorLocationDto location(String operatorId, double latitude, double longitude, String status) {
+        return OperatorLocationDto.builder()
+                .operatorId(operatorId)
+                .latitude(latitude)
+                .longitude(longitude)
+                .status(status)
+                .timestamp(LocalDateTime.now())
+                .build();
+    }
+
+    @Test
+    void testFindNearestReturnsOperatorsSortedByDistance() {
+        // Arrange
+        OperatorLocationIndex index = new OperatorLocationIndex();
+        index.update(location("far", 10.60, -66.90, "ONLINE"));
+        index.update(location("near", 10.501, -66.901, "ONLINE"));
+        index.update(location("middle", 10.53, -66.92, "ONLINE"));
+
+        // Act
+        List<NearbyOperatorDto> result = index.findNearest(10.50, -66.90, 20.0, 10, location -> true);
+
+        // Assert
+        assertEquals(List.of("near", "middle", "far"), result.stream().map(NearbyOperatorDto::getOperatorId).toList());
+        assertTrue(result.getFirst().getDistanceKm() < 1.0);
+    }
+
+    @Test
+    void testFindNearestRespectsRadiusLimitAndFilter() {
+        // Arrange
+        OperatorLocationIndex index = new OperatorLocationIndex();
+        index.update(location("busy", 10.500, -66.900, "BUSY"));
+        index.update(location("online-1", 10.505, -66.900, "ONLINE"));
+        index.update(location("online-2", 10.510, -66.900, "ONLINE"));
+        index.update(location("outside", 11.500, -66.900, "ONLINE"));
+
+        // Act
+        List<NearbyOperatorDto> result = index.findNearest(10.50, -66.90, 5.0, 1,
+                location -> "ONLINE".equals(location.getStatus()));
+
+        // Assert
+        assertEquals(1, result.size());
+        assertEquals("online-1", result.getFirst().getOperatorId());
+    }
+
+    @Test
+    void testFindNearestIncludesOperatorAtEastEdgeOfRadius() {
+        // Arrange
+        // A 99.99 km al este, en la primera celda fuera del rango que daban 111.320 km por grado de longitud
+        OperatorLocationIndex index = new OperatorLocationIndex();
+        index.update(location("edge", 0.0, 10.0002, "ONLINE"));
+
+        // Act
+        List<NearbyOperatorDto> result = index.findNearest(0.0, 9.101, 100.0, 10, location -> true);
+
+        // Assert
+        assertEquals(List.of("edge"), result.stream().map(NearbyOperatorDto::getOperatorId).toList());
+        assertTrue(result.getFirst().getDistanceKm() <= 100.0);
+    }
+
+    @Test
+    void testUpdateMovesOperatorBetweenCells() {
+        // Arrange
+        OperatorLocationIndex index = new OperatorLocationIndex();
+        index.update(location("operator", 10.50, -66.90, "ONLINE"));
+
+        // Act
+        index.update(location("operator", 8.00, -63.00, "ONLINE"));
+
+        // Assert
+        assertTrue(index.findNearest(10.50, -66.90, 10.0, 10, location -> true).isEmpty());
+        assertEquals(1, index.findNearest(8.00, -63.00, 10.0, 10, location -> true).size());
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void testFindNearestAcrossAntimeridian() {
+        // Arrange
+        OperatorLocationIndex index = new OperatorLocationIndex();
+        index.update(location("east", 0.0, 179.99, "ONLINE"));
+
+        // Act
+        List<NearbyOperatorDto> result = index.findNearest(0.0, -179.99, 5.0, 10, location -> true);
+
+        // Assert
+        assertEquals(1, result.size());
+    }
+}
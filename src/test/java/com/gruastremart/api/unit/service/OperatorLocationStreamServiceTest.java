@@ -0,0 +1,221 @@
+package com.gruastremart.api.unit.service;
+
+import com.gruastremart.api.dto.OperatorLocationDto;
+import com.gruastremart.api.service.location.OperatorLocationStreamService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OperatorLocationStreamServiceTest {
+
+    private static final String OPERATOR_ID = "operator-1";
+
+    private final List<RecordingEmitter> emitters = new CopyOnWriteArrayList<>();
+    private OperatorLocationStreamService streamService;
+
+    @BeforeEach
+    void setUp() {
+        streamService = new OperatorLocationStreamService() {
+            @Override
+            protected SseEmitter createEmitter() {
+                var emitter = new RecordingEmitter();
+                emitters.add(emitter);
+                return emitter;
+            }
+        };
+    }
+
+    @AfterEach
+    void tearDown() {
+        emitters.forEach(emitter -> emitter.sendGate.countDown());
+        streamService.shutdown();
+    }
+
+    private static OperatorLocationDto location(double latitude) {
+        return OperatorLocationDto.builder().operatorId(OPERATOR_ID).latitude(latitude).longitude(-66.9).status("ONLINE").build();
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("Condition not met in time");
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    @Test
+    void testSubscribeSendsCurrentLocation() throws Exception {
+        // Arrange
+        var current = location(10.1);
+
+        // Act
+        streamService.subscribe(OPERATOR_ID, current);
+        var emitter = emitters.get(0);
+        emitter.sendGate.countDown();
+
+        // Assert
+        awaitUntil(() -> emitter.sent.size() == 1);
+        assertEquals(List.of(current), emitter.sent);
+        assertEquals(1, streamService.subscriberCount(OPERATOR_ID));
+    }
+
+    @Test
+    void testNewerLocationOverwritesPendingOneWhileClientIsBusy() throws Exception {
+        // Arrange
+        streamService.subscribe(OPERATOR_ID, null);
+        var emitter = emitters.get(0);
+        var first = location(10.1);
+        var latest = location(10.3);
+        streamService.publish(first);
+        assertTrue(emitter.sendStarted.await(5, TimeUnit.SECONDS));
+
+        // Act
+        streamService.publish(location(10.2));
+        streamService.publish(latest);
+        emitter.sendGate.countDown();
+
+        // Assert
+        awaitUntil(() -> emitter.sent.size() == 2);
+        Thread.sleep(50);
+        assertEquals(List.of(first, latest), emitter.sent);
+    }
+
+    @Test
+    void testSamePositionIsNotSentTwice() throws Exception {
+        // Arrange
+        streamService.subscribe(OPERATOR_ID, null);
+        var emitter = emitters.get(0);
+        emitter.sendGate.countDown();
+        streamService.publish(location(10.1));
+        awaitUntil(() -> emitter.sent.size() == 1);
+
+        // Act
+        streamService.publish(location(10.1));
+        streamService.publish(location(10.2));
+
+        // Assert
+        awaitUntil(() -> emitter.sent.size() == 2);
+        assertEquals(10.2, emitter.sent.get(1).getLatitude());
+    }
+
+    @Test
+    void testEmitterIsRemovedOnCompletion() {
+        // Arrange
+        streamService.subscribe(OPERATOR_ID, null);
+        streamService.subscribe(OPERATOR_ID, null);
+
+        // Act
+        emitters.get(0).completionCallback.run();
+
+        // Assert
+        assertEquals(1, streamService.subscriberCount(OPERATOR_ID));
+    }
+
+    @Test
+    void testEmitterIsRemovedAndCompletedOnTimeout() {
+        // Arrange
+        streamService.subscribe(OPERATOR_ID, null);
+        var emitter = emitters.get(0);
+
+        // Act
+        emitter.timeoutCallback.run();
+
+        // Assert
+        assertEquals(0, streamService.subscriberCount(OPERATOR_ID));
+        assertTrue(emitter.completed);
+    }
+
+    @Test
+    void testEmitterIsRemovedOnError() {
+        // Arrange
+        streamService.subscribe(OPERATOR_ID, null);
+
+        // Act
+        emitters.get(0).errorCallback.accept(new IOException("Broken pipe"));
+
+        // Assert
+        assertEquals(0, streamService.subscriberCount(OPERATOR_ID));
+    }
+
+    @Test
+    void testEmitterIsRemovedWhenSendFails() throws Exception {
+        // Arrange
+        streamService.subscribe(OPERATOR_ID, null);
+        var emitter = emitters.get(0);
+        emitter.failOnSend = true;
+        emitter.sendGate.countDown();
+
+        // Act
+        streamService.publish(location(10.1));
+
+        // Assert
+        awaitUntil(() -> streamService.subscriberCount(OPERATOR_ID) == 0);
+        assertTrue(emitter.sent.isEmpty());
+    }
+
+    /**
+     * Emisor que registra las posiciones enviadas y expone los callbacks que Spring invocaría
+     */
+    private static final class RecordingEmitter extends SseEmitter {
+        private final List<OperatorLocationDto> sent = new CopyOnWriteArrayList<>();
+        private final CountDownLatch sendStarted = new CountDownLatch(1);
+        private final CountDownLatch sendGate = new CountDownLatch(1);
+        private volatile boolean failOnSend;
+        private volatile boolean completed;
+        private Runnable completionCallback;
+        private Runnable timeoutCallback;
+        private Consumer<Throwable> errorCallback;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            sendStarted.countDown();
+            try {
+                sendGate.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (failOnSend) {
+                throw new IOException("Broken pipe");
+            }
+            builder.build().stream()
+                    .map(DataWithMediaType::getData)
+                    .filter(OperatorLocationDto.class::isInstance)
+                    .map(OperatorLocationDto.class::cast)
+                    .forEach(sent::add);
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+
+        @Override
+        public void onCompletion(Runnable callback) {
+            this.completionCallback = callback;
+        }
+
+        @Override
+        public void onTimeout(Runnable callback) {
+            this.timeoutCallback = callback;
+        }
+
+        @Override
+        public void onError(Consumer<Throwable> callback) {
+            this.errorCallback = callback;
+        }
+    }
+}
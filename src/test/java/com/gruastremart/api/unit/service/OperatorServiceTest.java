@@ -0,0 +1,128 @@
+package com.gruastremart.api.unit.service;
+
+import com.gruastremart.api.dto.OperatorLocationBatchRequestDto;
+import com.gruastremart.api.dto.OperatorLocationDto;
+import com.gruastremart.api.dto.OperatorLocationPointDto;
+import com.gruastremart.api.exception.ServiceException;
+import com.gruastremart.api.persistance.repository.OperatorRepository;
+import com.gruastremart.api.service.OperatorService;
+import com.gruastremart.api.service.location.OperatorLocationIndex;
+import com.gruastremart.api.service.location.OperatorLocationStreamService;
+import com.gruastremart.api.service.location.OperatorTrackBuffer;
+import com.gruastremart.api.service.realtime.RealtimeEventPublisher;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static com.gruastremart.api.utils.constants.Constants.OPERATOR_LOCATIONS_CACHE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class OperatorServiceTest {
+
+    private static final OffsetDateTime NOW = OffsetDateTime.of(2026, 1, 1, 10, 0, 0, 0, ZoneOffset.ofHours(-4));
+
+    @Mock
+    private OperatorRepository operatorRepository;
+
+    @Mock
+    private OperatorLocationStreamService operatorLocationStreamService;
+
+    @Mock
+    private RealtimeEventPublisher realtimeEventPublisher;
+
+    private final ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager(OPERATOR_LOCATIONS_CACHE);
+    private final OperatorTrackBuffer operatorTrackBuffer = new OperatorTrackBuffer();
+    private OperatorService operatorService;
+
+    @BeforeEach
+    void setUp() {
+        operatorService = new OperatorService(operatorRepository, cacheManager, new OperatorLocationIndex(),
+                operatorLocationStreamService, realtimeEventPublisher, operatorTrackBuffer);
+    }
+
+    private static LocalDateTime serverTime(OffsetDateTime timestamp) {
+        return LocalDateTime.ofInstant(timestamp.toInstant(), ZoneId.systemDefault());
+    }
+
+    private static OperatorLocationPointDto point(double latitude, OffsetDateTime timestamp) {
+        return OperatorLocationPointDto.builder().latitude(latitude).longitude(-66.9).timestamp(timestamp).build();
+    }
+
+    @Test
+    void testBatchKeepsNewestPointLiveAndWholeBatchInTrack() {
+        // Arrange
+        var request = new OperatorLocationBatchRequestDto(List.of(
+                point(10.1, NOW.minusSeconds(20)),
+                point(10.3, NOW),
+                point(10.2, NOW.minusSeconds(10))));
+
+        // Act
+        var live = operatorService.saveOperatorLocationBatch("operator-1", request);
+
+        // Assert
+        assertEquals(10.3, live.getLatitude());
+        assertEquals(10.3, operatorService.getOperatorLocation("operator-1").orElseThrow().getLatitude());
+        assertEquals(List.of(10.1, 10.2, 10.3), operatorService.getOperatorTrack("operator-1").stream().map(OperatorLocationDto::getLatitude).toList());
+        verify(realtimeEventPublisher, times(1)).publishOperatorLocation(any());
+    }
+
+    @Test
+    void testBatchOlderThanCachedLocationOnlyGoesToTrack() {
+        // Arrange
+        var cached = OperatorLocationDto.builder().operatorId("operator-1").latitude(11.0).longitude(-66.9).status("ONLINE").timestamp(serverTime(NOW)).build();
+        cacheManager.getCache(OPERATOR_LOCATIONS_CACHE).put("operator-1", cached);
+        var request = new OperatorLocationBatchRequestDto(List.of(point(10.1, NOW.minusMinutes(2))));
+
+        // Act
+        var live = operatorService.saveOperatorLocationBatch("operator-1", request);
+
+        // Assert
+        assertEquals(11.0, live.getLatitude());
+        assertEquals(1, operatorService.getOperatorTrack("operator-1").size());
+        verify(realtimeEventPublisher, never()).publishOperatorLocation(any());
+    }
+
+    @Test
+    void testBatchTimestampsWithOffsetAreConvertedToServerTime() {
+        // Arrange
+        var cached = OperatorLocationDto.builder().operatorId("operator-1").latitude(11.0).longitude(-66.9).status("ONLINE")
+                .timestamp(serverTime(NOW.minusMinutes(1))).build();
+        cacheManager.getCache(OPERATOR_LOCATIONS_CACHE).put("operator-1", cached);
+        var request = new OperatorLocationBatchRequestDto(List.of(point(10.1, NOW.withOffsetSameInstant(ZoneOffset.UTC))));
+
+        // Act
+        var live = operatorService.saveOperatorLocationBatch("operator-1", request);
+
+        // Assert
+        assertEquals(10.1, live.getLatitude());
+        assertEquals(serverTime(NOW), live.getTimestamp());
+    }
+
+    @Test
+    void testBatchWithFutureTimestampIsRejected() {
+        // Arrange
+        var request = new OperatorLocationBatchRequestDto(List.of(point(10.1, OffsetDateTime.now().plusHours(4))));
+
+        // Act
+        var exception = assertThrows(ServiceException.class, () -> operatorService.saveOperatorLocationBatch("operator-1", request));
+
+        // Assert
+        assertEquals(400, exception.getCode());
+        assertEquals(0, operatorService.getOperatorTrack("operator-1").size());
+    }
+}
@@ -0,0 +1,186 @@
+package com.gruastremart.api.unit.service;
+
+import com.gruastremart.api.dto.OperatorLocationDto;
+import com.gruastremart.api.persistance.entity.OperatorTrack;
+import com.gruastremart.api.persistance.repository.custom.OperatorTrackCustomRepository;
+import com.gruastremart.api.service.location.OperatorTrackBuffer;
+import com.gruastremart.api.service.location.OperatorTrackStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OperatorTrackStoreTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2026, 1, 1, 12, 0);
+    // Todas las ventanas de los puntos de prueba ya están cerradas
+    private static final Clock CLOCK = Clock.fixed(instant(BASE.plusHours(1)), ZoneId.systemDefault());
+
+    @Mock
+    private OperatorTrackCustomRepository operatorTrackCustomRepository;
+
+    private OperatorTrackBuffer operatorTrackBuffer;
+    private OperatorTrackStore operatorTrackStore;
+
+    @BeforeEach
+    void setUp() {
+        operatorTrackBuffer = new OperatorTrackBuffer();
+        operatorTrackStore = new OperatorTrackStore(operatorTrackBuffer, operatorTrackCustomRepository, CLOCK);
+    }
+
+    private static OperatorLocationDto location(double latitude, double longitude, LocalDateTime timestamp) {
+        return OperatorLocationDto.builder().operatorId("operator-1").latitude(latitude).longitude(longitude).timestamp(timestamp).build();
+    }
+
+    private static Instant instant(LocalDateTime timestamp) {
+        return timestamp.atZone(ZoneId.systemDefault()).toInstant();
+    }
+
+    private List<OperatorTrack> flushAndCapture() {
+        operatorTrackStore.flush();
+        return flushedTracks();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<OperatorTrack> flushedTracks() {
+        ArgumentCaptor<List<OperatorTrack>> captor = ArgumentCaptor.forClass(List.class);
+        verify(operatorTrackCustomRepository).insertAll(captor.capture());
+        return captor.getValue();
+    }
+
+    @Test
+    void testFlushGroupsPointsIntoTimeBuckets() {
+        // Arrange
+        operatorTrackBuffer.append("operator-1", List.of(
+                location(10.1, -66.9, BASE.plusMinutes(5)),
+                location(10.2, -66.9, BASE.plusMinutes(9)),
+                location(10.3, -66.9, BASE.plusMinutes(11))));
+
+        // Act
+        var tracks = flushAndCapture();
+
+        // Assert
+        assertEquals(2, tracks.size());
+        assertEquals(2, tracks.get(0).getPointCount());
+        assertEquals(1, tracks.get(1).getPointCount());
+        assertTrue(operatorTrackBuffer.drainPending().isEmpty());
+    }
+
+    @Test
+    void testFindTrackDecodesPersistedBucketsWithinWindow() {
+        // Arrange
+        operatorTrackBuffer.append("operator-1", List.of(
+                location(10.123456, -66.987654, BASE),
+                location(10.124001, -66.986999, BASE.plusSeconds(5)),
+                location(10.125002, -66.985001, BASE.plusSeconds(10))));
+        var persisted = flushAndCapture();
+        var from = instant(BASE.plusSeconds(5));
+        var to = instant(BASE.plusSeconds(10));
+        when(operatorTrackCustomRepository.findOverlapping("operator-1", from, to)).thenReturn(persisted);
+
+        // Act
+        var track = new OperatorTrackStore(new OperatorTrackBuffer(), operatorTrackCustomRepository, CLOCK).findTrack("operator-1", from, to);
+
+        // Assert
+        assertEquals(2, track.size());
+        assertEquals(10.124001, track.get(0).latitude(), 1e-6);
+        assertEquals(-66.985001, track.get(1).longitude(), 1e-6);
+        assertEquals(to.toEpochMilli(), track.get(1).epochMillis());
+    }
+
+    @Test
+    void testFlushRequeuesPointsWhenInsertFails() {
+        // Arrange
+        operatorTrackBuffer.append("operator-1", List.of(location(10.1, -66.9, BASE)));
+        doThrow(new RuntimeException("mongo down")).when(operatorTrackCustomRepository).insertAll(anyList());
+
+        // Act
+        operatorTrackStore.flush();
+
+        // Assert
+        var pending = operatorTrackBuffer.drainPending();
+        assertEquals(1, pending.get("operator-1").size());
+    }
+
+    @Test
+    void testFlushRequeuesOnlyBucketsRejectedByInsert() {
+        // Arrange
+        operatorTrackBuffer.append("operator-1", List.of(
+                location(10.1, -66.9, BASE.plusMinutes(5)),
+                location(10.2, -66.9, BASE.plusMinutes(11))));
+        when(operatorTrackCustomRepository.insertAll(anyList()))
+                .thenAnswer(invocation -> List.of(invocation.<List<OperatorTrack>>getArgument(0).get(1)));
+
+        // Act
+        operatorTrackStore.flush();
+
+        // Assert
+        var pending = operatorTrackBuffer.drainPending().get("operator-1");
+        assertEquals(1, pending.size());
+        assertEquals(BASE.plusMinutes(11), pending.getFirst().getTimestamp());
+    }
+
+    @Test
+    void testFlushKeepsOpenWindowPendingUntilItCloses() {
+        // Arrange
+        var clock = Clock.fixed(instant(BASE.plusMinutes(15)), ZoneId.systemDefault());
+        var store = new OperatorTrackStore(operatorTrackBuffer, operatorTrackCustomRepository, clock);
+        operatorTrackBuffer.append("operator-1", List.of(
+                location(10.1, -66.9, BASE.plusMinutes(5)),
+                location(10.2, -66.9, BASE.plusMinutes(12)),
+                location(10.3, -66.9, BASE.plusMinutes(14))));
+
+        // Act
+        store.flush();
+
+        // Assert
+        var tracks = flushedTracks();
+        assertEquals(1, tracks.size());
+        assertEquals(1, tracks.getFirst().getPointCount());
+        assertEquals(2, operatorTrackBuffer.pending("operator-1").size());
+        var track = store.findTrack("operator-1", instant(BASE.plusMinutes(10)), instant(BASE.plusMinutes(15)));
+        assertEquals(2, track.size());
+    }
+
+    @Test
+    void testFlushOnShutdownAlsoWritesOpenWindow() {
+        // Arrange
+        var clock = Clock.fixed(instant(BASE.plusMinutes(15)), ZoneId.systemDefault());
+        var store = new OperatorTrackStore(operatorTrackBuffer, operatorTrackCustomRepository, clock);
+        operatorTrackBuffer.append("operator-1", List.of(location(10.2, -66.9, BASE.plusMinutes(12))));
+
+        // Act
+        store.flushOnShutdown();
+
+        // Assert
+        assertEquals(1, flushedTracks().size());
+        assertTrue(operatorTrackBuffer.drainPending().isEmpty());
+    }
+
+    @Test
+    void testFlushWithoutPendingPointsSkipsInsert() {
+        // Act
+        operatorTrackStore.flush();
+
+        // Assert
+        verify(operatorTrackCustomRepository, never()).insertAll(any());
+    }
+}
@@ -0,0 +1,156 @@
+package com.gruastremart.api.unit.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gruastremart.api.dto.PaymentResponseDto;
+import com.gruastremart.api.mapper.PaymentMapper;
+import com.gruastremart.api.persistance.entity.CraneDemand;
+import com.gruastremart.api.persistance.entity.Payment;
+import com.gruastremart.api.persistance.repository.CraneDemandRepository;
+import com.gruastremart.api.persistance.repository.PaymentRepository;
+import com.gruastremart.api.persistance.repository.UserRepository;
+import com.gruastremart.api.persistance.repository.custom.PaymentCustomRepository;
+import com.gruastremart.api.service.CraneDemandService;
+import com.gruastremart.api.service.EmailService;
+import com.gruastremart.api.service.PaymentService;
+import com.gruastremart.api.service.stats.OperationsStatsService;
+import com.gruastremart.api.service.storage.ImageStorageService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.Query;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PaymentServiceTest {
+
+    @InjectMocks
+    private PaymentService paymentService;
+
+    @Mock
+    private PaymentRepository paymentRepository;
+
+    @Mock
+    private PaymentCustomRepository paymentCustomRepository;
+
+    @Mock
+    private CraneDemandRepository craneDemandRepository;
+
+    @Mock
+    private PaymentMapper paymentMapper;
+
+    @Mock
+    private EmailService emailService;
+
+    @Mock
+    private ImageStorageService imageStorageService;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private CraneDemandService craneDemandService;
+
+    @Mock
+    private ObjectMapper objectMapper;
+
+    @Mock
+    private OperationsStatsService operationsStatsService;
+
+    private static final Pageable PAGEABLE = PageRequest.of(0, 10);
+
+    private void givenPayments(Payment... payments) {
+        when(paymentRepository.findAll(PAGEABLE)).thenReturn(new PageImpl<>(List.of(payments), PAGEABLE, payments.length));
+        when(paymentMapper.toResponseDto(any(Payment.class))).thenAnswer(invocation -> {
+            Payment payment = invocation.getArgument(0);
+            return PaymentResponseDto.builder().id(payment.getId()).demandId(payment.getDemandId()).build();
+        });
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testGetAllPaymentsLoadsDemandDataInOneBatchedLookup() {
+        // Arrange
+        givenPayments(
+                Payment.builder().id("payment-1").demandId("demand-1").build(),
+                Payment.builder().id("payment-2").demandId("demand-2").build(),
+                Payment.builder().id("payment-3").demandId("demand-1").build());
+        when(craneDemandRepository.findOriginAndCarTypeByIdIn(any())).thenReturn(List.of(
+                CraneDemand.builder().id("demand-1").origin("Caracas").carType("SEDAN").build(),
+                CraneDemand.builder().id("demand-2").origin("Valencia").carType("SUV").build()));
+
+        // Act
+        var page = paymentService.getAllPayments(null, PAGEABLE);
+
+        // Assert
+        ArgumentCaptor<Collection<String>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(craneDemandRepository).findOriginAndCarTypeByIdIn(captor.capture());
+        assertEquals(Set.of("demand-1", "demand-2"), Set.copyOf(captor.getValue()));
+        verify(craneDemandRepository, never()).findById(any());
+
+        var content = page.getContent();
+        assertEquals("Caracas", content.get(0).getDemandOrigin());
+        assertEquals("SUV", content.get(1).getDemandCarType());
+        assertEquals("SEDAN", content.get(2).getDemandCarType());
+    }
+
+    @Test
+    void testGetAllPaymentsLeavesDemandDataEmptyWhenDemandIsMissing() {
+        // Arrange
+        givenPayments(
+                Payment.builder().id("payment-1").demandId("demand-1").build(),
+                Payment.builder().id("payment-2").demandId("deleted-demand").build());
+        when(craneDemandRepository.findOriginAndCarTypeByIdIn(any())).thenReturn(List.of(
+                CraneDemand.builder().id("demand-1").origin("Caracas").carType("SEDAN").build()));
+
+        // Act
+        var page = paymentService.getAllPayments(null, PAGEABLE);
+
+        // Assert
+        var content = page.getContent();
+        assertEquals("Caracas", content.get(0).getDemandOrigin());
+        assertNull(content.get(1).getDemandOrigin());
+        assertNull(content.get(1).getDemandCarType());
+    }
+
+    @Test
+    void testGetAllPaymentsWithoutDemandIdsSkipsLookup() {
+        // Arrange
+        givenPayments(Payment.builder().id("payment-1").build());
+
+        // Act
+        var page = paymentService.getAllPayments(null, PAGEABLE);
+
+        // Assert
+        verify(craneDemandRepository, never()).findOriginAndCarTypeByIdIn(any());
+        assertNull(page.getContent().getFirst().getDemandOrigin());
+    }
+
+    @Test
+    void testDemandLookupProjectsOnlyOriginAndCarType() throws NoSuchMethodException {
+        // Arrange
+        var method = CraneDemandRepository.class.getMethod("findOriginAndCarTypeByIdIn", Collection.class);
+
+        // Act
+        var query = method.getAnnotation(Query.class);
+
+        // Assert
+        assertEquals("{ '_id': { $in: ?0 } }", query.value());
+        assertEquals("{ 'origin': 1, 'carType': 1 }", query.fields());
+    }
+}
@@ -0,0 +1,71 @@
+package com.gruastremart.api.unit.utils;
+
+import com.gruastremart.api.exception.ServiceException;
+import com.gruastremart.api.utils.tools.CursorUtil;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CursorUtilTest {
+
+    private static final String ID = new ObjectId().toHexString();
+
+    private static String base64(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testEncodeDecodeRoundTrip() {
+        // Arrange
+        var createdAt = new Date(1_714_550_400_000L);
+
+        // Act
+        var position = CursorUtil.decode(CursorUtil.encode(createdAt, ID)).orElseThrow();
+
+        // Assert
+        assertEquals(createdAt, position.createdAt());
+        assertEquals(ID, position.id());
+    }
+
+    @Test
+    void testEncodeWithoutCreatedAtRoundTrip() {
+        // Act
+        var position = CursorUtil.decode(CursorUtil.encode(null, ID)).orElseThrow();
+
+        // Assert
+        assertNull(position.createdAt());
+        assertEquals(ID, position.id());
+    }
+
+    @Test
+    void testBlankCursorIsFirstPage() {
+        // Act & Assert
+        assertTrue(CursorUtil.decode(null).isEmpty());
+        assertTrue(CursorUtil.decode(" ").isEmpty());
+    }
+
+    @Test
+    void testMalformedCursorThrowsBadRequest() {
+        // Arrange
+        var cursors = new String[]{
+                "not base64!",
+                base64("1714550400000"),
+                base64("1714550400000:not-an-object-id"),
+                base64("yesterday:" + ID)
+        };
+
+        // Act & Assert
+        for (var cursor : cursors) {
+            var exception = assertThrows(ServiceException.class, () -> CursorUtil.decode(cursor));
+            assertEquals(400, exception.getCode());
+        }
+    }
+}
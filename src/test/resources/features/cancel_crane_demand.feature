@@ -3,12 +3,19 @@ Feature: Cancelación de Solicitudes de Grúas
   Quiero poder cancelar una solicitud de grúa
   Para anular una solicitud que ya no necesito
 
-  Scenario: Cancelar una solicitud de grúa existente
-    Given existe una solicitud con el ID "67c897048ac4702e2cd52edc"
-    When el usuario cancela la solicitud con ID "67c897048ac4702e2cd52edc"
+  Scenario: Cancelar una solicitud de grúa activa
+    Given existe una solicitud en estado "ACTIVE"
+    When el usuario cancela la solicitud creada
     Then la solicitud se cancela exitosamente
+    And la solicitud queda en estado "CANCELLED"
+
+  Scenario: Intentar cancelar una solicitud ya tomada por un operador
+    Given existe una solicitud en estado "TAKEN"
+    When el usuario intenta cancelar la solicitud creada
+    Then se muestra un error de cambio de estado no permitido
+    And la solicitud queda en estado "TAKEN"
 
   Scenario: Intentar cancelar una solicitud que no existe
     Given no existe una solicitud con el ID "invalid-id"
     When el usuario intenta cancelar la solicitud con ID "invalid-id"
-    Then se muestra un error de solicitud no encontrada
\ No newline at end of file
+    Then se muestra un error de solicitud no encontrada
@@ -3,12 +3,19 @@ Feature: Completar Solicitudes de Grúas
   Quiero poder completar una solicitud de grúa
   Para marcar como finalizado un servicio de grúa
 
-  Scenario: Completar una solicitud de grúa existente
-    Given existe una solicitud con el ID "67c897048ac4702e2cd52edc"
-    When el operador completa la solicitud con ID "67c897048ac4702e2cd52edc"
+  Scenario: Completar una solicitud de grúa tomada
+    Given existe una solicitud en estado "TAKEN"
+    When el operador completa la solicitud creada
     Then la solicitud se completa exitosamente
+    And la solicitud queda en estado "COMPLETED"
+
+  Scenario: Intentar completar una solicitud que ningún operador ha tomado
+    Given existe una solicitud en estado "ACTIVE"
+    When el operador intenta completar la solicitud creada
+    Then se muestra un error de cambio de estado no permitido
+    And la solicitud queda en estado "ACTIVE"
 
   Scenario: Intentar completar una solicitud que no existe
     Given no existe una solicitud con el ID "invalid-id"
     When el operador intenta completar la solicitud con ID "invalid-id"
-    Then se muestra un error de solicitud no encontrada
\ No newline at end of file
+    Then se muestra un error de solicitud no encontrada